@@ -1,9 +1,21 @@
 package edu.kit.kastel;
 
+import edu.kit.kastel.model.engine.DeltaStream;
+import edu.kit.kastel.model.engine.EngineMetrics;
+import edu.kit.kastel.ui.DaemonServer;
+import edu.kit.kastel.ui.SessionManager;
+import edu.kit.kastel.ui.SpectatorServer;
 import edu.kit.kastel.ui.command.CommandHandler;
 import edu.kit.kastel.model.CodeFight;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -20,13 +32,40 @@ public final class Main {
     private static final String UTILITY_CLASS_CONSTRUCTOR_MESSAGE = "Utility classes cannot be instantiated";
     private static final String WELCOME_MESSAGE = "Welcome to CodeFight 2024. Enter 'help' for more details.";
     private static final String INVALID_ARGUMENTS_ERROR = "Error, invalid command line arguments.";
+    private static final String DAEMON_ERROR_FORMAT = "Error, daemon stopped: %s";
+    private static final String SPECTATOR_ERROR_FORMAT = "Error, spectator server failed: %s";
+    private static final String METRICS_ERROR_FORMAT = "Error, metrics not available over JMX: %s";
+    private static final String CATALOG_ERROR_FORMAT = "Error, catalog not available: %s";
+    private static final String METRICS_OBJECT_NAME = "edu.kit.kastel:type=EngineMetrics";
+    private static final String DAEMON_OPTION = "--daemon";
+    private static final String SPECTATE_OPTION = "--spectate";
+    private static final String CATALOG_OPTION = "--catalog";
+    private static final String MAX_AIS_OPTION = "--max-ais";
+    private static final String OPTION_PREFIX = "--";
     private static final String EMPTY_SPACE = " ";
     private static final int MEMORY_SIZE_INDEX = 0;
     private static final int LAST_MEMORY_SYMBOL_INDEX = 4;
     private static final int FIRST_AI_SYMBOL_INDEX = 5;
     private static final int MINIMUM_ARGS = 9;
+    private static final int NUMBER_OF_SYMBOLS_PER_AI = 2;
     private static final int MEMORY_SIZE_LIMIT = 1337;
     private static final int MEMORY_SIZE_MIN = 7;
+    private static final int MAX_DAEMON_SESSIONS = 4096;
+    private static final int MAX_IDLE_DAEMON_SESSIONS = 256;
+    private static final int DAEMON_SESSION_PROGRAM_CAPACITY = 64 * MEMORY_SIZE_LIMIT;
+    private static final int SPECTATOR_FLUSH_INTERVAL = 1024;
+    private static final int MAX_SPECTATORS = 16;
+
+    /**
+     * Options given in front of the game arguments.
+     */
+    private static final class Settings {
+        private Path socketPath;
+        private Integer spectatorPort;
+        private Path catalogPath;
+        private Integer maximumNumberOfAIs;
+        private String[] gameArgs;
+    }
 
     private Main() {
         throw new UnsupportedOperationException(UTILITY_CLASS_CONSTRUCTOR_MESSAGE);
@@ -34,19 +73,117 @@ private Main() {
 
     /**
      * Entry point of the program main-method.
+     * The game arguments may be preceded by options, in any order and each at most once:
+     * <ul>
+     *     <li>{@code --daemon <socket>} serves a session with its own game to every client of that Unix domain
+     *     socket instead of playing interactively</li>
+     *     <li>{@code --spectate <port>} streams the game to spectators on that port of the loopback interface</li>
+     *     <li>{@code --catalog <file>} makes the programs of that catalog available in the game and saves added or
+     *     removed programs to it</li>
+     *     <li>{@code --max-ais <count>} allows games with up to that many AIs; the AIs beyond the given symbol pairs
+     *     get generated symbols</li>
+     * </ul>
+     * A daemon can neither be spectated nor share a catalog between its sessions.
      *
      * @param args command arguments of the program
      */
     public static void main(String[] args) {
-        Optional<CodeFight> codeFight = getCodeFight(args);
-        if (codeFight.isPresent()) {
-            CommandHandler commandHandler = new CommandHandler(codeFight.get());
-            System.out.println(WELCOME_MESSAGE);
-            commandHandler.handleUserInput();
-        } else {
+        Optional<Settings> settings = parseSettings(args);
+        Optional<CodeFight> codeFight = settings.flatMap(Main::createCodeFight);
+        if (codeFight.isEmpty()) {
             System.err.println(INVALID_ARGUMENTS_ERROR);
+        } else if (settings.get().socketPath != null) {
+            runDaemon(settings.get());
+        } else {
+            runInteractive(settings.get(), codeFight.get());
+        }
+    }
+
+    private static Optional<Settings> parseSettings(String[] args) {
+        Settings settings = new Settings();
+        Set<String> options = new HashSet<>();
+        int index = 0;
+        try {
+            while (index + 1 < args.length && args[index].startsWith(OPTION_PREFIX)) {
+                String option = args[index];
+                String value = args[index + 1];
+                if (!options.add(option)) {
+                    return Optional.empty();
+                }
+                switch (option) {
+                    case DAEMON_OPTION -> settings.socketPath = Path.of(value);
+                    case SPECTATE_OPTION -> settings.spectatorPort = Integer.parseInt(value);
+                    case CATALOG_OPTION -> settings.catalogPath = Path.of(value);
+                    case MAX_AIS_OPTION -> settings.maximumNumberOfAIs = Integer.parseInt(value);
+                    default -> {
+                        return Optional.empty();
+                    }
+                }
+                index += 2;
+            }
+        } catch (NumberFormatException | InvalidPathException e) {
+            return Optional.empty();
+        }
+        if (settings.spectatorPort != null && settings.spectatorPort < 0
+                || settings.socketPath != null && (settings.spectatorPort != null || settings.catalogPath != null)) {
+            return Optional.empty();
+        }
+        settings.gameArgs = Arrays.copyOfRange(args, index, args.length);
+        return Optional.of(settings);
+    }
+
+    private static Optional<CodeFight> createCodeFight(Settings settings) {
+        if (settings.maximumNumberOfAIs == null) {
+            return getCodeFight(settings.gameArgs);
         }
+        return getCodeFight(settings.gameArgs, settings.maximumNumberOfAIs);
+    }
 
+    private static void runDaemon(Settings settings) {
+        SessionManager sessionManager = new SessionManager(() -> createCodeFight(settings).orElseThrow(),
+                MAX_DAEMON_SESSIONS, MAX_IDLE_DAEMON_SESSIONS, DAEMON_SESSION_PROGRAM_CAPACITY);
+        DaemonServer server = new DaemonServer(settings.socketPath, sessionManager);
+        try {
+            server.serve();
+        } catch (IOException e) {
+            System.err.println(DAEMON_ERROR_FORMAT.formatted(e.getMessage()));
+        }
+    }
+
+    private static void runInteractive(Settings settings, CodeFight codeFight) {
+        if (settings.catalogPath != null) {
+            try {
+                codeFight.getProgramRegistry().openCatalog(settings.catalogPath);
+            } catch (IOException e) {
+                System.err.println(CATALOG_ERROR_FORMAT.formatted(e.getMessage()));
+                return;
+            }
+        }
+        SpectatorServer server = null;
+        if (settings.spectatorPort != null) {
+            server = new SpectatorServer(new DeltaStream(codeFight, SPECTATOR_FLUSH_INTERVAL), MAX_SPECTATORS);
+            try {
+                server.start(settings.spectatorPort);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println(SPECTATOR_ERROR_FORMAT.formatted(e.getMessage()));
+                return;
+            }
+        }
+        registerMetrics(codeFight);
+        System.out.println(WELCOME_MESSAGE);
+        new CommandHandler(codeFight).handleUserInput();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private static void registerMetrics(CodeFight codeFight) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new EngineMetrics(codeFight),
+                    new ObjectName(METRICS_OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println(METRICS_ERROR_FORMAT.formatted(e.getMessage()));
+        }
     }
 
     /**
@@ -56,6 +193,18 @@ public static void main(String[] args) {
      * @return     Program model
      */
     private static Optional<CodeFight> getCodeFight(String[] args) {
+        return getCodeFight(args, (args.length - FIRST_AI_SYMBOL_INDEX) / NUMBER_OF_SYMBOLS_PER_AI);
+    }
+
+    /**
+     * Checks if the command arguments of the program are valid and creates a model for games with up to the given
+     * number of AIs.
+     *
+     * @param args               command arguments of the program
+     * @param maximumNumberOfAIs largest number of AIs per game
+     * @return                   Program model
+     */
+    private static Optional<CodeFight> getCodeFight(String[] args, int maximumNumberOfAIs) {
         if (args.length % 2 == 0 || args.length < MINIMUM_ARGS) {
             return Optional.empty();
         }
@@ -85,7 +234,11 @@ private static Optional<CodeFight> getCodeFight(String[] args) {
         if (hasDuplicates(args)) {
             return Optional.empty();
         }
-        return Optional.of(new CodeFight(memorySize, memorySymbols, aiSymbols));
+        try {
+            return Optional.of(new CodeFight(memorySize, memorySymbols, aiSymbols, maximumNumberOfAIs));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
 
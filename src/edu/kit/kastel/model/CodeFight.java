@@ -2,12 +2,21 @@
 
 import edu.kit.kastel.model.ai.AI;
 import edu.kit.kastel.model.ai.AICommandExecutor;
+import edu.kit.kastel.model.ai.CompiledProgram;
+import edu.kit.kastel.model.ai.ExecutionMetrics;
+import edu.kit.kastel.model.memory.InstructionIndex;
 import edu.kit.kastel.model.memory.MemoryCell;
 import edu.kit.kastel.model.memory.MemoryInitializer;
 import edu.kit.kastel.model.memory.Mode;
+import edu.kit.kastel.model.memory.OwnershipIndex;
+import edu.kit.kastel.model.placement.EvenPlacement;
+import edu.kit.kastel.model.placement.Placement;
+import edu.kit.kastel.model.placement.PlacementStrategy;
+import edu.kit.kastel.model.registry.ProgramRegistry;
 import edu.kit.kastel.ui.MemoryPrinter;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -23,23 +32,32 @@ public class CodeFight {
     private static final int CURRENT_SYMBOL_INDEX = 2;
     private static final int OTHER_SYMBOL_INDEX = 3;
     private static final int AI_HEAD_INDEX = 0;
+    private static final int NUMBER_OF_SYMBOLS_PER_AI = 2;
     private final int memorySize;
     private final List<String> memorySymbols;
     private final List<String> aiSymbols;
-    private final List<String> defaultSymbols;
-    private final List<String> bombSymbols;
+    private final SymbolPalette symbolPalette;
     private final CyclicLinkedList<MemoryCell> memory;
     private final MemoryPrinter memoryPrinter;
     private final MemoryInitializer memoryInitializer;
+    private final OwnershipIndex ownershipIndex;
+    private final InstructionIndex instructionIndex;
+    private final ExecutionMetrics executionMetrics = new ExecutionMetrics();
+    private final GameEventDispatcher eventDispatcher = new GameEventDispatcher();
     private final CyclicLinkedList<AI> runningAI;
     private final List<AI> stoppedAIList;
     private final LinkedList<AI> playingList = new LinkedList<>();
-    private final List<AI> listOfAI = new ArrayList<>();
+    private final ProgramRegistry programRegistry = new ProgramRegistry();
     private Mode memoryMode;
     private AI currentAI;
     private boolean allAIsStopped;
     private AICommandExecutor aiCommandExecutor;
     private boolean playingPhase = false;
+    private AI[] playingAIs = new AI[0];
+    private int[] nextRunningAI = new int[0];
+    private int[] previousRunningAI = new int[0];
+    private NextCellMarkers nextCellMarkers;
+    private PlacementStrategy placementStrategy = new EvenPlacement();
 
     /**
      * Constructs a new CodeFight simulation environment with specified memory size and symbols.
@@ -49,18 +67,32 @@ public class CodeFight {
      * @param aiSymbols     The symbols to be assigned to AI for identification.
      */
     public CodeFight(int memorySize, List<String> memorySymbols, List<String> aiSymbols) {
+        this(memorySize, memorySymbols, aiSymbols, aiSymbols.size() / NUMBER_OF_SYMBOLS_PER_AI);
+    }
+
+    /**
+     * Constructs a new CodeFight simulation environment for more AIs than symbol pairs are given.
+     * The AIs beyond the given pairs get generated symbols, see {@link SymbolPalette}.
+     *
+     * @param memorySize         The size of the memory to be used in the simulation.
+     * @param memorySymbols      The symbols to represent different states in the memory.
+     * @param aiSymbols          The symbols to be assigned to the first AIs for identification.
+     * @param maximumNumberOfAIs The largest number of AIs that can play in one game.
+     * @throws IllegalArgumentException if not enough symbols can be generated
+     */
+    public CodeFight(int memorySize, List<String> memorySymbols, List<String> aiSymbols, int maximumNumberOfAIs) {
         this.memorySize = memorySize;
         this.memorySymbols = new ArrayList<>(memorySymbols);
         this.aiSymbols = new ArrayList<>(aiSymbols);
-        this.defaultSymbols = new ArrayList<>();
-        this.bombSymbols = new ArrayList<>();
+        this.symbolPalette = new SymbolPalette(aiSymbols, memorySymbols, maximumNumberOfAIs);
         this.memory = new CyclicLinkedList<>();
         this.runningAI = new CyclicLinkedList<>();
         this.stoppedAIList = new ArrayList<>();
         this.memoryInitializer = new MemoryInitializer(memorySize, getMemory(), getMemoryDefaultSymbol());
         this.memoryMode = Mode.STOP;
         this.memoryPrinter = new MemoryPrinter(getMemory(), memorySize, memorySymbols.get(BOUNDS_SYMBOL_INDEX));
-        setSymbols();
+        this.ownershipIndex = new OwnershipIndex(memorySize);
+        this.instructionIndex = new InstructionIndex(memorySize);
         getMemoryInitializer().initialInitialization();
     }
 
@@ -68,68 +100,192 @@ public CodeFight(int memorySize, List<String> memorySymbols, List<String> aiSymb
      * Assigns symbols to AIs based on their playing order.
      */
     public void assignSymbols() {
-        for (int i = 0; i < getPlayingList().size(); i++) {
-            getPlayingList().get(i).setDefaultSymbol(defaultSymbols.get(i));
-            getPlayingList().get(i).setBombSymbol(bombSymbols.get(i));
-        }
-
+        int ownerId = 0;
         for (AI ai : getPlayingList()) {
-            for (MemoryCell cell : ai.getAiCommands()) {
-                cell.setCurrentSymbol(ai.getDefaultSymbol());
-                cell.setBombSymbol(ai.getBombSymbol());
-                cell.setDefaultSymbol(ai.getDefaultSymbol());
-            }
+            ai.setDefaultSymbol(symbolPalette.getDefaultSymbol(ownerId));
+            ai.setBombSymbol(symbolPalette.getBombSymbol(ownerId));
+            ai.setOwnerId(ownerId);
+            ownerId++;
         }
     }
 
     /**
-     * Loads AI commands into the simulation memory based on the AI list.
+     * Returns the largest number of AIs that can play in one game.
+     *
+     * @return maximum number of AIs per game
+     */
+    public int getMaximumNumberOfAIs() {
+        return symbolPalette.getCapacity();
+    }
+
+    /**
+     * Loads AI commands into the simulation memory at the addresses chosen by the placement strategy.
+     * The placement is checked by comparing the intervals of the programs, then the programs are written into the
+     * cells of the memory, marked with the symbols of their AI.
      * @return true is memory is loaded
      */
     public boolean loadMemory() {
-        int tempSize = memorySize;
         List<AI> playingList = getPlayingList();
         int playingListSize = playingList.size();
-        int baseIndex = 0;
-
+        int[] programSizes = new int[playingListSize];
+        int index = 0;
+        for (AI ai : playingList) {
+            programSizes[index++] = ai.getProgram().size();
+        }
+        int[] addresses = placementStrategy.place(memorySize, programSizes);
+        Placement placement = addresses == null ? null : Placement.of(memorySize, addresses, programSizes);
+        if (placement == null) {
+            return false;
+        }
+        ownershipIndex.reset(playingListSize);
+        MemoryCell[] cells = new MemoryCell[memorySize];
+        int position = 0;
+        for (MemoryCell cell : getMemory()) {
+            cells[position++] = cell;
+        }
+        Iterator<AI> ais = playingList.iterator();
         for (int i = 0; i < playingListSize; i++) {
-            AI ai = playingList.get(i);
-            int memoryPerAI = tempSize / (playingListSize - i);
-            tempSize -= memoryPerAI;
-
-            if (ai.getAiCommands().size() > memoryPerAI) {
-                return false;
-            }
-
-            ai.setMemoryAllocated(memoryPerAI);
-            for (int j = baseIndex; j < baseIndex + ai.getAiCommands().size(); j++) {
-                getMemory().replace(j, ai.getAiCommands().get(j - baseIndex));
+            AI ai = ais.next();
+            CompiledProgram program = ai.getProgram();
+            ai.setMemoryStart(placement.getAddress(i));
+            ai.setMemoryAllocated(placement.getRegionSize(i));
+            for (int j = 0; j < program.size(); j++) {
+                position = (placement.getAddress(i) + j) % memorySize;
+                MemoryCell cell = cells[position];
+                program.writeTo(j, cell);
+                cell.setCurrentSymbol(ai.getDefaultSymbol());
+                cell.setBombSymbol(ai.getBombSymbol());
+                cell.setDefaultSymbol(ai.getDefaultSymbol());
+                ownershipIndex.record(position, ai.getOwnerId(), false);
             }
-            baseIndex += memoryPerAI;
         }
+        instructionIndex.rebuild(getMemory());
         return true;
     }
 
+    /**
+     * Sets how the programs are placed into the memory when a game starts.
+     *
+     * @param placementStrategy the placement strategy
+     */
+    public void setPlacementStrategy(PlacementStrategy placementStrategy) {
+        this.placementStrategy = placementStrategy;
+    }
+
+    /**
+     * Returns how the programs are placed into the memory when a game starts.
+     *
+     * @return the placement strategy
+     */
+    public PlacementStrategy getPlacementStrategy() {
+        return placementStrategy;
+    }
 
     /**
      * Handles the game logic, updating the current AI and setting start indexes for AIs.
+     * Notifies the registered listeners that the game has started.
      */
     public void gameHandler() {
-        aiCommandExecutor = new AICommandExecutor(getMemory(), stoppedAIList);
+        executionMetrics.reset(getPlayingList().size());
+        aiCommandExecutor = new AICommandExecutor(getMemory(), stoppedAIList, ownershipIndex, instructionIndex,
+                eventDispatcher, executionMetrics);
         currentAI = runningAI.get(AI_HEAD_INDEX);
-        int memoryPerAI = 0;
-        for (int i = 0; i < runningAI.size(); i++) {
-            AI ai = runningAI.get(i);
-            ai.setStartIndex(memoryPerAI);
-            memoryPerAI = ai.getMemoryAllocated() + memoryPerAI;
-            if (runningAI.get(i).equals(currentAI)) {
-                memory.get(runningAI.get(i).getNextCellIndex()).setCurrentSymbol(getCurrentSymbol());
-            } else {
-                memory.get(runningAI.get(i).getNextCellIndex()).setCurrentSymbol(getOtherSymbol());
+        List<MemoryCell> cells = new ArrayList<>(memorySize);
+        for (MemoryCell cell : memory) {
+            cells.add(cell);
+        }
+        for (AI ai : runningAI) {
+            ai.setStartIndex(ai.getMemoryStart(), memorySize);
+            MemoryCell nextCell = cells.get(ai.getNextCellIndex());
+            nextCell.setCurrentSymbol(ai.equals(currentAI) ? getCurrentSymbol() : getOtherSymbol());
+        }
+        linkRunningAIs();
+        eventDispatcher.onGameStarted();
+    }
+
+
+    /**
+     * Executes one step of the current AI and moves on to the next running AI.
+     * Notifies the registered listeners about the move or stop of the AI.
+     *
+     * @return false if all AIs are stopped after the step, true otherwise
+     */
+    public boolean step() {
+        AI ai = currentAI;
+        boolean wasStopped = ai.isStopped();
+        int previousCellIndex = ai.getNextCellIndex();
+        ai.execute(aiCommandExecutor);
+        if (!ai.isStopped()) {
+            eventDispatcher.onAIMoved(ai, previousCellIndex, ai.getNextCellIndex());
+        } else if (!wasStopped) {
+            eventDispatcher.onAIStopped(ai);
+        }
+        if (stoppedAIList.size() == runningAI.size()) {
+            if (!wasStopped) {
+                allAIsStopped = true;
+                eventDispatcher.onGameOver();
             }
+            return false;
+        }
+        currentAI = playingAIs[nextRunningAI[ai.getOwnerId()]];
+        if (ai.isStopped()) {
+            unlinkRunningAI(ai.getOwnerId());
+        }
+        return true;
+    }
+
+    /**
+     * Marks the cells the running AIs execute next.
+     * The cell of the current AI gets the current symbol, the cells of the other AIs get the other symbol.
+     */
+    public void updateNextSymbols() {
+        if (nextCellMarkers == null) {
+            nextCellMarkers = new NextCellMarkers(this);
+            addGameListener(nextCellMarkers);
         }
+        nextCellMarkers.update();
+    }
+
+    /**
+     * Notifies the registered listeners that the state of the running game has been replaced.
+     */
+    public void notifyGameRestored() {
+        eventDispatcher.onGameRestored();
+    }
+
+    /**
+     * Notifies the registered listeners that the engine has finished a batch of steps.
+     */
+    public void notifyBatchFinished() {
+        eventDispatcher.onBatchFinished();
+    }
+
+    /**
+     * Registers a listener that is notified about the events of the game.
+     *
+     * @param listener listener to be registered
+     */
+    public void addGameListener(GameListener listener) {
+        eventDispatcher.addListener(listener);
     }
 
+    /**
+     * Removes a registered game listener.
+     *
+     * @param listener listener to be removed
+     */
+    public void removeGameListener(GameListener listener) {
+        eventDispatcher.removeListener(listener);
+    }
+
+    /**
+     * Returns the list of memory symbols.
+     *
+     * @return A list of memory symbols.
+     */
+    public List<String> getMemorySymbols() {
+        return memorySymbols;
+    }
 
     /**
      * Returns the list of AI symbols.
@@ -186,11 +342,17 @@ public AI getCurrentAI() {
     }
 
     /**
-     * Updates the current AI to the next AI in the cycle.
-     * Skips the AI if it is stopped.
+     * Sets the AI that executes the next step after the states of the AIs were restored, e.g. when restoring a
+     * fork of the game. The order of the running AIs and the markers are derived from the restored states again.
+     *
+     * @param currentAI AI executing the next step
      */
-    public void updateAI() {
-        currentAI = runningAI.getNext(currentAI);
+    public void setCurrentAI(AI currentAI) {
+        this.currentAI = currentAI;
+        linkRunningAIs();
+        if (nextCellMarkers != null) {
+            nextCellMarkers.invalidate();
+        }
     }
 
     /**
@@ -211,6 +373,15 @@ public String getMemoryDefaultSymbol() {
         return memorySymbols.get(DEFAULT_SYMBOL_INDEX);
     }
 
+    /**
+     * Returns the symbol marking the bounds of the cells shown in detail.
+     *
+     * @return The bounds symbol.
+     */
+    public String getBoundsSymbol() {
+        return memorySymbols.get(BOUNDS_SYMBOL_INDEX);
+    }
+
     /**
      * Returns the list of AIs that have been stopped.
      *
@@ -221,13 +392,38 @@ public List<AI> getStoppedAIList() {
     }
 
     /**
-     * Sets the default and bomb symbols for the AIs based on the aiSymbols list.
+     * Links the running AIs in playing order to a ring, so the AI following the current one is found without
+     * looking at the stopped AIs.
      */
-    private void setSymbols() {
-        for (int i = 0; i < aiSymbols.size() - 1; i += 2) {
-            defaultSymbols.add(aiSymbols.get(i));
-            bombSymbols.add(aiSymbols.get(i + 1));
+    private void linkRunningAIs() {
+        playingAIs = playingList.toArray(new AI[0]);
+        nextRunningAI = new int[playingAIs.length];
+        previousRunningAI = new int[playingAIs.length];
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < playingAIs.length; i++) {
+            if (playingAIs[i].isStopped()) {
+                continue;
+            }
+            if (first < 0) {
+                first = i;
+            } else {
+                nextRunningAI[last] = i;
+                previousRunningAI[i] = last;
+            }
+            last = i;
         }
+        if (first >= 0) {
+            nextRunningAI[last] = first;
+            previousRunningAI[first] = last;
+        }
+    }
+
+    private void unlinkRunningAI(int ownerId) {
+        int next = nextRunningAI[ownerId];
+        int previous = previousRunningAI[ownerId];
+        nextRunningAI[previous] = next;
+        previousRunningAI[next] = previous;
     }
 
 
@@ -266,6 +462,33 @@ public MemoryInitializer getMemoryInitializer() {
         return memoryInitializer;
     }
 
+    /**
+     * Returns the index tracking which AI owns each memory cell.
+     *
+     * @return The OwnershipIndex of the simulation.
+     */
+    public OwnershipIndex getOwnershipIndex() {
+        return ownershipIndex;
+    }
+
+    /**
+     * Returns the index tracking which instruction each memory cell holds.
+     *
+     * @return The InstructionIndex of the simulation.
+     */
+    public InstructionIndex getInstructionIndex() {
+        return instructionIndex;
+    }
+
+    /**
+     * Returns the counters of the execution of the current game.
+     *
+     * @return The ExecutionMetrics of the simulation.
+     */
+    public ExecutionMetrics getExecutionMetrics() {
+        return executionMetrics;
+    }
+
     /**
      * Returns the list of AIs currently playing in the simulation.
      *
@@ -276,12 +499,12 @@ public LinkedList<AI> getPlayingList() {
     }
 
     /**
-     * Returns the list of all AIs that have been added to the simulation.
+     * Gets the registry of the programs added to the simulation.
      *
-     * @return A List of AI objects added to the simulation.
+     * @return the program registry
      */
-    public List<AI> getListOfAI() {
-        return listOfAI;
+    public ProgramRegistry getProgramRegistry() {
+        return programRegistry;
     }
 
     /**
@@ -1,7 +1,9 @@
 package edu.kit.kastel.model;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 
 /**
  * Generic model of  cyclic linked list.
@@ -9,11 +11,12 @@
  * @param <T> type of the list
  * @author uiiux
  */
-public class CyclicLinkedList<T> {
+public class CyclicLinkedList<T> implements Iterable<T> {
     private static final String LIST_EMPTY_EXCEPTION = "List is empty";
     private static final String DATA_NOT_FOUND_IN_LIST = "Data not found in List.";
     private static final String INVALID_POSITION_EXCEPTION = "Invalid position: ";
     private Node<T> head;
+    private Node<T> tail;
     private int size;
 
     private static final class Node<T> {
@@ -31,11 +34,12 @@ private Node(T data) {
      */
     public CyclicLinkedList() {
         head = null;
+        tail = null;
         size = 0;
     }
 
     /**
-     * Adds an object to the list.
+     * Adds an object to the end of the list in constant time.
      *
      * @param data object to add
      */
@@ -44,12 +48,9 @@ public void add(T data) {
         if (head == null) {
             head = newNode;
         } else {
-            Node<T> temp = head;
-            while (temp.next != head) {
-                temp = temp.next;
-            }
-            temp.next = newNode;
+            tail.next = newNode;
         }
+        tail = newNode;
         newNode.next = head;
         size++;
     }
@@ -132,6 +133,19 @@ public void replace(int position, T data) {
         temp.data = data;
     }
 
+    /**
+     * Replaces every object in the list, starting at the head, in a single pass.
+     *
+     * @param operator computes the new object from the old one
+     */
+    public void replaceAll(UnaryOperator<T> operator) {
+        Node<T> temp = head;
+        for (int i = 0; i < size; i++) {
+            temp.data = operator.apply(temp.data);
+            temp = temp.next;
+        }
+    }
+
     /**
      * Gets the size of the list.
      *
@@ -146,8 +160,38 @@ public int size() {
      */
     public void clear() {
         head = null;
+        tail = null;
         size = 0;
     }
 
+    /**
+     * Returns an iterator going once around the list, starting at the head.
+     *
+     * @return iterator over the elements of the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> current = head;
+            private int visited = 0;
+
+            @Override
+            public boolean hasNext() {
+                return visited < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException(LIST_EMPTY_EXCEPTION);
+                }
+                T data = current.data;
+                current = current.next;
+                visited++;
+                return data;
+            }
+        };
+    }
+
 
 }
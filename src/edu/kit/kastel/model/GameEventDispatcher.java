@@ -0,0 +1,94 @@
+package edu.kit.kastel.model;
+
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.Arrays;
+
+/**
+ * Forwards game events to all registered listeners.
+ * The listeners are kept in an array that is replaced on registration,
+ * so dispatching an event without listeners costs a single length check.
+ *
+ * @author uiiux
+ */
+public class GameEventDispatcher implements GameListener {
+    private GameListener[] listeners = new GameListener[0];
+
+    /**
+     * Registers a listener.
+     *
+     * @param listener listener to be registered
+     */
+    public void addListener(GameListener listener) {
+        GameListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    /**
+     * Removes a registered listener.
+     *
+     * @param listener listener to be removed
+     */
+    public void removeListener(GameListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameListener[] newListeners = new GameListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onGameStarted() {
+        for (GameListener listener : listeners) {
+            listener.onGameStarted();
+        }
+    }
+
+    @Override
+    public void onCellWritten(int position, MemoryCell cell, AI ai) {
+        for (GameListener listener : listeners) {
+            listener.onCellWritten(position, cell, ai);
+        }
+    }
+
+    @Override
+    public void onAIMoved(AI ai, int previousIndex, int nextIndex) {
+        for (GameListener listener : listeners) {
+            listener.onAIMoved(ai, previousIndex, nextIndex);
+        }
+    }
+
+    @Override
+    public void onAIStopped(AI ai) {
+        for (GameListener listener : listeners) {
+            listener.onAIStopped(ai);
+        }
+    }
+
+    @Override
+    public void onGameRestored() {
+        for (GameListener listener : listeners) {
+            listener.onGameRestored();
+        }
+    }
+
+    @Override
+    public void onGameOver() {
+        for (GameListener listener : listeners) {
+            listener.onGameOver();
+        }
+    }
+
+    @Override
+    public void onBatchFinished() {
+        for (GameListener listener : listeners) {
+            listener.onBatchFinished();
+        }
+    }
+}
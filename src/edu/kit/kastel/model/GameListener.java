@@ -0,0 +1,67 @@
+package edu.kit.kastel.model;
+
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+/**
+ * Receives the events of a running game.
+ * All methods do nothing by default, so a listener only overrides the events it is interested in.
+ *
+ * @author uiiux
+ */
+public interface GameListener {
+
+    /**
+     * Called after a game has been loaded into the memory and before its first step.
+     */
+    default void onGameStarted() {
+    }
+
+    /**
+     * Called after an AI has written a memory cell.
+     *
+     * @param position position of the written cell
+     * @param cell     the written cell
+     * @param ai       the AI that wrote the cell
+     */
+    default void onCellWritten(int position, MemoryCell cell, AI ai) {
+    }
+
+    /**
+     * Called after an AI has executed a step without stopping.
+     *
+     * @param ai            the AI that moved
+     * @param previousIndex index of the cell the AI executed
+     * @param nextIndex     index of the cell the AI executes next
+     */
+    default void onAIMoved(AI ai, int previousIndex, int nextIndex) {
+    }
+
+    /**
+     * Called once when an AI stops.
+     *
+     * @param ai the stopped AI
+     */
+    default void onAIStopped(AI ai) {
+    }
+
+    /**
+     * Called after the state of the running game has been replaced, e.g. by switching to a fork of the game.
+     * Listeners keeping their own copy of the memory have to read it again.
+     */
+    default void onGameRestored() {
+    }
+
+    /**
+     * Called once when the last running AI of a game stops.
+     */
+    default void onGameOver() {
+    }
+
+    /**
+     * Called when the engine has finished a batch of steps and rests at a step boundary, e.g. at the end of a
+     * command or of a batch of a background run.
+     */
+    default void onBatchFinished() {
+    }
+}
@@ -0,0 +1,157 @@
+package edu.kit.kastel.model;
+
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.Arrays;
+
+/**
+ * Marks the cells the running AIs execute next, see {@link CodeFight#updateNextSymbols()}.
+ * The markers listen to the game and only remark the cells that changed since the last update: cells that were
+ * executed or written, cells AIs moved to and the cells of the previous and the new current AI. The number of
+ * running AIs per cell tells whether a cell needs a marker. Marking all cells again is only needed after the game
+ * was started or restored.
+ *
+ * @author uiiux
+ */
+final class NextCellMarkers implements GameListener {
+    private static final int NO_POSITION = -1;
+
+    private final CodeFight codeFight;
+    private final int memorySize;
+    private final int[] runningAIsAt;
+    private final int[] changedPositions;
+    private final boolean[] changed;
+    private MemoryCell[] cells;
+    private int changedCount;
+    private int currentPosition = NO_POSITION;
+    private boolean valid;
+
+    /**
+     * Creates the markers of a game.
+     *
+     * @param codeFight the game
+     */
+    NextCellMarkers(CodeFight codeFight) {
+        this.codeFight = codeFight;
+        this.memorySize = codeFight.getMemorySize();
+        this.runningAIsAt = new int[memorySize];
+        this.changedPositions = new int[memorySize];
+        this.changed = new boolean[memorySize];
+    }
+
+    /**
+     * Marks the next cells of the running AIs.
+     */
+    void update() {
+        if (!valid) {
+            markAll();
+            return;
+        }
+        AI current = codeFight.getCurrentAI();
+        if (currentPosition != NO_POSITION) {
+            change(currentPosition);
+        }
+        change(current.getNextCellIndex());
+        for (int i = 0; i < changedCount; i++) {
+            int position = changedPositions[i];
+            changed[position] = false;
+            mark(position, current);
+        }
+        changedCount = 0;
+        currentPosition = current.isStopped() ? NO_POSITION : position(current.getNextCellIndex());
+    }
+
+    /**
+     * Makes the next update mark all cells, e.g. after the state of the game was replaced.
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+    @Override
+    public void onGameStarted() {
+        invalidate();
+    }
+
+    @Override
+    public void onCellWritten(int position, MemoryCell cell, AI ai) {
+        if (valid) {
+            change(position);
+        }
+    }
+
+    @Override
+    public void onAIMoved(AI ai, int previousIndex, int nextIndex) {
+        if (valid) {
+            runningAIsAt[position(previousIndex)]--;
+            runningAIsAt[position(nextIndex)]++;
+            change(previousIndex);
+            change(nextIndex);
+        }
+    }
+
+    @Override
+    public void onAIStopped(AI ai) {
+        if (valid) {
+            runningAIsAt[position(ai.getNextCellIndex())]--;
+            change(ai.getNextCellIndex());
+        }
+    }
+
+    @Override
+    public void onGameRestored() {
+        invalidate();
+    }
+
+    private void markAll() {
+        cells = new MemoryCell[memorySize];
+        int position = 0;
+        for (MemoryCell cell : codeFight.getMemory()) {
+            cells[position++] = cell;
+        }
+        Arrays.fill(runningAIsAt, 0);
+        Arrays.fill(changed, false);
+        changedCount = 0;
+        for (AI ai : codeFight.getPlayingList()) {
+            if (!ai.isStopped()) {
+                runningAIsAt[position(ai.getNextCellIndex())]++;
+            }
+        }
+        AI current = codeFight.getCurrentAI();
+        for (AI ai : codeFight.getPlayingList()) {
+            if (!ai.isStopped()) {
+                mark(position(ai.getNextCellIndex()), current);
+            }
+        }
+        currentPosition = current.isStopped() ? NO_POSITION : position(current.getNextCellIndex());
+        valid = true;
+    }
+
+    /**
+     * Marks a cell with the current symbol if the current AI executes it next, with the other symbol if another
+     * running AI executes it next and leaves it unchanged otherwise.
+     *
+     * @param position position of the cell
+     * @param current  the current AI
+     */
+    private void mark(int position, AI current) {
+        if (runningAIsAt[position] == 0) {
+            return;
+        }
+        boolean currentCell = !current.isStopped() && position(current.getNextCellIndex()) == position;
+        cells[position].setCurrentSymbol(currentCell ? codeFight.getCurrentSymbol() : codeFight.getOtherSymbol());
+    }
+
+    private void change(int index) {
+        int position = position(index);
+        if (!changed[position]) {
+            changed[position] = true;
+            changedPositions[changedCount++] = position;
+        }
+    }
+
+    private int position(int index) {
+        return Math.floorMod(index, memorySize);
+    }
+}
@@ -0,0 +1,100 @@
+package edu.kit.kastel.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Default and bomb symbols of the AIs, looked up by owner id.
+ * The first AIs get the symbol pairs given on creation. Further AIs get single letters from a fixed set of
+ * alphabets that are neither given nor reserved, so games can have more AIs than symbols were given. Generated
+ * symbols are rendered when an owner id first asks for them.
+ *
+ * @author uiiux
+ */
+public final class SymbolPalette {
+    private static final String INVALID_CAPACITY_ERROR = "A palette can hold between %d and %d AIs.";
+    private static final int NUMBER_OF_SYMBOLS_PER_AI = 2;
+    private static final int[][] GENERATED_RANGES = {
+        {0x00C0, 0x024F}, {0x0370, 0x03FF}, {0x0400, 0x052F}, {0x13A0, 0x13F5}, {0x1401, 0x166C}, {0x1E00, 0x1FFF}
+    };
+    private static final int[] GENERATED_CODE_POINTS = Arrays.stream(GENERATED_RANGES)
+            .flatMapToInt(range -> IntStream.rangeClosed(range[0], range[1]))
+            .filter(Character::isLetter)
+            .toArray();
+
+    private final String[] defaultSymbols;
+    private final String[] bombSymbols;
+    private final int[] generatedCodePoints;
+    private final int givenPairs;
+
+    /**
+     * Creates a palette.
+     *
+     * @param aiSymbols       pairs of default and bomb symbols of the first AIs
+     * @param reservedSymbols symbols that must not be generated, e.g. the memory symbols
+     * @param capacity        number of AIs the palette holds, at least the number of given pairs
+     * @throws IllegalArgumentException if the capacity is smaller than the number of given pairs or there are not
+     *                                  enough symbols left to generate
+     */
+    public SymbolPalette(List<String> aiSymbols, Collection<String> reservedSymbols, int capacity) {
+        this.givenPairs = aiSymbols.size() / NUMBER_OF_SYMBOLS_PER_AI;
+        Set<String> reserved = new HashSet<>(reservedSymbols);
+        reserved.addAll(aiSymbols);
+        this.generatedCodePoints = capacity <= givenPairs ? new int[0] : Arrays.stream(GENERATED_CODE_POINTS)
+                .filter(codePoint -> !reserved.contains(Character.toString(codePoint)))
+                .toArray();
+        int maximumCapacity = givenPairs + generatedCodePoints.length / NUMBER_OF_SYMBOLS_PER_AI;
+        if (capacity < givenPairs || capacity > maximumCapacity) {
+            throw new IllegalArgumentException(INVALID_CAPACITY_ERROR.formatted(givenPairs, maximumCapacity));
+        }
+        this.defaultSymbols = new String[capacity];
+        this.bombSymbols = new String[capacity];
+        for (int i = 0; i < givenPairs; i++) {
+            defaultSymbols[i] = aiSymbols.get(NUMBER_OF_SYMBOLS_PER_AI * i);
+            bombSymbols[i] = aiSymbols.get(NUMBER_OF_SYMBOLS_PER_AI * i + 1);
+        }
+    }
+
+    /**
+     * Returns the number of AIs the palette holds.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return defaultSymbols.length;
+    }
+
+    /**
+     * Returns the symbol of the cells written by an AI.
+     *
+     * @param ownerId owner id of the AI
+     * @return the default symbol
+     */
+    public String getDefaultSymbol(int ownerId) {
+        render(ownerId);
+        return defaultSymbols[ownerId];
+    }
+
+    /**
+     * Returns the symbol of the bombs planted by an AI.
+     *
+     * @param ownerId owner id of the AI
+     * @return the bomb symbol
+     */
+    public String getBombSymbol(int ownerId) {
+        render(ownerId);
+        return bombSymbols[ownerId];
+    }
+
+    private void render(int ownerId) {
+        if (defaultSymbols[ownerId] == null) {
+            int generated = NUMBER_OF_SYMBOLS_PER_AI * (ownerId - givenPairs);
+            defaultSymbols[ownerId] = Character.toString(generatedCodePoints[generated]);
+            bombSymbols[ownerId] = Character.toString(generatedCodePoints[generated + 1]);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package edu.kit.kastel.model.ai;
 
 import edu.kit.kastel.model.memory.MemoryCell;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -14,15 +13,18 @@ public class AI {
     private String defaultSymbol;
     private String bombSymbol;
     private final String name;
-    private final List<MemoryCell> aiCommands;
+    private final CompiledProgram program;
 
-    private int stepsExecuted = 0;
+    private long stepsExecuted = 0;
 
     private int currentAIPosition = 0;
+    private int memoryStart = 0;
     private int memoryAllocated = 0;
 
     private int nextCellIndex;
 
+    private int ownerId;
+
     private boolean stopped = false;
 
     /**
@@ -32,8 +34,18 @@ public class AI {
      * @param aiCommands  Instruction Set of the AI
      */
     public AI(String name, List<MemoryCell> aiCommands) {
+        this(name, CompiledProgram.of(aiCommands));
+    }
+
+    /**
+     * Initializes an AI playing a compiled program, which is shared and not copied.
+     *
+     * @param name    name of the AI
+     * @param program compiled instructions of the AI
+     */
+    public AI(String name, CompiledProgram program) {
         this.name = name;
-        this.aiCommands = aiCommands;
+        this.program = program;
     }
 
     /**
@@ -81,12 +93,21 @@ public void setBombSymbol(String bombSymbol) {
     }
 
     /**
-     * Gets the AI commands of AI.
+     * Gets the AI commands of AI as new cells.
      *
      * @return List of AI commands
      */
     public List<MemoryCell> getAiCommands() {
-        return Collections.unmodifiableList(aiCommands);
+        return program.toCells();
+    }
+
+    /**
+     * Gets the compiled instructions of the AI.
+     *
+     * @return the compiled program
+     */
+    public CompiledProgram getProgram() {
+        return program;
     }
 
     /**
@@ -113,7 +134,7 @@ public String getBombSymbol() {
      *
      * @return number of steps executed
      */
-    public int getStepsExecuted() {
+    public long getStepsExecuted() {
         return stepsExecuted;
     }
 
@@ -121,19 +142,21 @@ public int getStepsExecuted() {
      * Sets the currentPosition of the AI.
      * If the currentPosition in memory has stop then it will skip that cell
      * so that the AI doesn't start with STOP.
+     * The position wraps around the end of the memory like every later position of the AI.
      *
      * @param startIndex start index of the AI
+     * @param memorySize size of the memory
      */
-    public void setStartIndex(int startIndex) {
+    public void setStartIndex(int startIndex, int memorySize) {
         int incrementValue = 0;
-        for (MemoryCell aiCommand : aiCommands) {
-            if (aiCommand.getInstruction().equals(InstructionName.STOP)) {
+        for (int i = 0; i < program.size(); i++) {
+            if (program.getInstruction(i).equals(InstructionName.STOP)) {
                 incrementValue++;
             } else {
                 break;
             }
         }
-        currentAIPosition = startIndex + incrementValue;
+        currentAIPosition = Math.floorMod(startIndex + incrementValue, memorySize);
         nextCellIndex = currentAIPosition;
     }
 
@@ -144,6 +167,33 @@ public void stop() {
         stopped = true;
     }
 
+    /**
+     * Creates a copy of the AI that has not played yet, sharing its program and with the same symbols.
+     *
+     * @param newName name of the copy
+     * @return the copy
+     */
+    public AI copy(String newName) {
+        AI newAI = new AI(newName, program);
+        newAI.setDefaultSymbol(defaultSymbol);
+        newAI.setBombSymbol(bombSymbol);
+        return newAI;
+    }
+
+    /**
+     * Restores the state of the AI, e.g. when switching to a fork of the game.
+     *
+     * @param nextCellIndex position of the cell the AI executes next
+     * @param stopped       true if the AI is stopped
+     * @param stepsExecuted number of steps executed by the AI
+     */
+    public void restore(int nextCellIndex, boolean stopped, long stepsExecuted) {
+        this.currentAIPosition = nextCellIndex;
+        this.nextCellIndex = nextCellIndex;
+        this.stopped = stopped;
+        this.stepsExecuted = stepsExecuted;
+    }
+
     /**
      * Sets the current Cell to be executed.
      * Executes the Instruction in the memory.
@@ -182,6 +232,42 @@ private void updateAIPosition(int newPosition) {
         currentAIPosition = newPosition;
     }
 
+    /**
+     * Gets the id of the AI in the ownership index.
+     *
+     * @return owner id of the AI
+     */
+    public int getOwnerId() {
+        return ownerId;
+    }
+
+    /**
+     * Sets the id of the AI in the ownership index.
+     *
+     * @param ownerId owner id of the AI
+     */
+    public void setOwnerId(int ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    /**
+     * Gets the address the program of the AI was loaded at.
+     *
+     * @return address of the first instruction
+     */
+    public int getMemoryStart() {
+        return memoryStart;
+    }
+
+    /**
+     * Sets the address the program of the AI was loaded at.
+     *
+     * @param memoryStart address of the first instruction
+     */
+    public void setMemoryStart(int memoryStart) {
+        this.memoryStart = memoryStart;
+    }
+
     /**
      * Gets the amount of memory allocated to the AI.
      *
@@ -1,7 +1,10 @@
 package edu.kit.kastel.model.ai;
 
 import edu.kit.kastel.model.CyclicLinkedList;
+import edu.kit.kastel.model.GameListener;
+import edu.kit.kastel.model.memory.InstructionIndex;
 import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.OwnershipIndex;
 
 import java.util.List;
 
@@ -16,17 +19,25 @@ public class AICommandExecutor {
     private final AICommands aiCommands;
     private MemoryCell currentCell;
     private final List<AI> stoppedAIList;
+    private final ExecutionMetrics metrics;
 
     /**
      * Initializes the AI command Executor.
      *
-     * @param memory        memory of the program
-     * @param stoppedAIList list of stopped AI's
+     * @param memory           memory of the program
+     * @param stoppedAIList    list of stopped AI's
+     * @param ownershipIndex   index tracking the owner of every cell
+     * @param instructionIndex index tracking the instruction of every cell
+     * @param listener         listener notified about every written cell
+     * @param metrics          counters of the execution
      */
-    public AICommandExecutor(CyclicLinkedList<MemoryCell> memory, List<AI> stoppedAIList) {
+    public AICommandExecutor(CyclicLinkedList<MemoryCell> memory, List<AI> stoppedAIList,
+                             OwnershipIndex ownershipIndex, InstructionIndex instructionIndex,
+                             GameListener listener, ExecutionMetrics metrics) {
         this.memory = memory;
-        aiCommands = new AICommands(memory);
+        aiCommands = new AICommands(memory, ownershipIndex, instructionIndex, listener, metrics);
         this.stoppedAIList = stoppedAIList;
+        this.metrics = metrics;
 
     }
 
@@ -41,6 +52,7 @@ public void executeCommand() {
         currentCell.setCurrentSymbol(currentCell.getDefaultSymbol());
         int cellPosition = memory.getPosition(currentCell);
         aiCommands.setCellPosition(cellPosition);
+        metrics.countInstruction(currentCell.getInstruction());
 
         switch (currentCell.getInstruction()) {
             case STOP -> aiCommands.stop(stoppedAIList);
@@ -57,6 +69,20 @@ public void executeCommand() {
         currentCell = aiCommands.getCell();
     }
 
+    /**
+     * Writes a cell on behalf of an AI without executing an instruction or counting a step.
+     *
+     * @param ai             AI owning the written cell
+     * @param position       position of the cell
+     * @param instruction    new instruction of the cell
+     * @param firstArgument  new first argument of the cell
+     * @param secondArgument new second argument of the cell
+     */
+    public void writeCell(AI ai, int position, InstructionName instruction, int firstArgument, int secondArgument) {
+        aiCommands.setCurrentAI(ai);
+        aiCommands.write(position, instruction, firstArgument, secondArgument);
+    }
+
     /**
      * Sets the current cell which is to be executed.
      *
@@ -77,11 +103,12 @@ public int getNextCellIndex() {
 
 
     /**
-     * Sets the current AI which will execute the Instruction.
+     * Sets the current AI which will execute the Instruction and counts its step.
      *
      * @param currentAI current AI
      */
     public void setCurrentAI(AI currentAI) {
+        metrics.countAIStep(currentAI.getOwnerId());
         aiCommands.setCurrentAI(currentAI);
     }
 
@@ -1,7 +1,10 @@
 package edu.kit.kastel.model.ai;
 
 import edu.kit.kastel.model.CyclicLinkedList;
+import edu.kit.kastel.model.GameListener;
+import edu.kit.kastel.model.memory.InstructionIndex;
 import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.OwnershipIndex;
 
 import java.util.List;
 
@@ -16,16 +19,29 @@
 public class AICommands {
     private MemoryCell cell;
     private final CyclicLinkedList<MemoryCell> memory;
+    private final OwnershipIndex ownershipIndex;
+    private final InstructionIndex instructionIndex;
+    private final GameListener listener;
+    private final ExecutionMetrics metrics;
     private int cellPosition;
     private AI currentAI;
 
     /**
      * Creates an instance of AICommands with the specified memory.
      *
-     * @param memory The cyclic linked list representing the memory.
+     * @param memory           The cyclic linked list representing the memory.
+     * @param ownershipIndex   The index tracking the owner of every cell.
+     * @param instructionIndex The index tracking the instruction of every cell.
+     * @param listener         The listener notified about every written cell.
+     * @param metrics          The counters of the execution.
      */
-    public AICommands(CyclicLinkedList<MemoryCell> memory) {
+    public AICommands(CyclicLinkedList<MemoryCell> memory, OwnershipIndex ownershipIndex,
+                      InstructionIndex instructionIndex, GameListener listener, ExecutionMetrics metrics) {
         this.memory = memory;
+        this.ownershipIndex = ownershipIndex;
+        this.instructionIndex = instructionIndex;
+        this.listener = listener;
+        this.metrics = metrics;
     }
 
     /**
@@ -40,13 +56,32 @@ public void stop(List<AI> stoppedAIList) {
         }
     }
 
+    /**
+     * Writes a cell on behalf of the current AI without executing an instruction.
+     * The written cell is owned by the current AI like a cell written by an instruction.
+     *
+     * @param position       position of the cell
+     * @param instruction    new instruction of the cell
+     * @param firstArgument  new first argument of the cell
+     * @param secondArgument new second argument of the cell
+     */
+    public void write(int position, InstructionName instruction, int firstArgument, int secondArgument) {
+        int targetPosition = normalize(position);
+        MemoryCell targetCell = memory.get(targetPosition);
+        targetCell.setInstruction(instruction);
+        targetCell.setFirstArgument(firstArgument);
+        targetCell.setSecondArgument(secondArgument);
+        assignSymbol(targetCell, targetCell, targetPosition);
+    }
+
     /**
      * Moves data from a source cell to a target cell based on the first and second arguments of the current cell.
      */
     public void movR() {
         MemoryCell sourceCell = memory.get(cellPosition + cell.getFirstArgument());
-        MemoryCell targetCell = memory.get(cellPosition + cell.getSecondArgument());
-        transferCellData(sourceCell, targetCell);
+        int targetPosition = normalize(cellPosition + cell.getSecondArgument());
+        MemoryCell targetCell = memory.get(targetPosition);
+        transferCellData(sourceCell, targetCell, targetPosition);
         cell = memory.getNext(cell);
     }
 
@@ -57,8 +92,9 @@ public void movI() {
         MemoryCell sourceCell = memory.get(cellPosition + cell.getFirstArgument());
         MemoryCell intermediateCell = memory.get(cellPosition + cell.getSecondArgument());
         int intermediateCellPosition = memory.getPosition(intermediateCell);
-        MemoryCell targetCell = memory.get(intermediateCellPosition + intermediateCell.getSecondArgument());
-        transferCellData(sourceCell, targetCell);
+        int targetPosition = normalize(intermediateCellPosition + intermediateCell.getSecondArgument());
+        MemoryCell targetCell = memory.get(targetPosition);
+        transferCellData(sourceCell, targetCell, targetPosition);
         cell = memory.getNext(cell);
     }
 
@@ -68,7 +104,7 @@ public void movI() {
     public void add() {
         int result = cell.getFirstArgument() + cell.getSecondArgument();
         cell.setSecondArgument(result);
-        assignSymbol(cell, cell);
+        assignSymbol(cell, cell, cellPosition);
         cell = memory.getNext(cell);
     }
 
@@ -76,10 +112,11 @@ public void add() {
      * Adds the first argument of the current cell to the second argument of a target cell determined by the current cell's second argument.
      */
     public void addR() {
-        MemoryCell targetCell = memory.get(cellPosition + cell.getSecondArgument());
+        int targetPosition = normalize(cellPosition + cell.getSecondArgument());
+        MemoryCell targetCell = memory.get(targetPosition);
         int result = cell.getFirstArgument() + targetCell.getSecondArgument();
         targetCell.setSecondArgument(result);
-        assignSymbol(targetCell, targetCell);
+        assignSymbol(targetCell, targetCell, targetPosition);
         cell = memory.getNext(cell);
     }
 
@@ -90,6 +127,7 @@ public void cmp() {
         MemoryCell firstCell = memory.get(cellPosition + cell.getFirstArgument());
         MemoryCell secondCell = memory.get(cellPosition + cell.getSecondArgument());
         if (firstCell.getFirstArgument() != secondCell.getSecondArgument()) {
+            metrics.countCmpSkip();
             cell = memory.getNext(memory.getNext(cell));
         } else {
             cell = memory.getNext(cell);
@@ -109,8 +147,10 @@ public void jmp() {
     public void jmz() {
         MemoryCell checkCell = memory.get(cellPosition + cell.getSecondArgument());
         if (checkCell.getSecondArgument() == 0) {
+            metrics.countJmz(true);
             cell = memory.get(cellPosition + cell.getFirstArgument());
         } else {
+            metrics.countJmz(false);
             cell = memory.getNext(cell);
         }
     }
@@ -119,13 +159,15 @@ public void jmz() {
      * Swaps the arguments of two cells specified by the current cell's arguments.
      */
     public void swap() {
-        MemoryCell firstCell = memory.get(cellPosition + cell.getFirstArgument());
-        MemoryCell secondCell = memory.get(cellPosition + cell.getSecondArgument());
+        int firstPosition = normalize(cellPosition + cell.getFirstArgument());
+        int secondPosition = normalize(cellPosition + cell.getSecondArgument());
+        MemoryCell firstCell = memory.get(firstPosition);
+        MemoryCell secondCell = memory.get(secondPosition);
         int temp = firstCell.getFirstArgument();
         firstCell.setFirstArgument(secondCell.getSecondArgument());
         secondCell.setSecondArgument(temp);
-        assignSymbol(firstCell, firstCell);
-        assignSymbol(secondCell, secondCell);
+        assignSymbol(firstCell, firstCell, firstPosition);
+        assignSymbol(secondCell, secondCell, secondPosition);
         cell = memory.getNext(cell);
     }
 
@@ -133,14 +175,15 @@ public void swap() {
      * Transfers data from the source cell to the target cell, including instruction and arguments.
      * This method also updates the symbol of the target cell based on the AI's configuration.
      *
-     * @param sourceCell The cell from which data is copied.
-     * @param targetCell The cell to which data is copied.
+     * @param sourceCell     The cell from which data is copied.
+     * @param targetCell     The cell to which data is copied.
+     * @param targetPosition The position of the target cell.
      */
-    private void transferCellData(MemoryCell sourceCell, MemoryCell targetCell) {
+    private void transferCellData(MemoryCell sourceCell, MemoryCell targetCell, int targetPosition) {
         targetCell.setInstruction(sourceCell.getInstruction());
         targetCell.setFirstArgument(sourceCell.getFirstArgument());
         targetCell.setSecondArgument(sourceCell.getSecondArgument());
-        assignSymbol(sourceCell, targetCell);
+        assignSymbol(sourceCell, targetCell, targetPosition);
     }
 
 
@@ -177,10 +220,22 @@ public void setCellPosition(int cellPosition) {
      * @return     true if it is bomb else false
      */
     private boolean isBomb(MemoryCell cell) {
-        return cell.getInstruction().equals(InstructionName.STOP)
-                || cell.getInstruction().equals(InstructionName.JMP) && cell.getFirstArgument() == 0
-                || cell.getInstruction().equals(InstructionName.JMZ) && cell.getFirstArgument() == 0
-                && cell.getSecondArgument() == 0;
+        return isBomb(cell.getInstruction(), cell.getFirstArgument(), cell.getSecondArgument());
+    }
+
+    /**
+     * Checks if an instruction with the given arguments is a bomb.
+     *
+     * @param instruction    instruction of the cell
+     * @param firstArgument  first argument of the cell
+     * @param secondArgument second argument of the cell
+     * @return               true if it is bomb else false
+     */
+    public static boolean isBomb(InstructionName instruction, int firstArgument, int secondArgument) {
+        return instruction.equals(InstructionName.STOP)
+                || instruction.equals(InstructionName.JMP) && firstArgument == 0
+                || instruction.equals(InstructionName.JMZ) && firstArgument == 0
+                && secondArgument == 0;
     }
 
     /**
@@ -193,15 +248,29 @@ public int getNextCellIndex() {
     }
 
 
-    private void assignSymbol(MemoryCell checkCell, MemoryCell targetCell) {
-        if (isBomb(checkCell)) {
+    /**
+     * Normalizes a position the same way the memory does, so it can be used as an index.
+     *
+     * @param position position that may be negative or out of bounds
+     * @return position within the memory
+     */
+    private int normalize(int position) {
+        return Math.floorMod(position, memory.size());
+    }
+
+    private void assignSymbol(MemoryCell checkCell, MemoryCell targetCell, int targetPosition) {
+        boolean bomb = isBomb(checkCell);
+        if (bomb) {
             targetCell.setCurrentSymbol(currentAI.getBombSymbol());
             targetCell.setDefaultSymbol(currentAI.getBombSymbol());
         } else {
             targetCell.setCurrentSymbol(currentAI.getDefaultSymbol());
             targetCell.setDefaultSymbol(currentAI.getDefaultSymbol());
         }
-
+        ownershipIndex.record(targetPosition, currentAI.getOwnerId(), bomb);
+        instructionIndex.update(targetPosition, targetCell);
+        metrics.countCellWritten();
+        listener.onCellWritten(targetPosition, targetCell, currentAI);
     }
 
     /**
@@ -0,0 +1,88 @@
+package edu.kit.kastel.model.ai;
+
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable instructions of a program, shared by every AI playing it.
+ * Loading a program writes its instructions into the cells of the memory, so the program itself is never changed
+ * by a game and AIs playing the same program do not need copies of it.
+ *
+ * @author uiiux
+ */
+public final class CompiledProgram {
+    private final InstructionName[] instructions;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+
+    private CompiledProgram(InstructionName[] instructions, int[] firstArguments, int[] secondArguments) {
+        this.instructions = instructions;
+        this.firstArguments = firstArguments;
+        this.secondArguments = secondArguments;
+    }
+
+    /**
+     * Compiles the instructions of a program.
+     *
+     * @param cells instructions of the program
+     * @return the compiled program
+     */
+    public static CompiledProgram of(List<MemoryCell> cells) {
+        InstructionName[] instructions = new InstructionName[cells.size()];
+        int[] firstArguments = new int[cells.size()];
+        int[] secondArguments = new int[cells.size()];
+        for (int i = 0; i < cells.size(); i++) {
+            MemoryCell cell = cells.get(i);
+            instructions[i] = cell.getInstruction();
+            firstArguments[i] = cell.getFirstArgument();
+            secondArguments[i] = cell.getSecondArgument();
+        }
+        return new CompiledProgram(instructions, firstArguments, secondArguments);
+    }
+
+    /**
+     * Returns the number of instructions.
+     *
+     * @return size of the program
+     */
+    public int size() {
+        return instructions.length;
+    }
+
+    /**
+     * Returns an instruction.
+     *
+     * @param index index of the instruction
+     * @return the instruction
+     */
+    public InstructionName getInstruction(int index) {
+        return instructions[index];
+    }
+
+    /**
+     * Writes an instruction into a cell of the memory, leaving its symbols unchanged.
+     *
+     * @param index index of the instruction
+     * @param cell  cell to be written
+     */
+    public void writeTo(int index, MemoryCell cell) {
+        cell.setInstruction(instructions[index]);
+        cell.setFirstArgument(firstArguments[index]);
+        cell.setSecondArgument(secondArguments[index]);
+    }
+
+    /**
+     * Returns the instructions as new cells.
+     *
+     * @return list of new cells without symbols
+     */
+    public List<MemoryCell> toCells() {
+        List<MemoryCell> cells = new ArrayList<>(instructions.length);
+        for (int i = 0; i < instructions.length; i++) {
+            cells.add(new MemoryCell(instructions[i], firstArguments[i], secondArguments[i]));
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,173 @@
+package edu.kit.kastel.model.ai;
+
+import java.util.Arrays;
+
+/**
+ * Counts what the executor does during a game.
+ * The counters are plain primitive fields and arrays written by the engine thread only, so counting costs
+ * a few increments per step. Readers on other threads may see slightly outdated values.
+ *
+ * @author uiiux
+ */
+public class ExecutionMetrics {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long[] instructionCounts = new long[InstructionName.values().length];
+    private long[] aiSteps = new long[0];
+    private long cellsWritten;
+    private long cmpSkips;
+    private long jmzTaken;
+    private long jmzNotTaken;
+    private long runNanos;
+
+    /**
+     * Clears all counters for a new game.
+     *
+     * @param numberOfAIs number of AIs taking part in the game
+     */
+    public void reset(int numberOfAIs) {
+        Arrays.fill(instructionCounts, 0);
+        aiSteps = new long[numberOfAIs];
+        cellsWritten = 0;
+        cmpSkips = 0;
+        jmzTaken = 0;
+        jmzNotTaken = 0;
+        runNanos = 0;
+    }
+
+    void countInstruction(InstructionName instruction) {
+        instructionCounts[instruction.ordinal()]++;
+    }
+
+    void countAIStep(int ownerId) {
+        aiSteps[ownerId]++;
+    }
+
+    void countCellWritten() {
+        cellsWritten++;
+    }
+
+    void countCmpSkip() {
+        cmpSkips++;
+    }
+
+    void countJmz(boolean taken) {
+        if (taken) {
+            jmzTaken++;
+        } else {
+            jmzNotTaken++;
+        }
+    }
+
+    /**
+     * Adds the time spent executing steps.
+     *
+     * @param nanos time in nanoseconds
+     */
+    public void addRunTime(long nanos) {
+        runNanos += nanos;
+    }
+
+    /**
+     * Returns how often an instruction was executed.
+     *
+     * @param instruction the instruction
+     * @return number of executions
+     */
+    public long getInstructionCount(InstructionName instruction) {
+        return instructionCounts[instruction.ordinal()];
+    }
+
+    /**
+     * Returns the number of steps executed by all AIs.
+     *
+     * @return number of steps
+     */
+    public long getTotalSteps() {
+        long total = 0;
+        for (long count : instructionCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of steps executed by an AI.
+     *
+     * @param ownerId id of the AI
+     * @return number of steps
+     */
+    public long getAISteps(int ownerId) {
+        long[] steps = aiSteps;
+        return ownerId < steps.length ? steps[ownerId] : 0;
+    }
+
+    /**
+     * Returns the number of steps per second an AI executed while steps were executed.
+     *
+     * @param ownerId id of the AI
+     * @return steps per second
+     */
+    public double getAIStepRate(int ownerId) {
+        return perSecond(getAISteps(ownerId));
+    }
+
+    /**
+     * Returns the number of steps per second all AIs executed while steps were executed.
+     *
+     * @return steps per second
+     */
+    public double getStepRate() {
+        return perSecond(getTotalSteps());
+    }
+
+    /**
+     * Returns the number of cells written.
+     *
+     * @return number of written cells
+     */
+    public long getCellsWritten() {
+        return cellsWritten;
+    }
+
+    /**
+     * Returns how often CMP skipped the next cell.
+     *
+     * @return number of skips
+     */
+    public long getCmpSkips() {
+        return cmpSkips;
+    }
+
+    /**
+     * Returns how often JMZ jumped.
+     *
+     * @return number of taken branches
+     */
+    public long getJmzTaken() {
+        return jmzTaken;
+    }
+
+    /**
+     * Returns how often JMZ continued with the next cell.
+     *
+     * @return number of branches not taken
+     */
+    public long getJmzNotTaken() {
+        return jmzNotTaken;
+    }
+
+    /**
+     * Returns the time spent executing steps.
+     *
+     * @return time in nanoseconds
+     */
+    public long getRunNanos() {
+        return runNanos;
+    }
+
+    private double perSecond(long count) {
+        long nanos = runNanos;
+        return nanos == 0 ? 0 : (double) count * NANOS_PER_SECOND / nanos;
+    }
+}
@@ -0,0 +1,206 @@
+package edu.kit.kastel.model.cache;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Disk tier of the match cache: a hash table with a fixed number of slots in a memory-mapped file.
+ * Every slot holds the digest of a key, the length and checksum of the value and the value itself. A key is looked
+ * up in a few slots following its home slot; if all of them are taken, a new entry replaces the one in the home slot.
+ * Entries whose checksum does not match, e.g. after a crash while writing, are treated as missing.
+ * Every slot is large enough for a value of the given maximum length, which the cache derives from the largest
+ * number of AIs of a match. A file with a different layout, number of slots or slot size is cleared when it is
+ * opened.
+ *
+ * @author uiiux
+ */
+class MappedResultStore implements AutoCloseable {
+    private static final int MAGIC = 0x4D524331;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int LENGTH_OFFSET = MatchKey.DIGEST_LENGTH;
+    private static final int CHECKSUM_OFFSET = LENGTH_OFFSET + Integer.BYTES;
+    private static final int VALUE_OFFSET = CHECKSUM_OFFSET + Integer.BYTES;
+    private static final int PROBE_LIMIT = 8;
+    private static final String INVALID_VALUE_LENGTH_ERROR = "The maximum value length must be between 1 and %d.";
+    private static final String INVALID_SLOTS_ERROR = "The number of slots must be between 1 and %d.";
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slots;
+    private final int slotSize;
+    private final int maxValueLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Opens or creates the store.
+     *
+     * @param path           path of the file
+     * @param slots          number of entries the file can hold
+     * @param maxValueLength largest number of ints of a value
+     * @throws IOException              if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if the number of slots or the value length is not positive or the file would
+     *                                  exceed 2 GB
+     */
+    MappedResultStore(Path path, int slots, int maxValueLength) throws IOException {
+        int maxValueLengthLimit = (Integer.MAX_VALUE - HEADER_SIZE - VALUE_OFFSET) / Integer.BYTES;
+        if (maxValueLength < 1 || maxValueLength > maxValueLengthLimit) {
+            throw new IllegalArgumentException(INVALID_VALUE_LENGTH_ERROR.formatted(maxValueLengthLimit));
+        }
+        this.slotSize = VALUE_OFFSET + maxValueLength * Integer.BYTES;
+        int maxSlots = (Integer.MAX_VALUE - HEADER_SIZE) / slotSize;
+        if (slots < 1 || slots > maxSlots) {
+            throw new IllegalArgumentException(INVALID_SLOTS_ERROR.formatted(maxSlots));
+        }
+        this.slots = slots;
+        this.maxValueLength = maxValueLength;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = HEADER_SIZE + (long) slots * slotSize;
+        boolean compatible = channel.size() == size;
+        if (!compatible) {
+            channel.truncate(0);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (compatible && (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != FORMAT_VERSION
+                || buffer.getInt(2 * Integer.BYTES) != slots || buffer.getInt(3 * Integer.BYTES) != slotSize)) {
+            for (int offset = 0; offset < buffer.capacity(); offset += Integer.BYTES) {
+                buffer.putInt(offset, 0);
+            }
+            compatible = false;
+        }
+        if (!compatible) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(Integer.BYTES, FORMAT_VERSION);
+            buffer.putInt(2 * Integer.BYTES, slots);
+            buffer.putInt(3 * Integer.BYTES, slotSize);
+        }
+    }
+
+    /**
+     * Returns the largest value the store can hold.
+     *
+     * @return maximum number of ints of a value
+     */
+    int getMaxValueLength() {
+        return maxValueLength;
+    }
+
+    /**
+     * Looks up the value of a key.
+     *
+     * @param key the key
+     * @return the value or null if the store does not hold the key
+     */
+    int[] get(MatchKey key) {
+        byte[] digest = key.getDigest();
+        lock.readLock().lock();
+        try {
+            int home = homeSlot(digest);
+            for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+                int offset = slotOffset((home + probe) % slots);
+                int length = buffer.getInt(offset + LENGTH_OFFSET);
+                if (length == 0) {
+                    return null;
+                }
+                if (holds(offset, digest)) {
+                    int[] value = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        value[i] = buffer.getInt(offset + VALUE_OFFSET + i * Integer.BYTES);
+                    }
+                    return checksum(digest, value) == buffer.getInt(offset + CHECKSUM_OFFSET) ? value : null;
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the value of a key.
+     *
+     * @param key   the key
+     * @param value the value, between 1 and {@link #getMaxValueLength()} ints
+     */
+    void put(MatchKey key, int[] value) {
+        byte[] digest = key.getDigest();
+        lock.writeLock().lock();
+        try {
+            int home = homeSlot(digest);
+            int target = home;
+            for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+                int slot = (home + probe) % slots;
+                int offset = slotOffset(slot);
+                if (buffer.getInt(offset + LENGTH_OFFSET) == 0 || holds(offset, digest)) {
+                    target = slot;
+                    break;
+                }
+            }
+            int offset = slotOffset(target);
+            buffer.putInt(offset + LENGTH_OFFSET, 0);
+            buffer.put(offset, digest);
+            for (int i = 0; i < value.length; i++) {
+                buffer.putInt(offset + VALUE_OFFSET + i * Integer.BYTES, value[i]);
+            }
+            buffer.putInt(offset + CHECKSUM_OFFSET, checksum(digest, value));
+            buffer.putInt(offset + LENGTH_OFFSET, value.length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the entries to the disk and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean holds(int offset, byte[] digest) {
+        for (int i = 0; i < digest.length; i++) {
+            if (buffer.get(offset + i) != digest[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int homeSlot(byte[] digest) {
+        long bits = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            bits = bits << Byte.SIZE | digest[i] & 0xFF;
+        }
+        return (int) Math.floorMod(bits, (long) slots);
+    }
+
+    private int slotOffset(int slot) {
+        return HEADER_SIZE + slot * slotSize;
+    }
+
+    private static int checksum(byte[] digest, int[] value) {
+        CRC32 crc = new CRC32();
+        crc.update(digest);
+        for (int number : value) {
+            for (int shift = Integer.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                crc.update(number >>> shift);
+            }
+        }
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,272 @@
+package edu.kit.kastel.model.cache;
+
+import edu.kit.kastel.model.engine.AIState;
+import edu.kit.kastel.model.engine.GameConfig;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.engine.Program;
+import edu.kit.kastel.model.engine.StepResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the results of matches, keyed by a canonical hash of the programs and the configuration, see
+ * {@link MatchKey}.
+ * Results are kept in a size-bounded in-memory tier that evicts the least recently used entry and, optionally, in a
+ * memory-mapped file that survives restarts. The slots of the file are sized for matches of up to a given number of
+ * AIs; results of matches with more AIs are only kept in memory.
+ * The cache can be shared between threads: if several threads ask for the same match at the same time, only one of
+ * them plays it and the others wait for its result.
+ *
+ * @author uiiux
+ */
+public class MatchCache implements AutoCloseable {
+    private static final String INVALID_CAPACITY_ERROR = "The capacity must be positive.";
+    private static final String INVALID_NUMBER_OF_AIS_ERROR = "The number of AIs must be positive.";
+    private static final int HEADER_LENGTH = 3;
+    private static final int NUMBERS_PER_AI = 3;
+
+    private final int capacity;
+    private final Map<MatchKey, int[]> memoryTier;
+    private final MappedResultStore diskTier;
+    private final Map<MatchKey, CompletableFuture<int[]>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache without disk tier.
+     *
+     * @param capacity maximum number of results kept in memory
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public MatchCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Creates a cache with a disk tier backed by the given file.
+     *
+     * @param capacity           maximum number of results kept in memory
+     * @param file               file of the disk tier, created if it does not exist
+     * @param diskSlots          number of results the file can hold
+     * @param maximumNumberOfAIs largest number of AIs of a match whose result is kept in the file, e.g. the
+     *                           {@link GameConfig#maximumNumberOfAIs()} of the matches
+     * @throws IOException              if the file cannot be opened
+     * @throws IllegalArgumentException if the capacity, the number of slots or the number of AIs is not positive or
+     *                                  the file would exceed 2 GB
+     */
+    public MatchCache(int capacity, Path file, int diskSlots, int maximumNumberOfAIs) throws IOException {
+        this(capacity, new MappedResultStore(file, diskSlots, encodedLength(maximumNumberOfAIs)));
+    }
+
+    private MatchCache(int capacity, MappedResultStore diskTier) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(INVALID_CAPACITY_ERROR);
+        }
+        this.capacity = capacity;
+        this.diskTier = diskTier;
+        this.memoryTier = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MatchKey, int[]> eldest) {
+                return size() > MatchCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the result of a match, playing it only if neither tier holds it.
+     * The match is played like {@link GameEngine#newGame(List, GameConfig)} followed by
+     * {@link GameEngine#runToEnd(long)}.
+     *
+     * @param programs  programs taking part in the match, in playing order
+     * @param config    configuration of the game
+     * @param stepLimit maximum number of steps
+     * @return the result, with the AIs named like in a game with these programs
+     * @throws IllegalArgumentException if the programs cannot play in a game with this configuration or programs
+     *                                  with the same name have different instructions
+     */
+    public MatchResult play(List<Program> programs, GameConfig config, int stepLimit) {
+        MatchKey key = MatchKey.of(programs, config, stepLimit);
+        int[] value = lookUp(key);
+        if (value == null) {
+            CompletableFuture<int[]> future = new CompletableFuture<>();
+            CompletableFuture<int[]> running = pending.putIfAbsent(key, future);
+            if (running == null) {
+                value = compute(key, future, programs, config, stepLimit);
+            } else {
+                value = await(running);
+            }
+        }
+        List<String> names = GameEngine.playingNames(programs.stream().map(Program::name).toList());
+        List<AIState> ais = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            int offset = HEADER_LENGTH + i * NUMBERS_PER_AI;
+            ais.add(new AIState(names.get(i), value[offset] != 0, value[offset + 1], value[offset + 2]));
+        }
+        return new MatchResult(List.copyOf(ais), value[0], value[1] != 0);
+    }
+
+    /**
+     * Returns the number of results found in memory.
+     *
+     * @return number of memory hits
+     */
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    /**
+     * Returns the number of results found on disk.
+     *
+     * @return number of disk hits
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * Returns the number of matches that had to be played.
+     *
+     * @return number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of results kept in memory.
+     *
+     * @return size of the memory tier
+     */
+    public int size() {
+        synchronized (memoryTier) {
+            return memoryTier.size();
+        }
+    }
+
+    /**
+     * Closes the disk tier, writing its entries to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (diskTier != null) {
+            diskTier.close();
+        }
+    }
+
+    private int[] lookUp(MatchKey key) {
+        int[] value;
+        synchronized (memoryTier) {
+            value = memoryTier.get(key);
+        }
+        if (value != null) {
+            memoryHits.incrementAndGet();
+            return value;
+        }
+        value = diskTier == null ? null : diskTier.get(key);
+        if (value != null) {
+            diskHits.incrementAndGet();
+            synchronized (memoryTier) {
+                memoryTier.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Plays a match, stores its result in both tiers and hands it to the threads waiting for it.
+     *
+     * @param key       key of the match
+     * @param future    future of the threads waiting for the result
+     * @param programs  programs taking part in the match, in playing order
+     * @param config    configuration of the game
+     * @param stepLimit maximum number of steps
+     * @return the encoded result
+     */
+    private int[] compute(MatchKey key, CompletableFuture<int[]> future, List<Program> programs, GameConfig config,
+                          int stepLimit) {
+        try {
+            int[] value = lookUp(key);
+            if (value == null) {
+                misses.incrementAndGet();
+                value = encode(programs, config, stepLimit);
+                if (diskTier != null && value.length <= diskTier.getMaxValueLength()) {
+                    diskTier.put(key, value);
+                }
+                synchronized (memoryTier) {
+                    memoryTier.put(key, value);
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(key);
+        }
+    }
+
+    private static int[] await(CompletableFuture<int[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the length of the encoded result of a match.
+     *
+     * @param numberOfAIs number of AIs of the match
+     * @return number of ints of the result
+     * @throws IllegalArgumentException if the number of AIs is not positive or too large
+     */
+    private static int encodedLength(int numberOfAIs) {
+        if (numberOfAIs < 1 || numberOfAIs > (Integer.MAX_VALUE - HEADER_LENGTH) / NUMBERS_PER_AI) {
+            throw new IllegalArgumentException(INVALID_NUMBER_OF_AIS_ERROR);
+        }
+        return HEADER_LENGTH + numberOfAIs * NUMBERS_PER_AI;
+    }
+
+    /**
+     * Plays a match and encodes its result as the number of steps, the game over flag, the number of AIs and the
+     * stopped flag, executed steps and next cell of every AI.
+     *
+     * @param programs  programs taking part in the match, in playing order
+     * @param config    configuration of the game
+     * @param stepLimit maximum number of steps
+     * @return the encoded result
+     */
+    private static int[] encode(List<Program> programs, GameConfig config, int stepLimit) {
+        GameEngine engine = GameEngine.newGame(programs, config);
+        StepResult result = engine.runToEnd(stepLimit);
+        List<AIState> ais = engine.snapshot().ais();
+        int[] value = new int[encodedLength(ais.size())];
+        value[0] = (int) result.stepsExecuted();
+        value[1] = result.gameOver() ? 1 : 0;
+        value[2] = ais.size();
+        for (int i = 0; i < ais.size(); i++) {
+            AIState ai = ais.get(i);
+            int offset = HEADER_LENGTH + i * NUMBERS_PER_AI;
+            value[offset] = ai.stopped() ? 1 : 0;
+            value[offset + 1] = (int) ai.stepsExecuted();
+            value[offset + 2] = ai.nextCellIndex();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,106 @@
+package edu.kit.kastel.model.cache;
+
+import edu.kit.kastel.model.engine.GameConfig;
+import edu.kit.kastel.model.engine.Program;
+import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.Mode;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Canonical hash of a match.
+ * Only what decides the outcome goes into the hash: the instructions and the address of every AI in playing
+ * order, the memory size, the init mode, the seed if the memory is initialized randomly and the step limit.
+ * Names and symbols are left out, so renamed copies of the same programs share their results.
+ * Like {@link edu.kit.kastel.model.engine.GameEngine}, programs with the same name must have the same instructions.
+ *
+ * @author uiiux
+ */
+final class MatchKey {
+
+    /**
+     * Number of bytes of a digest.
+     */
+    static final int DIGEST_LENGTH = 32;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int FORMAT_VERSION = 2;
+    private static final int NUMBERS_PER_INSTRUCTION = 3;
+    private static final String PROGRAMS_DO_NOT_FIT_ERROR = "Programs do not fit into the memory.";
+
+    private final byte[] digest;
+    private final int hash;
+
+    private MatchKey(byte[] digest) {
+        this.digest = digest;
+        this.hash = Arrays.hashCode(digest);
+    }
+
+    /**
+     * Computes the key of a match.
+     *
+     * @param programs  programs taking part in the match, in playing order
+     * @param config    configuration of the game
+     * @param stepLimit maximum number of steps
+     * @return the key
+     * @throws IllegalArgumentException if programs with the same name have different instructions or the placement
+     *                                  strategy cannot place the programs into the memory
+     */
+    static MatchKey of(List<Program> programs, GameConfig config, int stepLimit) {
+        Program.requireConsistentNames(programs);
+        int[] programSizes = new int[programs.size()];
+        int numbers = 0;
+        for (int ai = 0; ai < programs.size(); ai++) {
+            programSizes[ai] = programs.get(ai).instructions().size();
+            numbers += 2 + programSizes[ai] * NUMBERS_PER_INSTRUCTION;
+        }
+        int[] addresses = config.placement().place(config.memorySize(), programSizes);
+        if (addresses == null) {
+            throw new IllegalArgumentException(PROGRAMS_DO_NOT_FIT_ERROR);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((numbers + 5) * Integer.BYTES + Long.BYTES);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(config.memorySize());
+        buffer.putInt(config.initMode().ordinal());
+        buffer.putLong(config.initMode() == Mode.RANDOM ? config.seed() : 0);
+        buffer.putInt(stepLimit);
+        buffer.putInt(programs.size());
+        for (int ai = 0; ai < programs.size(); ai++) {
+            buffer.putInt(addresses[ai]);
+            buffer.putInt(programSizes[ai]);
+            for (MemoryCell cell : programs.get(ai).instructions()) {
+                buffer.putInt(cell.getInstruction().ordinal());
+                buffer.putInt(cell.getFirstArgument());
+                buffer.putInt(cell.getSecondArgument());
+            }
+        }
+        try {
+            return new MatchKey(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(buffer.array()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the digest. The caller must not change it.
+     *
+     * @return the digest
+     */
+    byte[] getDigest() {
+        return digest;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof MatchKey key && Arrays.equals(digest, key.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
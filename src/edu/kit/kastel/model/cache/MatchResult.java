@@ -0,0 +1,16 @@
+package edu.kit.kastel.model.cache;
+
+import edu.kit.kastel.model.engine.AIState;
+
+import java.util.List;
+
+/**
+ * Result of a match played until all AIs are stopped or the step limit is reached.
+ *
+ * @param ais      state of the AIs at the end of the match, in playing order
+ * @param steps    number of steps that were executed
+ * @param gameOver true if all AIs are stopped
+ * @author uiiux
+ */
+public record MatchResult(List<AIState> ais, int steps, boolean gameOver) {
+}
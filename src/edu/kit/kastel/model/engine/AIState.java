@@ -0,0 +1,13 @@
+package edu.kit.kastel.model.engine;
+
+/**
+ * State of an AI at the time of a snapshot.
+ *
+ * @param name          name of the AI
+ * @param stopped       true if the AI is stopped
+ * @param stepsExecuted steps the AI has executed
+ * @param nextCellIndex index of the cell the AI executes next
+ * @author uiiux
+ */
+public record AIState(String name, boolean stopped, long stepsExecuted, int nextCellIndex) {
+}
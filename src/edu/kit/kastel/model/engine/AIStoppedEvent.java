@@ -0,0 +1,24 @@
+package edu.kit.kastel.model.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when an AI stops.
+ *
+ * @author uiiux
+ */
+@Name("edu.kit.kastel.AIStopped")
+@Label("AI Stopped")
+@Category("CodeFight")
+@Description("An AI executed a STOP instruction")
+public class AIStoppedEvent extends Event {
+    @Label("AI")
+    String aiName;
+
+    @Label("Steps Executed")
+    long stepsExecuted;
+}
@@ -0,0 +1,296 @@
+package edu.kit.kastel.model.engine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Executes a long run of steps on a background thread.
+ * The worker steps the engine in batches and only checks for pause and cancel requests between batches,
+ * so the step loop itself runs at full speed. A paused or cancelled run always rests at a step boundary.
+ * An endurance run also saves a checkpoint of the game every few steps and when it ends, and reports its progress
+ * after every checkpoint. Checkpoints are only taken between batches, so they cost no time in the step loop.
+ * The run counts as active until its final report is delivered, so cancelling a run waits for that report.
+ *
+ * @author uiiux
+ */
+public class BackgroundRun {
+    private static final int BATCH_SIZE = 4096;
+    private static final String WORKER_NAME = "codefight-run";
+    private static final String RUN_ACTIVE_ERROR = "A run is already in progress.";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NO_CHECKPOINT = -1;
+
+    private final GameEngine engine;
+    private final List<StoppedAI> stoppedAIs = new ArrayList<>();
+    private long totalSteps;
+    private volatile long stepsDone;
+    private boolean pauseRequested;
+    private boolean cancelRequested;
+    private boolean paused;
+    private boolean active;
+    private long startNanos;
+    private long pausedNanos;
+    private long pauseStartNanos;
+    private long endNanos;
+    private Path checkpointPath;
+    private long checkpointInterval;
+    private Consumer<RunStatus> progressListener;
+    private long checkpointSteps;
+    private String checkpointError;
+
+    /**
+     * Creates a background runner for the given engine.
+     *
+     * @param engine engine the steps are executed on
+     */
+    public BackgroundRun(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Starts a run in the background.
+     *
+     * @param steps number of steps to be executed
+     * @throws IllegalStateException if a run is already in progress
+     */
+    public synchronized void start(long steps) {
+        start(steps, null, 0, null);
+    }
+
+    /**
+     * Starts an endurance run in the background.
+     * The run saves a checkpoint of the game every interval of steps and when it ends, and passes its progress to
+     * the listener after every checkpoint. A checkpoint that cannot be written is reported and the run continues.
+     *
+     * @param steps              number of steps to be executed
+     * @param checkpointPath     path of the checkpoint, replaced by every new checkpoint
+     * @param checkpointInterval number of steps between two checkpoints
+     * @param progressListener   listener of the progress, called on the thread of the run
+     * @throws IllegalStateException if a run is already in progress
+     */
+    public synchronized void startEndurance(long steps, Path checkpointPath, long checkpointInterval,
+                                            Consumer<RunStatus> progressListener) {
+        start(steps, checkpointPath, checkpointInterval, progressListener);
+    }
+
+    private void start(long steps, Path checkpointPath, long checkpointInterval,
+                       Consumer<RunStatus> progressListener) {
+        if (active) {
+            throw new IllegalStateException(RUN_ACTIVE_ERROR);
+        }
+        totalSteps = steps;
+        stepsDone = 0;
+        this.checkpointPath = checkpointPath;
+        this.checkpointInterval = checkpointInterval;
+        this.progressListener = progressListener;
+        checkpointSteps = NO_CHECKPOINT;
+        checkpointError = null;
+        stoppedAIs.clear();
+        pauseRequested = false;
+        cancelRequested = false;
+        paused = false;
+        active = true;
+        startNanos = System.nanoTime();
+        endNanos = startNanos;
+        pausedNanos = 0;
+        Thread worker = new Thread(this::work, WORKER_NAME);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Pauses the run and waits until the worker rests at a step boundary.
+     *
+     * @return true if the run is paused, false if no run is in progress
+     */
+    public synchronized boolean pause() {
+        if (!active) {
+            return false;
+        }
+        pauseRequested = true;
+        while (active && !paused) {
+            awaitChange();
+        }
+        return active;
+    }
+
+    /**
+     * Resumes a paused run.
+     *
+     * @return true if the run was resumed, false if no paused run exists
+     */
+    public synchronized boolean resume() {
+        if (!active || !pauseRequested) {
+            return false;
+        }
+        pauseRequested = false;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Cancels the run and waits until the worker has stopped at a step boundary and delivered its final report.
+     *
+     * @return true if a run was cancelled, false if no run was in progress
+     */
+    public synchronized boolean cancel() {
+        if (!active) {
+            return false;
+        }
+        cancelRequested = true;
+        notifyAll();
+        while (active) {
+            awaitChange();
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a run is in progress, paused or not.
+     *
+     * @return true if a run is in progress
+     */
+    public synchronized boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Checks if the run rests at a step boundary, so the game may be inspected.
+     *
+     * @return true if the run is paused
+     */
+    public synchronized boolean isPaused() {
+        return active && paused;
+    }
+
+    /**
+     * Returns the progress of the current or last run.
+     *
+     * @return progress of the run
+     */
+    public synchronized RunStatus status() {
+        long now;
+        if (!active) {
+            now = endNanos;
+        } else if (paused) {
+            now = pauseStartNanos;
+        } else {
+            now = System.nanoTime();
+        }
+        return status(active, now);
+    }
+
+    private RunStatus status(boolean inProgress, long now) {
+        long activeNanos = Math.max(1, now - startNanos - pausedNanos);
+        long done = stepsDone;
+        double stepsPerSecond = (double) done * NANOS_PER_SECOND / activeNanos;
+        return new RunStatus(inProgress, paused, done, totalSteps, stepsPerSecond, checkpointSteps, checkpointError);
+    }
+
+    /**
+     * Returns the AIs that stopped during the last run and forgets them.
+     *
+     * @return AIs that stopped since the last call
+     */
+    public synchronized List<StoppedAI> takeStoppedAIs() {
+        List<StoppedAI> result = List.copyOf(stoppedAIs);
+        stoppedAIs.clear();
+        return result;
+    }
+
+    private void work() {
+        long done = 0;
+        long nextCheckpoint = checkpointPath == null ? totalSteps : Math.min(checkpointInterval, totalSteps);
+        while (done < totalSteps && awaitTurn()) {
+            StepResult result = engine.step(Math.min(BATCH_SIZE, nextCheckpoint - done));
+            done += result.stepsExecuted();
+            stepsDone = done;
+            if (!result.stoppedAIs().isEmpty()) {
+                synchronized (this) {
+                    stoppedAIs.addAll(result.stoppedAIs());
+                }
+            }
+            if (result.gameOver()) {
+                break;
+            }
+            if (done == nextCheckpoint && done < totalSteps) {
+                checkpoint(done);
+                reportProgress(status());
+                nextCheckpoint = done + Math.min(checkpointInterval, totalSteps - done);
+            }
+        }
+        if (checkpointPath != null && checkpointSteps != done) {
+            checkpoint(done);
+        }
+        RunStatus finalStatus;
+        synchronized (this) {
+            paused = false;
+            endNanos = System.nanoTime();
+            finalStatus = status(false, endNanos);
+        }
+        reportProgress(finalStatus);
+        synchronized (this) {
+            active = false;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Saves a checkpoint of the game at a step boundary.
+     *
+     * @param done number of steps executed by the run
+     */
+    private void checkpoint(long done) {
+        String error = null;
+        try {
+            engine.saveCheckpoint(checkpointPath);
+        } catch (IOException e) {
+            error = String.valueOf(e.getMessage());
+        }
+        synchronized (this) {
+            checkpointError = error;
+            if (error == null) {
+                checkpointSteps = done;
+            }
+        }
+    }
+
+    private void reportProgress(RunStatus status) {
+        if (progressListener != null) {
+            progressListener.accept(status);
+        }
+    }
+
+    /**
+     * Blocks the worker while the run is paused.
+     *
+     * @return false if the run was cancelled
+     */
+    private synchronized boolean awaitTurn() {
+        while (pauseRequested && !cancelRequested) {
+            if (!paused) {
+                paused = true;
+                pauseStartNanos = System.nanoTime();
+                notifyAll();
+            }
+            awaitChange();
+        }
+        if (paused) {
+            paused = false;
+            pausedNanos += System.nanoTime() - pauseStartNanos;
+        }
+        return !cancelRequested;
+    }
+
+    private void awaitChange() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelRequested = true;
+        }
+    }
+}
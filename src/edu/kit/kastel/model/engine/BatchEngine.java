@@ -0,0 +1,353 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.Mode;
+import edu.kit.kastel.model.placement.EvenPlacement;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Simulates many small games with the same memory size in lockstep.
+ * Every game runs in a lane. The state of all lanes lives in a few primitive arrays instead of memory cell objects:
+ * the memory arrays hold one entry per position and lane, with the lanes of a position next to each other, and
+ * the AI arrays hold one entry per AI slot and lane, grouped by lane.
+ * Every round of {@link #run(int)} executes one step in each running lane and drops the lanes that have finished.
+ * The instructions follow the semantics of the AI command executor exactly, so a lane ends in the same state as
+ * a game with the same programs, mode and seed played through {@link GameEngine}. Symbols, ownership, listeners
+ * and execution metrics are not maintained.
+ *
+ * @author uiiux
+ */
+public class BatchEngine {
+    private static final String INVALID_NUMBER_OF_PROGRAMS_ERROR = "A lane needs between 1 and %d programs.";
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+    private static final int STOP = InstructionName.STOP.ordinal();
+
+    private final int memorySize;
+    private final int lanes;
+    private final int maxAIs;
+    private final int[] instructions;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+    private final int[] aiPositions;
+    private final int[] aiSteps;
+    private final boolean[] aiStopped;
+    private final int[] aiCounts;
+    private final int[] currentAIs;
+    private final int[] stoppedCounts;
+    private final int[] laneSteps;
+    private final boolean[] running;
+    private final int[] activeLanes;
+
+    /**
+     * Creates an engine with empty lanes.
+     *
+     * @param memorySize size of the memory of every game
+     * @param lanes      number of games simulated together
+     * @param maxAIs     largest number of AIs in one game
+     */
+    public BatchEngine(int memorySize, int lanes, int maxAIs) {
+        this.memorySize = memorySize;
+        this.lanes = lanes;
+        this.maxAIs = maxAIs;
+        this.instructions = new int[memorySize * lanes];
+        this.firstArguments = new int[memorySize * lanes];
+        this.secondArguments = new int[memorySize * lanes];
+        this.aiPositions = new int[maxAIs * lanes];
+        this.aiSteps = new int[maxAIs * lanes];
+        this.aiStopped = new boolean[maxAIs * lanes];
+        this.aiCounts = new int[lanes];
+        this.currentAIs = new int[lanes];
+        this.stoppedCounts = new int[lanes];
+        this.laneSteps = new int[lanes];
+        this.running = new boolean[lanes];
+        this.activeLanes = new int[lanes];
+    }
+
+    /**
+     * Returns the number of lanes.
+     *
+     * @return number of games simulated together
+     */
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Initializes the memory of a lane, loads the programs and starts the game in it.
+     * The memory is divided between the programs the same way the default placement of the game model does it, see
+     * {@link EvenPlacement#allocate(int, int)}.
+     *
+     * @param lane     lane of the game
+     * @param programs programs taking part in the game, in playing order
+     * @param initMode mode used to initialize the memory
+     * @param seed     seed used if the mode is random
+     * @return true if the game started, false if the programs do not fit into the memory
+     * @throws IllegalArgumentException if there are no programs or more than the maximum number of AIs
+     */
+    public boolean load(int lane, List<Program> programs, Mode initMode, long seed) {
+        if (programs.isEmpty() || programs.size() > maxAIs) {
+            throw new IllegalArgumentException(INVALID_NUMBER_OF_PROGRAMS_ERROR.formatted(maxAIs));
+        }
+        running[lane] = false;
+        initializeMemory(lane, initMode, seed);
+        int[] allocations = EvenPlacement.allocate(memorySize, programs.size());
+        int baseIndex = 0;
+        for (int ai = 0; ai < programs.size(); ai++) {
+            List<MemoryCell> program = programs.get(ai).instructions();
+            int memoryPerAI = allocations[ai];
+            if (program.size() > memoryPerAI) {
+                return false;
+            }
+            int leadingStops = 0;
+            for (int i = 0; i < program.size(); i++) {
+                MemoryCell cell = program.get(i);
+                int index = cellIndex(lane, baseIndex + i);
+                instructions[index] = cell.getInstruction().ordinal();
+                firstArguments[index] = cell.getFirstArgument();
+                secondArguments[index] = cell.getSecondArgument();
+                if (leadingStops == i && cell.getInstruction() == InstructionName.STOP) {
+                    leadingStops++;
+                }
+            }
+            int slot = aiSlot(lane, ai);
+            aiPositions[slot] = baseIndex + leadingStops;
+            aiSteps[slot] = 0;
+            aiStopped[slot] = false;
+            baseIndex += memoryPerAI;
+        }
+        aiCounts[lane] = programs.size();
+        currentAIs[lane] = 0;
+        stoppedCounts[lane] = 0;
+        laneSteps[lane] = 0;
+        running[lane] = true;
+        return true;
+    }
+
+    /**
+     * Executes up to the given number of steps in every running lane, round by round.
+     * A lane stops taking part as soon as all of its AIs are stopped.
+     *
+     * @param steps maximum number of steps per lane
+     * @return number of lanes still running
+     */
+    public int run(int steps) {
+        int activeCount = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            if (running[lane]) {
+                activeLanes[activeCount++] = lane;
+            }
+        }
+        for (int round = 0; round < steps && activeCount > 0; round++) {
+            int i = 0;
+            while (i < activeCount) {
+                if (step(activeLanes[i])) {
+                    i++;
+                } else {
+                    activeLanes[i] = activeLanes[--activeCount];
+                }
+            }
+        }
+        return activeCount;
+    }
+
+    /**
+     * Executes the instruction of the current AI of a lane and moves on to the next running AI.
+     *
+     * @param lane lane of the game
+     * @return false if all AIs of the lane are stopped after the step
+     */
+    private boolean step(int lane) {
+        laneSteps[lane]++;
+        int slot = aiSlot(lane, currentAIs[lane]);
+        int position = aiPositions[slot];
+        int cell = cellIndex(lane, position);
+        int first = firstArguments[cell];
+        int second = secondArguments[cell];
+        aiSteps[slot]++;
+        int next = position + 1;
+        switch (INSTRUCTIONS[instructions[cell]]) {
+            case STOP -> {
+                aiStopped[slot] = true;
+                stoppedCounts[lane]++;
+            }
+            case MOV_R -> copyCell(cellIndex(lane, position + first), cellIndex(lane, position + second));
+            case MOV_I -> {
+                int intermediate = normalize(position + second);
+                int target = intermediate + secondArguments[cellIndex(lane, intermediate)];
+                copyCell(cellIndex(lane, position + first), cellIndex(lane, target));
+            }
+            case ADD -> secondArguments[cell] = first + second;
+            case ADD_R -> {
+                int target = cellIndex(lane, position + second);
+                secondArguments[target] = first + secondArguments[target];
+            }
+            case JMP -> next = position + first;
+            case JMZ -> {
+                if (secondArguments[cellIndex(lane, position + second)] == 0) {
+                    next = position + first;
+                }
+            }
+            case CMP -> {
+                if (firstArguments[cellIndex(lane, position + first)]
+                        != secondArguments[cellIndex(lane, position + second)]) {
+                    next = position + 2;
+                }
+            }
+            case SWAP -> {
+                int firstCell = cellIndex(lane, position + first);
+                int secondCell = cellIndex(lane, position + second);
+                int temp = firstArguments[firstCell];
+                firstArguments[firstCell] = secondArguments[secondCell];
+                secondArguments[secondCell] = temp;
+            }
+        }
+        if (aiStopped[slot]) {
+            if (stoppedCounts[lane] == aiCounts[lane]) {
+                running[lane] = false;
+                return false;
+            }
+        } else {
+            aiPositions[slot] = normalize(next);
+        }
+        int ai = currentAIs[lane];
+        do {
+            ai = (ai + 1) % aiCounts[lane];
+        } while (aiStopped[aiSlot(lane, ai)]);
+        currentAIs[lane] = ai;
+        return true;
+    }
+
+    /**
+     * Checks if a lane is running, meaning its game started and not all AIs are stopped.
+     *
+     * @param lane lane of the game
+     * @return true if the lane is running
+     */
+    public boolean isRunning(int lane) {
+        return running[lane];
+    }
+
+    /**
+     * Returns the number of steps executed in a lane since its game started.
+     *
+     * @param lane lane of the game
+     * @return number of steps
+     */
+    public int getSteps(int lane) {
+        return laneSteps[lane];
+    }
+
+    /**
+     * Checks if an AI of a lane is stopped.
+     *
+     * @param lane lane of the game
+     * @param ai   index of the AI in the playing order
+     * @return true if the AI is stopped
+     */
+    public boolean isStopped(int lane, int ai) {
+        return aiStopped[aiSlot(lane, ai)];
+    }
+
+    /**
+     * Returns the number of steps executed by an AI of a lane, including the step that stopped it.
+     * This is the number the game engine reports for the AI.
+     *
+     * @param lane lane of the game
+     * @param ai   index of the AI in the playing order
+     * @return number of steps
+     */
+    public int getStepsExecuted(int lane, int ai) {
+        return aiSteps[aiSlot(lane, ai)];
+    }
+
+    /**
+     * Returns the position of the cell an AI of a lane executes next, or executed last if it is stopped.
+     *
+     * @param lane lane of the game
+     * @param ai   index of the AI in the playing order
+     * @return position in the memory
+     */
+    public int getNextCellIndex(int lane, int ai) {
+        return aiPositions[aiSlot(lane, ai)];
+    }
+
+    /**
+     * Returns the instruction of a cell of a lane.
+     *
+     * @param lane     lane of the game
+     * @param position position in the memory
+     * @return the instruction
+     */
+    public InstructionName getInstruction(int lane, int position) {
+        return INSTRUCTIONS[instructions[cellIndex(lane, position)]];
+    }
+
+    /**
+     * Returns the first argument of a cell of a lane.
+     *
+     * @param lane     lane of the game
+     * @param position position in the memory
+     * @return the first argument
+     */
+    public int getFirstArgument(int lane, int position) {
+        return firstArguments[cellIndex(lane, position)];
+    }
+
+    /**
+     * Returns the second argument of a cell of a lane.
+     *
+     * @param lane     lane of the game
+     * @param position position in the memory
+     * @return the second argument
+     */
+    public int getSecondArgument(int lane, int position) {
+        return secondArguments[cellIndex(lane, position)];
+    }
+
+    /**
+     * Fills the memory of a lane the same way the memory initializer does.
+     *
+     * @param lane     lane of the game
+     * @param initMode mode used to initialize the memory
+     * @param seed     seed used if the mode is random
+     */
+    private void initializeMemory(int lane, Mode initMode, long seed) {
+        if (initMode != Mode.RANDOM) {
+            for (int position = 0; position < memorySize; position++) {
+                int index = cellIndex(lane, position);
+                instructions[index] = STOP;
+                firstArguments[index] = 0;
+                secondArguments[index] = 0;
+            }
+            return;
+        }
+        Random random = new Random(seed);
+        for (int position = 0; position < memorySize; position++) {
+            int index = cellIndex(lane, position);
+            instructions[index] = random.nextInt(INSTRUCTIONS.length);
+            firstArguments[index] = random.nextInt();
+            secondArguments[index] = random.nextInt();
+        }
+    }
+
+    private void copyCell(int source, int target) {
+        instructions[target] = instructions[source];
+        firstArguments[target] = firstArguments[source];
+        secondArguments[target] = secondArguments[source];
+    }
+
+    private int cellIndex(int lane, int position) {
+        return normalize(position) * lanes + lane;
+    }
+
+    private int aiSlot(int lane, int ai) {
+        return lane * maxAIs + ai;
+    }
+
+    private int normalize(int position) {
+        return Math.floorMod(position, memorySize);
+    }
+}
@@ -0,0 +1,17 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.ai.InstructionName;
+
+/**
+ * State of a memory cell at the time of a snapshot.
+ *
+ * @param instruction    instruction of the cell
+ * @param firstArgument  first argument of the cell
+ * @param secondArgument second argument of the cell
+ * @param owner          name of the AI that owns the cell, or null if no AI owns it
+ * @param bomb           true if the cell was written as a bomb
+ * @author uiiux
+ */
+public record CellState(InstructionName instruction, int firstArgument, int secondArgument, String owner,
+                        boolean bomb) {
+}
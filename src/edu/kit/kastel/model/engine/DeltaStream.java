@@ -0,0 +1,349 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.GameListener;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.ai.AICommands;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.OwnershipIndex;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the changes of a game to spectators as server-sent events with a JSON payload.
+ * The engine thread only records written cells and moved AIs in primitive arrays. At the end of every batch of
+ * steps, and within long batches after at most the flush interval, the recorded changes are coalesced into one
+ * message, so a cell written many times is sent once with its latest content, and the message is encoded once and
+ * offered to all subscribers.
+ * Subscribers whose queue is full are dropped instead of slowing down the engine.
+ * A new subscriber first receives a full frame of the game when the game starts or is restored or a batch ends,
+ * followed by the deltas.
+ *
+ * @author uiiux
+ */
+public class DeltaStream implements GameListener {
+    private static final String INVALID_INTERVAL_ERROR = "Flush interval must be positive.";
+    private static final String EVENT_PREFIX = "data: ";
+    private static final String EVENT_SUFFIX = "\n\n";
+    private static final String FRAME_TYPE = "frame";
+    private static final String DELTA_TYPE = "delta";
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int BITS_PER_WORD = 64;
+
+    private final CodeFight codeFight;
+    private final int flushInterval;
+    private final Queue<Subscription> pendingSubscriptions = new ConcurrentLinkedQueue<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final int[] instructions;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+    private final int[] owners;
+    private final long[] dirtyCells;
+    private final int[] aiNextCells;
+    private final boolean[] aiStopped;
+    private final long[] dirtyAIs;
+    private boolean recording;
+    private boolean hasChanges;
+    private int stepsUntilFlush;
+    private long step;
+
+    /**
+     * A spectator receiving the messages of the stream.
+     */
+    public static final class Subscription {
+        private final BlockingQueue<byte[]> messages = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private volatile boolean closed;
+
+        private Subscription() {
+        }
+
+        /**
+         * Waits for the next message.
+         *
+         * @param timeout maximum time to wait in milliseconds
+         * @return the next message as UTF-8 bytes or null if none arrived in time
+         * @throws InterruptedException if the thread is interrupted while waiting
+         */
+        public byte[] poll(long timeout) throws InterruptedException {
+            return messages.poll(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Checks if the subscription was closed by the spectator or dropped because it fell behind.
+         *
+         * @return true if no more messages are delivered
+         */
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Ends the subscription.
+         */
+        public void close() {
+            closed = true;
+        }
+
+        private boolean offer(byte[] message) {
+            if (closed || !messages.offer(message)) {
+                closed = true;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Creates a stream and registers it as listener of the game.
+     * Must be created on the engine thread or while no steps are executed.
+     *
+     * @param codeFight     game to be streamed
+     * @param flushInterval largest number of steps between two messages within a batch
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public DeltaStream(CodeFight codeFight, int flushInterval) {
+        if (flushInterval < 1) {
+            throw new IllegalArgumentException(INVALID_INTERVAL_ERROR);
+        }
+        int memorySize = codeFight.getMemorySize();
+        int maxAIs = codeFight.getMaximumNumberOfAIs();
+        this.codeFight = codeFight;
+        this.flushInterval = flushInterval;
+        this.stepsUntilFlush = flushInterval;
+        this.instructions = new int[memorySize];
+        this.firstArguments = new int[memorySize];
+        this.secondArguments = new int[memorySize];
+        this.owners = new int[memorySize];
+        this.dirtyCells = new long[(memorySize + BITS_PER_WORD - 1) / BITS_PER_WORD];
+        this.aiNextCells = new int[maxAIs];
+        this.aiStopped = new boolean[maxAIs];
+        this.dirtyAIs = new long[(maxAIs + BITS_PER_WORD - 1) / BITS_PER_WORD];
+        codeFight.addGameListener(this);
+    }
+
+    /**
+     * Subscribes a spectator. May be called from any thread.
+     * The spectator receives a full frame when the game starts or is restored or the current batch of steps ends.
+     *
+     * @return the subscription
+     */
+    public Subscription subscribe() {
+        Subscription subscription = new Subscription();
+        pendingSubscriptions.add(subscription);
+        return subscription;
+    }
+
+    @Override
+    public void onGameStarted() {
+        clearChanges();
+        step = 0;
+        stepsUntilFlush = flushInterval;
+        broadcastFrame();
+    }
+
+    @Override
+    public void onGameRestored() {
+        clearChanges();
+        broadcastFrame();
+    }
+
+    @Override
+    public void onCellWritten(int position, MemoryCell cell, AI ai) {
+        if (!recording) {
+            return;
+        }
+        instructions[position] = cell.getInstruction().ordinal();
+        firstArguments[position] = cell.getFirstArgument();
+        secondArguments[position] = cell.getSecondArgument();
+        owners[position] = ai.getOwnerId();
+        dirtyCells[position / BITS_PER_WORD] |= 1L << position;
+        hasChanges = true;
+    }
+
+    @Override
+    public void onAIMoved(AI ai, int previousIndex, int nextIndex) {
+        if (recording) {
+            recordAI(ai);
+        }
+        countStep();
+    }
+
+    @Override
+    public void onAIStopped(AI ai) {
+        if (recording) {
+            recordAI(ai);
+        }
+        countStep();
+    }
+
+    @Override
+    public void onGameOver() {
+        flush();
+    }
+
+    @Override
+    public void onBatchFinished() {
+        stepsUntilFlush = flushInterval;
+        flush();
+    }
+
+    private void recordAI(AI ai) {
+        int id = ai.getOwnerId();
+        aiNextCells[id] = ai.getNextCellIndex();
+        aiStopped[id] = ai.isStopped();
+        dirtyAIs[id / BITS_PER_WORD] |= 1L << id;
+        hasChanges = true;
+    }
+
+    private void countStep() {
+        step++;
+        if (--stepsUntilFlush == 0) {
+            stepsUntilFlush = flushInterval;
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (hasChanges && recording) {
+            broadcast(encodeDelta(), subscriptions);
+        }
+        clearChanges();
+        List<Subscription> newSubscriptions = takePendingSubscriptions();
+        if (!newSubscriptions.isEmpty()) {
+            broadcast(encodeFrame(), newSubscriptions);
+            subscriptions.addAll(newSubscriptions);
+        }
+        subscriptions.removeIf(Subscription::isClosed);
+        recording = !subscriptions.isEmpty();
+    }
+
+    /**
+     * Sends a full frame to all subscribers, including the pending ones.
+     */
+    private void broadcastFrame() {
+        subscriptions.addAll(takePendingSubscriptions());
+        subscriptions.removeIf(Subscription::isClosed);
+        if (!subscriptions.isEmpty()) {
+            broadcast(encodeFrame(), subscriptions);
+        }
+        recording = !subscriptions.isEmpty();
+    }
+
+    private List<Subscription> takePendingSubscriptions() {
+        List<Subscription> newSubscriptions = new ArrayList<>();
+        Subscription subscription;
+        while ((subscription = pendingSubscriptions.poll()) != null) {
+            newSubscriptions.add(subscription);
+        }
+        return newSubscriptions;
+    }
+
+    private static void broadcast(byte[] message, List<Subscription> receivers) {
+        for (Subscription subscription : receivers) {
+            subscription.offer(message);
+        }
+    }
+
+    private void clearChanges() {
+        if (hasChanges) {
+            Arrays.fill(dirtyCells, 0);
+            Arrays.fill(dirtyAIs, 0);
+            hasChanges = false;
+        }
+    }
+
+    private byte[] encodeFrame() {
+        OwnershipIndex ownershipIndex = codeFight.getOwnershipIndex();
+        StringBuilder sb = new StringBuilder(EVENT_PREFIX);
+        sb.append("{\"type\":\"").append(FRAME_TYPE).append("\",\"step\":").append(step).append(",\"ais\":[");
+        List<AI> playingList = codeFight.getPlayingList();
+        for (int i = 0; i < playingList.size(); i++) {
+            AI ai = playingList.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("[\"");
+            appendEscaped(sb, ai.getName());
+            sb.append("\",").append(ai.getNextCellIndex()).append(',').append(ai.isStopped() ? 1 : 0).append(']');
+        }
+        sb.append("],\"cells\":[");
+        int position = 0;
+        for (MemoryCell cell : codeFight.getMemory()) {
+            if (position > 0) {
+                sb.append(',');
+            }
+            sb.append('[');
+            appendCell(sb, cell.getInstruction(), cell.getFirstArgument(), cell.getSecondArgument(),
+                    ownershipIndex.getOwner(position));
+            position++;
+        }
+        sb.append("]}").append(EVENT_SUFFIX);
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] encodeDelta() {
+        InstructionName[] names = InstructionName.values();
+        StringBuilder sb = new StringBuilder(EVENT_PREFIX);
+        sb.append("{\"type\":\"").append(DELTA_TYPE).append("\",\"step\":").append(step).append(",\"ais\":[");
+        boolean first = true;
+        for (int word = 0; word < dirtyAIs.length; word++) {
+            for (long bits = dirtyAIs[word]; bits != 0; bits &= bits - 1) {
+                int id = word * BITS_PER_WORD + Long.numberOfTrailingZeros(bits);
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                sb.append('[').append(id).append(',').append(aiNextCells[id]).append(',')
+                        .append(aiStopped[id] ? 1 : 0).append(']');
+            }
+        }
+        sb.append("],\"cells\":[");
+        first = true;
+        for (int word = 0; word < dirtyCells.length; word++) {
+            for (long bits = dirtyCells[word]; bits != 0; bits &= bits - 1) {
+                int position = word * BITS_PER_WORD + Long.numberOfTrailingZeros(bits);
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                sb.append('[').append(position).append(',');
+                appendCell(sb, names[instructions[position]], firstArguments[position], secondArguments[position],
+                        owners[position]);
+            }
+        }
+        sb.append("]}").append(EVENT_SUFFIX);
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends the content of a cell and closes the array it was opened in.
+     */
+    private static void appendCell(StringBuilder sb, InstructionName instruction, int firstArgument,
+                                   int secondArgument, int owner) {
+        boolean bomb = AICommands.isBomb(instruction, firstArgument, secondArgument);
+        sb.append('"').append(instruction.name()).append("\",").append(firstArgument).append(',')
+                .append(secondArgument).append(',').append(owner).append(',').append(bomb ? 1 : 0).append(']');
+    }
+
+    private static void appendEscaped(StringBuilder sb, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < ' ') {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.GameListener;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.ai.ExecutionMetrics;
+import edu.kit.kastel.model.ai.InstructionName;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the execution counters of a game through JMX.
+ * The counters are read without synchronization, so the values may lag slightly behind the engine thread.
+ * The names of the AIs are copied when a game starts, so reading them never touches the playing list.
+ *
+ * @author uiiux
+ */
+public class EngineMetrics implements EngineMetricsMXBean, GameListener {
+    private final CodeFight codeFight;
+    private final ExecutionMetrics metrics;
+    private volatile List<String> aiNames = List.of();
+
+    /**
+     * Creates the management view of a game and registers it as listener of the game.
+     *
+     * @param codeFight game whose counters are exposed
+     */
+    public EngineMetrics(CodeFight codeFight) {
+        this.codeFight = codeFight;
+        this.metrics = codeFight.getExecutionMetrics();
+        codeFight.addGameListener(this);
+    }
+
+    @Override
+    public void onGameStarted() {
+        aiNames = codeFight.getPlayingList().stream().map(AI::getName).toList();
+    }
+
+    @Override
+    public long getTotalSteps() {
+        return metrics.getTotalSteps();
+    }
+
+    @Override
+    public double getStepsPerSecond() {
+        return metrics.getStepRate();
+    }
+
+    @Override
+    public long getCellsWritten() {
+        return metrics.getCellsWritten();
+    }
+
+    @Override
+    public long getCmpSkips() {
+        return metrics.getCmpSkips();
+    }
+
+    @Override
+    public long getJmzTaken() {
+        return metrics.getJmzTaken();
+    }
+
+    @Override
+    public long getJmzNotTaken() {
+        return metrics.getJmzNotTaken();
+    }
+
+    @Override
+    public Map<String, Long> getInstructionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (InstructionName instruction : InstructionName.values()) {
+            counts.put(instruction.name(), metrics.getInstructionCount(instruction));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getAISteps() {
+        List<String> names = aiNames;
+        Map<String, Long> steps = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            steps.put(names.get(i), metrics.getAISteps(i));
+        }
+        return steps;
+    }
+
+    @Override
+    public Map<String, Double> getAIStepRates() {
+        List<String> names = aiNames;
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            rates.put(names.get(i), metrics.getAIStepRate(i));
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,74 @@
+package edu.kit.kastel.model.engine;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing the execution counters of a game through JMX.
+ *
+ * @author uiiux
+ */
+public interface EngineMetricsMXBean {
+
+    /**
+     * Returns the number of steps executed in the current game.
+     *
+     * @return number of steps
+     */
+    long getTotalSteps();
+
+    /**
+     * Returns the number of steps per second while steps were executed.
+     *
+     * @return steps per second
+     */
+    double getStepsPerSecond();
+
+    /**
+     * Returns the number of cells written.
+     *
+     * @return number of written cells
+     */
+    long getCellsWritten();
+
+    /**
+     * Returns how often CMP skipped the next cell.
+     *
+     * @return number of skips
+     */
+    long getCmpSkips();
+
+    /**
+     * Returns how often JMZ jumped.
+     *
+     * @return number of taken branches
+     */
+    long getJmzTaken();
+
+    /**
+     * Returns how often JMZ continued with the next cell.
+     *
+     * @return number of branches not taken
+     */
+    long getJmzNotTaken();
+
+    /**
+     * Returns how often each instruction was executed.
+     *
+     * @return number of executions by instruction name
+     */
+    Map<String, Long> getInstructionCounts();
+
+    /**
+     * Returns the number of steps each AI executed.
+     *
+     * @return number of steps by AI name
+     */
+    Map<String, Long> getAISteps();
+
+    /**
+     * Returns the number of steps per second each AI executed.
+     *
+     * @return steps per second by AI name
+     */
+    Map<String, Double> getAIStepRates();
+}
@@ -0,0 +1,21 @@
+package edu.kit.kastel.model.engine;
+
+/**
+ * Engines a headless game can be played on, see {@link Simulation}.
+ *
+ * @author uiiux
+ */
+public enum EngineMode {
+    /**
+     * The game engine, executing one step after another on the game model.
+     */
+    STANDARD,
+    /**
+     * The {@link SpeculativeEngine}, executing the steps of a rotation in parallel.
+     */
+    SPECULATIVE,
+    /**
+     * The {@link IslandEngine}, executing regions of the memory in parallel for a number of rounds at a time.
+     */
+    ISLAND
+}
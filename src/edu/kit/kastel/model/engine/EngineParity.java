@@ -0,0 +1,194 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.Mode;
+import edu.kit.kastel.model.placement.EvenPlacement;
+import edu.kit.kastel.model.placement.Placement;
+import edu.kit.kastel.model.placement.PlacementStrategy;
+import edu.kit.kastel.model.placement.RandomPlacement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Checks the experimental engines against {@link GameEngine} on random games.
+ * A random game has a random memory size, init mode, placement and number of AIs. Its programs consist of random
+ * instructions, mostly with small arguments so the AIs interact, and some AIs play copies of the same program.
+ * The same seed always produces the same games, so a mismatch can be reproduced.
+ *
+ * @author uiiux
+ */
+final class EngineParity {
+    private static final String UTILITY_CLASS_CONSTRUCTOR_MESSAGE = "Utility classes cannot be instantiated";
+    private static final String NAME_PREFIX = "p";
+    private static final List<String> MEMORY_SYMBOLS = List.of(".", "|", ">", "*");
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+    private static final int MIN_MEMORY_SIZE = 7;
+    private static final int MEMORY_SIZE_RANGE = 600;
+    private static final int MAX_AIS = 64;
+    private static final int MAX_PROGRAM_SIZE = 6;
+    private static final int SMALL_ARGUMENT_RANGE = 7;
+    private static final int LARGE_ARGUMENT_CHANCE = 4;
+    private static final int CALLS_PER_GAME = 6;
+    private static final int SINGLE_STEP_CHANCE = 5;
+    private static final int MAX_STEPS_PER_CALL = 3000;
+    private static final int ISLAND_CALLS_PER_GAME = 5;
+    private static final int MAX_EPOCH_LENGTH = 50;
+    private static final int MAX_EPOCHS_PER_CALL = 20;
+    private static final int DETERMINISM_EPOCHS = 40;
+    private static final int MAX_THREADS = 4;
+
+    private EngineParity() {
+        throw new UnsupportedOperationException(UTILITY_CLASS_CONSTRUCTOR_MESSAGE);
+    }
+
+    /**
+     * Plays random games on the speculative engine and on the game engine, stepping both by the same random numbers
+     * of steps, and counts the games in which a step result or a snapshot differs.
+     *
+     * @param games   number of random games
+     * @param seed    seed of the random games
+     * @param threads number of threads of the speculative engine
+     * @return number of games that differ
+     */
+    static int countSpeculativeMismatches(int games, long seed, int threads) {
+        Random random = new Random(seed);
+        int mismatches = 0;
+        for (int game = 0; game < games; game++) {
+            RandomGame randomGame = RandomGame.create(random);
+            GameEngine reference = GameEngine.newGame(randomGame.programs(), randomGame.config());
+            try (SpeculativeEngine engine = SpeculativeEngine.newGame(randomGame.programs(), randomGame.config(),
+                    threads)) {
+                boolean same = reference.snapshot().equals(engine.snapshot());
+                for (int call = 0; call < CALLS_PER_GAME && same; call++) {
+                    int steps = random.nextInt(SINGLE_STEP_CHANCE) == 0 ? 1 : 1 + random.nextInt(MAX_STEPS_PER_CALL);
+                    same = reference.step(steps).equals(engine.step(steps))
+                            && reference.snapshot().equals(engine.snapshot());
+                }
+                if (!same) {
+                    mismatches++;
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * Plays random games on the island engine and counts the games in which it misbehaves.
+     * With one region the island engine must play exactly like the game engine, so both are compared after random
+     * numbers of epochs, stepping the game engine by the steps the island engine executed. With several regions the
+     * outcome depends on the regions and the epoch length but must not depend on the number of threads, so the game is
+     * played on one thread and on more threads and the snapshots are compared.
+     *
+     * @param games number of random games
+     * @param seed  seed of the random games
+     * @return number of games that differ
+     * @throws InterruptedException if the thread is interrupted while waiting for the regions
+     */
+    static int countIslandMismatches(int games, long seed) throws InterruptedException {
+        Random random = new Random(seed);
+        int mismatches = 0;
+        for (int game = 0; game < games; game++) {
+            RandomGame randomGame = RandomGame.create(random);
+            int epochLength = 1 + random.nextInt(MAX_EPOCH_LENGTH);
+            if (!playsLikeGameEngine(randomGame, epochLength, random)
+                    || !isDeterministic(randomGame, 1 + random.nextInt(randomGame.programs().size()), epochLength,
+                    2 + random.nextInt(MAX_THREADS - 1))) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    private static boolean playsLikeGameEngine(RandomGame randomGame, int epochLength, Random random)
+            throws InterruptedException {
+        GameEngine reference = GameEngine.newGame(randomGame.programs(), randomGame.config());
+        try (IslandEngine engine = IslandEngine.newGame(randomGame.programs(), randomGame.config(), 1, epochLength,
+                1)) {
+            boolean same = reference.snapshot().equals(engine.snapshot());
+            for (int call = 0; call < ISLAND_CALLS_PER_GAME && same; call++) {
+                long totalSteps = engine.getTotalSteps();
+                engine.run(1 + random.nextInt(MAX_EPOCHS_PER_CALL));
+                reference.step(engine.getTotalSteps() - totalSteps);
+                same = reference.snapshot().equals(engine.snapshot());
+            }
+            return same;
+        }
+    }
+
+    private static boolean isDeterministic(RandomGame randomGame, int regions, int epochLength, int threads)
+            throws InterruptedException {
+        try (IslandEngine single = IslandEngine.newGame(randomGame.programs(), randomGame.config(), regions,
+                epochLength, 1);
+             IslandEngine parallel = IslandEngine.newGame(randomGame.programs(), randomGame.config(), regions,
+                     epochLength, threads)) {
+            single.run(DETERMINISM_EPOCHS);
+            parallel.run(DETERMINISM_EPOCHS);
+            return single.getTotalSteps() == parallel.getTotalSteps()
+                    && single.snapshot().equals(parallel.snapshot());
+        }
+    }
+
+    /**
+     * Programs and configuration of a random game.
+     *
+     * @param programs programs taking part in the game, in playing order
+     * @param config   configuration of the game
+     */
+    private record RandomGame(List<Program> programs, GameConfig config) {
+
+        /**
+         * Creates a random game in which every program fits into the memory allocated to it by an even placement.
+         * Half of the games place the programs randomly instead if a random placement finds room for them.
+         *
+         * @param random source of randomness
+         * @return the game
+         */
+        private static RandomGame create(Random random) {
+            int memorySize = MIN_MEMORY_SIZE + random.nextInt(MEMORY_SIZE_RANGE);
+            int numberOfAIs = 1 + random.nextInt(Math.min(MAX_AIS, memorySize));
+            int maximumProgramSize = Math.min(MAX_PROGRAM_SIZE, Math.min(memorySize / 2, memorySize / numberOfAIs));
+            Map<String, Program> programsByName = new HashMap<>();
+            List<Program> programs = new ArrayList<>();
+            for (int ai = 0; ai < numberOfAIs; ai++) {
+                String name = NAME_PREFIX + random.nextInt(numberOfAIs);
+                List<MemoryCell> instructions = randomInstructions(random, 1 + random.nextInt(maximumProgramSize));
+                programs.add(programsByName.computeIfAbsent(name, key -> new Program(key, instructions)));
+            }
+            Mode initMode = random.nextBoolean() ? Mode.RANDOM : Mode.STOP;
+            GameConfig config = new GameConfig(memorySize, MEMORY_SYMBOLS, List.of(), initMode, random.nextLong(),
+                    numberOfAIs, randomPlacement(random, memorySize, programs));
+            return new RandomGame(programs, config);
+        }
+
+        private static PlacementStrategy randomPlacement(Random random, int memorySize, List<Program> programs) {
+            PlacementStrategy placement = new RandomPlacement(random.nextLong(), 0);
+            if (random.nextBoolean()) {
+                return new EvenPlacement();
+            }
+            int[] programSizes = new int[programs.size()];
+            for (int ai = 0; ai < programs.size(); ai++) {
+                programSizes[ai] = programs.get(ai).instructions().size();
+            }
+            int[] addresses = placement.place(memorySize, programSizes);
+            if (addresses == null || Placement.of(memorySize, addresses, programSizes) == null) {
+                return new EvenPlacement();
+            }
+            return placement;
+        }
+
+        private static List<MemoryCell> randomInstructions(Random random, int size) {
+            List<MemoryCell> instructions = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int range = random.nextInt(LARGE_ARGUMENT_CHANCE) == 0 ? Integer.MAX_VALUE : SMALL_ARGUMENT_RANGE;
+                instructions.add(new MemoryCell(INSTRUCTIONS[random.nextInt(INSTRUCTIONS.length)],
+                        random.nextInt(range) - range / 2, random.nextInt(range) - range / 2));
+            }
+            return instructions;
+        }
+    }
+}
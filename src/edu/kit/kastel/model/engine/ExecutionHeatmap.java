@@ -0,0 +1,152 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.GameListener;
+import edu.kit.kastel.model.ai.AI;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Counts how often each AI executes each address of the memory and which addresses it has covered.
+ * The heatmap is a game listener, so it only costs time while it is registered, and it is cleared whenever
+ * a game starts.
+ * The binary export starts with the magic number {@code CFHM}, the format version, the memory size and the number
+ * of AIs, followed by the name and the execution count of every address for each AI.
+ *
+ * @author uiiux
+ */
+public class ExecutionHeatmap implements GameListener {
+    private static final int MAGIC = 0x4346484D;
+    private static final int FORMAT_VERSION = 1;
+    private static final int BITS_PER_WORD = 64;
+
+    private final CodeFight codeFight;
+    private final int memorySize;
+    private List<String> aiNames = List.of();
+    private long[][] counts = new long[0][];
+    private long[][] coverage = new long[0][];
+
+    /**
+     * Creates an empty heatmap for the AIs currently playing the game.
+     *
+     * @param codeFight game to be recorded
+     */
+    public ExecutionHeatmap(CodeFight codeFight) {
+        this.codeFight = codeFight;
+        this.memorySize = codeFight.getMemorySize();
+        onGameStarted();
+    }
+
+    @Override
+    public void onGameStarted() {
+        aiNames = codeFight.getPlayingList().stream().map(AI::getName).toList();
+        counts = new long[aiNames.size()][memorySize];
+        coverage = new long[aiNames.size()][(memorySize + BITS_PER_WORD - 1) / BITS_PER_WORD];
+    }
+
+    @Override
+    public void onAIMoved(AI ai, int previousIndex, int nextIndex) {
+        record(ai.getOwnerId(), previousIndex);
+    }
+
+    @Override
+    public void onAIStopped(AI ai) {
+        record(ai.getOwnerId(), ai.getNextCellIndex());
+    }
+
+    private void record(int ownerId, int index) {
+        int position = Math.floorMod(index, memorySize);
+        counts[ownerId][position]++;
+        coverage[ownerId][position / BITS_PER_WORD] |= 1L << position;
+    }
+
+    /**
+     * Returns the size of the memory.
+     *
+     * @return number of addresses
+     */
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Returns how often an AI executed an address.
+     *
+     * @param ownerId  id of the AI
+     * @param position address in the memory
+     * @return number of executions
+     */
+    public long getCount(int ownerId, int position) {
+        return counts[ownerId][position];
+    }
+
+    /**
+     * Returns the number of steps an AI executed while the heatmap was recording.
+     *
+     * @param ownerId id of the AI
+     * @return number of recorded steps
+     */
+    public long getTotalCount(int ownerId) {
+        long total = 0;
+        for (long count : counts[ownerId]) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of addresses an AI executed at least once.
+     *
+     * @param ownerId id of the AI
+     * @return number of covered addresses
+     */
+    public int getCoveredCells(int ownerId) {
+        int covered = 0;
+        for (long word : coverage[ownerId]) {
+            covered += Long.bitCount(word);
+        }
+        return covered;
+    }
+
+    /**
+     * Sums the execution counts of an AI over consecutive ranges of addresses.
+     *
+     * @param ownerId    id of the AI
+     * @param bucketSize number of addresses per bucket
+     * @return execution count of every bucket
+     */
+    public long[] getBuckets(int ownerId, int bucketSize) {
+        long[] buckets = new long[(memorySize + bucketSize - 1) / bucketSize];
+        long[] aiCounts = counts[ownerId];
+        for (int position = 0; position < memorySize; position++) {
+            buckets[position / bucketSize] += aiCounts[position];
+        }
+        return buckets;
+    }
+
+    /**
+     * Writes the heatmap of all AIs to a binary file.
+     *
+     * @param path file to be written
+     * @throws IOException if the file cannot be written
+     */
+    public void export(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(memorySize);
+            out.writeInt(aiNames.size());
+            for (int i = 0; i < aiNames.size(); i++) {
+                out.writeUTF(aiNames.get(i));
+                for (long count : counts[i]) {
+                    out.writeLong(count);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.OwnershipIndex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * State of a running game saved to a file, so a long game can be continued after the program ended.
+ * The file starts with a header, followed by the AIs in playing order and the cells of the memory:
+ * <ul>
+ *     <li>header: magic number, version, memory size and number of AIs</li>
+ *     <li>AI: name, next cell, stopped flag, executed steps and planted bombs as 64-bit numbers</li>
+ *     <li>game: index of the current AI, indices of the stopped AIs in the order they stopped, game over flag</li>
+ *     <li>cell: instruction, first and second argument, owner and bomb flag</li>
+ * </ul>
+ * A checkpoint is written to a temporary file that replaces the previous checkpoint at once, so a crash while
+ * writing never leaves a broken checkpoint behind. A checkpoint is read completely before the game is changed.
+ *
+ * @author uiiux
+ */
+final class GameCheckpoint {
+    private static final int MAGIC = 0x43464350;
+    private static final int VERSION = 2;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String CORRUPT_ERROR = "Checkpoint %s is corrupt.";
+    private static final String MISMATCH_ERROR = "Checkpoint %s belongs to another game.";
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+
+    private final int[] nextCells;
+    private final boolean[] stopped;
+    private final long[] steps;
+    private final long[] bombsPlanted;
+    private final int currentAI;
+    private final int[] stoppedOrder;
+    private final boolean allAIsStopped;
+    private final int[] instructions;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+    private final int[] owners;
+    private final boolean[] bombs;
+
+    private GameCheckpoint(int[] nextCells, boolean[] stopped, long[] steps, long[] bombsPlanted, int currentAI,
+                           int[] stoppedOrder, boolean allAIsStopped, int memorySize) {
+        this.nextCells = nextCells;
+        this.stopped = stopped;
+        this.steps = steps;
+        this.bombsPlanted = bombsPlanted;
+        this.currentAI = currentAI;
+        this.stoppedOrder = stoppedOrder;
+        this.allAIsStopped = allAIsStopped;
+        this.instructions = new int[memorySize];
+        this.firstArguments = new int[memorySize];
+        this.secondArguments = new int[memorySize];
+        this.owners = new int[memorySize];
+        this.bombs = new boolean[memorySize];
+    }
+
+    /**
+     * Writes the state of the running game to a file, replacing an existing checkpoint.
+     * Must be called at a step boundary.
+     *
+     * @param codeFight the running game
+     * @param path      path of the checkpoint
+     * @throws IOException if the checkpoint cannot be written
+     */
+    static void write(CodeFight codeFight, Path path) throws IOException {
+        List<AI> playingList = codeFight.getPlayingList();
+        OwnershipIndex ownershipIndex = codeFight.getOwnershipIndex();
+        Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(codeFight.getMemorySize());
+            out.writeInt(playingList.size());
+            int currentAI = 0;
+            for (int i = 0; i < playingList.size(); i++) {
+                AI ai = playingList.get(i);
+                out.writeUTF(ai.getName());
+                out.writeInt(ai.getNextCellIndex());
+                out.writeBoolean(ai.isStopped());
+                out.writeLong(ai.getStepsExecuted());
+                out.writeLong(ownershipIndex.getBombsPlanted(ai.getOwnerId()));
+                if (ai == codeFight.getCurrentAI()) {
+                    currentAI = i;
+                }
+            }
+            out.writeInt(currentAI);
+            List<AI> stoppedAIList = codeFight.getStoppedAIList();
+            out.writeInt(stoppedAIList.size());
+            for (AI ai : stoppedAIList) {
+                out.writeInt(ai.getOwnerId());
+            }
+            out.writeBoolean(codeFight.isAllAIsStopped());
+            int position = 0;
+            for (MemoryCell cell : codeFight.getMemory()) {
+                out.writeByte(cell.getInstruction().ordinal());
+                out.writeInt(cell.getFirstArgument());
+                out.writeInt(cell.getSecondArgument());
+                out.writeInt(ownershipIndex.getOwner(position));
+                out.writeBoolean(ownershipIndex.isBomb(position));
+                position++;
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a checkpoint of a game with the same memory size and the same AIs as the running game.
+     *
+     * @param codeFight the running game
+     * @param path      path of the checkpoint
+     * @return the checkpoint
+     * @throws IOException              if the checkpoint cannot be read
+     * @throws IllegalArgumentException if the checkpoint is corrupt or belongs to another game
+     */
+    static GameCheckpoint read(CodeFight codeFight, Path path) throws IOException {
+        List<AI> playingList = codeFight.getPlayingList();
+        int memorySize = codeFight.getMemorySize();
+        int numberOfAIs = playingList.size();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalArgumentException(CORRUPT_ERROR.formatted(path));
+            }
+            if (in.readInt() != memorySize || in.readInt() != numberOfAIs) {
+                throw new IllegalArgumentException(MISMATCH_ERROR.formatted(path));
+            }
+            int[] nextCells = new int[numberOfAIs];
+            boolean[] stopped = new boolean[numberOfAIs];
+            long[] steps = new long[numberOfAIs];
+            long[] bombsPlanted = new long[numberOfAIs];
+            for (int i = 0; i < numberOfAIs; i++) {
+                if (!in.readUTF().equals(playingList.get(i).getName())) {
+                    throw new IllegalArgumentException(MISMATCH_ERROR.formatted(path));
+                }
+                nextCells[i] = Math.floorMod(in.readInt(), memorySize);
+                stopped[i] = in.readBoolean();
+                steps[i] = in.readLong();
+                bombsPlanted[i] = in.readLong();
+            }
+            int currentAI = readIndex(in, numberOfAIs, path);
+            int[] stoppedOrder = new int[readIndex(in, numberOfAIs + 1, path)];
+            for (int i = 0; i < stoppedOrder.length; i++) {
+                stoppedOrder[i] = readIndex(in, numberOfAIs, path);
+            }
+            GameCheckpoint checkpoint = new GameCheckpoint(nextCells, stopped, steps, bombsPlanted, currentAI,
+                    stoppedOrder, in.readBoolean(), memorySize);
+            for (int position = 0; position < memorySize; position++) {
+                checkpoint.instructions[position] = in.readUnsignedByte();
+                if (checkpoint.instructions[position] >= INSTRUCTIONS.length) {
+                    throw new IllegalArgumentException(CORRUPT_ERROR.formatted(path));
+                }
+                checkpoint.firstArguments[position] = in.readInt();
+                checkpoint.secondArguments[position] = in.readInt();
+                int owner = in.readInt();
+                if (owner != OwnershipIndex.NO_OWNER && (owner < 0 || owner >= numberOfAIs)) {
+                    throw new IllegalArgumentException(CORRUPT_ERROR.formatted(path));
+                }
+                checkpoint.owners[position] = owner;
+                checkpoint.bombs[position] = in.readBoolean();
+            }
+            if (in.read() != -1) {
+                throw new IllegalArgumentException(CORRUPT_ERROR.formatted(path));
+            }
+            return checkpoint;
+        } catch (EOFException e) {
+            throw new IllegalArgumentException(CORRUPT_ERROR.formatted(path), e);
+        }
+    }
+
+    /**
+     * Replaces the state of the running game with the state of the checkpoint and clears the markers of all cells.
+     *
+     * @param codeFight the running game
+     */
+    void restore(CodeFight codeFight) {
+        List<AI> playingList = codeFight.getPlayingList();
+        OwnershipIndex ownershipIndex = codeFight.getOwnershipIndex();
+        int position = 0;
+        for (MemoryCell cell : codeFight.getMemory()) {
+            cell.setInstruction(INSTRUCTIONS[instructions[position]]);
+            cell.setFirstArgument(firstArguments[position]);
+            cell.setSecondArgument(secondArguments[position]);
+            int owner = owners[position];
+            String symbol;
+            if (owner == OwnershipIndex.NO_OWNER) {
+                symbol = codeFight.getMemoryDefaultSymbol();
+            } else {
+                AI ai = playingList.get(owner);
+                symbol = bombs[position] ? ai.getBombSymbol() : ai.getDefaultSymbol();
+            }
+            cell.setDefaultSymbol(symbol);
+            cell.setCurrentSymbol(symbol);
+            ownershipIndex.place(position, owner, bombs[position]);
+            codeFight.getInstructionIndex().update(position, cell);
+            position++;
+        }
+        for (int i = 0; i < playingList.size(); i++) {
+            AI ai = playingList.get(i);
+            ai.restore(nextCells[i], stopped[i], steps[i]);
+            ownershipIndex.setBombsPlanted(ai.getOwnerId(), bombsPlanted[i]);
+        }
+        List<AI> stoppedAIList = codeFight.getStoppedAIList();
+        stoppedAIList.clear();
+        for (int index : stoppedOrder) {
+            stoppedAIList.add(playingList.get(index));
+        }
+        codeFight.setCurrentAI(playingList.get(currentAI));
+        codeFight.setAllAIsStopped(allAIsStopped);
+    }
+
+    private static int readIndex(DataInputStream in, int bound, Path path) throws IOException {
+        int index = in.readInt();
+        if (index < 0 || index >= bound) {
+            throw new IllegalArgumentException(CORRUPT_ERROR.formatted(path));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,64 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.memory.Mode;
+import edu.kit.kastel.model.placement.EvenPlacement;
+import edu.kit.kastel.model.placement.PlacementStrategy;
+
+import java.util.List;
+
+/**
+ * Configuration of a game created through the game engine.
+ *
+ * @param memorySize         size of the memory
+ * @param memorySymbols      symbols used to display the memory
+ * @param aiSymbols          pairs of default and bomb symbols assigned to the first AIs
+ * @param initMode           mode used to initialize the memory
+ * @param seed               seed used if the memory is initialized randomly
+ * @param maximumNumberOfAIs largest number of AIs that can play in one game
+ * @param placement          strategy used to place the programs into the memory
+ * @author uiiux
+ */
+public record GameConfig(int memorySize, List<String> memorySymbols, List<String> aiSymbols, Mode initMode, long seed,
+                         int maximumNumberOfAIs, PlacementStrategy placement) {
+    private static final int NUMBER_OF_SYMBOLS_PER_AI = 2;
+
+    /**
+     * Creates a configuration, copying the lists of symbols.
+     *
+     * @param memorySize         size of the memory
+     * @param memorySymbols      symbols used to display the memory
+     * @param aiSymbols          pairs of default and bomb symbols assigned to the first AIs
+     * @param initMode           mode used to initialize the memory
+     * @param seed               seed used if the memory is initialized randomly
+     * @param maximumNumberOfAIs largest number of AIs that can play in one game
+     * @param placement          strategy used to place the programs into the memory
+     */
+    public GameConfig {
+        memorySymbols = List.copyOf(memorySymbols);
+        aiSymbols = List.copyOf(aiSymbols);
+    }
+
+    /**
+     * Creates a configuration for at most one AI per pair of given AI symbols, placing the programs evenly.
+     *
+     * @param memorySize    size of the memory
+     * @param memorySymbols symbols used to display the memory
+     * @param aiSymbols     pairs of default and bomb symbols assigned to the AIs
+     * @param initMode      mode used to initialize the memory
+     * @param seed          seed used if the memory is initialized randomly
+     */
+    public GameConfig(int memorySize, List<String> memorySymbols, List<String> aiSymbols, Mode initMode, long seed) {
+        this(memorySize, memorySymbols, aiSymbols, initMode, seed, aiSymbols.size() / NUMBER_OF_SYMBOLS_PER_AI,
+                new EvenPlacement());
+    }
+
+    /**
+     * Returns a copy of this configuration with another memory size.
+     *
+     * @param newMemorySize size of the memory of the copy
+     * @return the copy
+     */
+    public GameConfig withMemorySize(int newMemorySize) {
+        return new GameConfig(newMemorySize, memorySymbols, aiSymbols, initMode, seed, maximumNumberOfAIs, placement);
+    }
+}
@@ -0,0 +1,27 @@
+package edu.kit.kastel.model.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when a game is ended.
+ *
+ * @author uiiux
+ */
+@Name("edu.kit.kastel.GameEnded")
+@Label("Game Ended")
+@Category("CodeFight")
+@Description("A game was ended and the memory reset")
+public class GameEndedEvent extends Event {
+    @Label("Running AIs")
+    int runningAIs;
+
+    @Label("Stopped AIs")
+    int stoppedAIs;
+
+    @Label("Steps")
+    long totalSteps;
+}
@@ -0,0 +1,628 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.GameListener;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.Mode;
+import edu.kit.kastel.model.memory.OwnershipIndex;
+import edu.kit.kastel.model.placement.EvenPlacement;
+import edu.kit.kastel.model.placement.PlacementStrategy;
+import edu.kit.kastel.model.search.SearchAI;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typed facade over the game model, used to run games without going through text commands.
+ * The commands of the user interface are a thin layer on top of this class.
+ *
+ * @author uiiux
+ */
+public class GameEngine {
+    private static final String DUPLICATE_PROGRAM_ERROR = "Program %s already exists.";
+    private static final String INVALID_PROGRAM_SIZE_ERROR = "Program %s must have between 1 and %d instructions.";
+    private static final String UNKNOWN_PROGRAM_ERROR = "Program %s does not exist.";
+    private static final String TOO_MANY_PROGRAMS_ERROR = "At most %d programs can play in a game.";
+    private static final String PROGRAMS_DO_NOT_FIT_ERROR = "Programs do not fit into the memory.";
+    private static final String GAME_RUNNING_ERROR = "Game is already running.";
+    private static final String GAME_NOT_RUNNING_ERROR = "Game not yet started.";
+    private static final String CAPACITY_EXCEEDED_ERROR = "Program %s exceeds the capacity of %d instructions.";
+    private static final String NAME_INDEX_SEPARATOR = "#";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int LATENCY_SAMPLE_INTERVAL = 64;
+
+    private final CodeFight codeFight;
+    private final boolean showMarkers;
+    private final GameForks forks;
+    private final List<AI> newlyStopped = new ArrayList<>();
+    private int programCapacity = Integer.MAX_VALUE;
+    private ExecutionHeatmap heatmap;
+    private final LatencyHistogram stepLatency = new LatencyHistogram();
+    private int stepsUntilLatencySample = LATENCY_SAMPLE_INTERVAL;
+
+    /**
+     * Creates an engine driving an existing game model.
+     *
+     * @param codeFight   game model
+     * @param showMarkers true if the cells executed next should be marked after every step
+     */
+    public GameEngine(CodeFight codeFight, boolean showMarkers) {
+        this.codeFight = codeFight;
+        this.showMarkers = showMarkers;
+        this.forks = new GameForks(codeFight);
+        codeFight.addGameListener(new GameListener() {
+            @Override
+            public void onAIStopped(AI ai) {
+                newlyStopped.add(ai);
+            }
+        });
+    }
+
+    /**
+     * Creates a new game with the given programs and starts it.
+     * Programs with the same name play as separate AIs and must have the same instructions.
+     *
+     * @param programs programs taking part in the game, in playing order
+     * @param config   configuration of the game
+     * @return engine running the started game
+     * @throws IllegalArgumentException if the programs cannot play in a game with this configuration or programs
+     *                                  with the same name have different instructions
+     */
+    public static GameEngine newGame(List<Program> programs, GameConfig config) {
+        Program.requireConsistentNames(programs);
+        CodeFight codeFight = new CodeFight(config.memorySize(), config.memorySymbols(), config.aiSymbols(),
+                config.maximumNumberOfAIs());
+        GameEngine engine = new GameEngine(codeFight, false);
+        List<String> names = new ArrayList<>();
+        for (Program program : programs) {
+            if (!engine.hasProgram(program.name())) {
+                engine.addProgram(program);
+            }
+            names.add(program.name());
+        }
+        engine.setInitMode(config.initMode(), config.seed());
+        engine.setPlacement(config.placement());
+        if (!engine.startGame(names)) {
+            throw new IllegalArgumentException(PROGRAMS_DO_NOT_FIT_ERROR);
+        }
+        return engine;
+    }
+
+    /**
+     * Returns the game model driven by this engine.
+     *
+     * @return the game model
+     */
+    public CodeFight getModel() {
+        return codeFight;
+    }
+
+    /**
+     * Returns the largest number of instructions a program may have.
+     *
+     * @return maximum size of a program
+     */
+    public int getMaximumProgramSize() {
+        return codeFight.getMemorySize() / 2 + codeFight.getMemorySize() % 2;
+    }
+
+    /**
+     * Returns the largest number of AIs that can play in one game.
+     *
+     * @return maximum number of AIs per game
+     */
+    public int getMaximumNumberOfAIs() {
+        return codeFight.getMaximumNumberOfAIs();
+    }
+
+    /**
+     * Limits the total number of instructions of all registered programs.
+     *
+     * @param programCapacity maximum number of registered instructions
+     */
+    public void setProgramCapacity(int programCapacity) {
+        this.programCapacity = programCapacity;
+    }
+
+    /**
+     * Checks if a program of the given size fits into the remaining program capacity.
+     *
+     * @param size number of instructions of the program
+     * @return true if the program can be registered
+     */
+    public boolean hasCapacityFor(int size) {
+        return size <= programCapacity - codeFight.getProgramRegistry().getInstructionCount();
+    }
+
+    /**
+     * Returns the registered programs in the order they were added.
+     *
+     * @return the registered programs
+     */
+    public List<Program> getPrograms() {
+        List<Program> programs = new ArrayList<>();
+        for (AI ai : codeFight.getProgramRegistry().getAll()) {
+            programs.add(new Program(ai.getName(), ai.getAiCommands()));
+        }
+        return programs;
+    }
+
+    /**
+     * Checks if a program with the given name is registered.
+     *
+     * @param name name of the program
+     * @return true if the program is registered
+     */
+    public boolean hasProgram(String name) {
+        return codeFight.getProgramRegistry().contains(name);
+    }
+
+    /**
+     * Checks if an AI with the given name can take part in a game, either a registered program or the built-in
+     * {@link SearchAI}.
+     *
+     * @param name name of the AI
+     * @return true if the AI can take part in a game
+     */
+    public boolean canPlay(String name) {
+        return hasProgram(name) || name.equals(SearchAI.NAME);
+    }
+
+    /**
+     * Registers a program.
+     *
+     * @param program program to be registered
+     * @throws IllegalArgumentException if the name is taken or the program has an invalid size
+     * @throws IllegalStateException    if a game is running
+     * @throws UncheckedIOException     if the program cannot be written to the catalog of the registry
+     */
+    public void addProgram(Program program) {
+        requireNotPlaying();
+        if (hasProgram(program.name())) {
+            throw new IllegalArgumentException(DUPLICATE_PROGRAM_ERROR.formatted(program.name()));
+        }
+        int size = program.instructions().size();
+        if (size == 0 || size > getMaximumProgramSize()) {
+            throw new IllegalArgumentException(
+                    INVALID_PROGRAM_SIZE_ERROR.formatted(program.name(), getMaximumProgramSize()));
+        }
+        if (!hasCapacityFor(size)) {
+            throw new IllegalArgumentException(CAPACITY_EXCEEDED_ERROR.formatted(program.name(), programCapacity));
+        }
+        codeFight.getProgramRegistry().add(program.name(), program.instructions());
+    }
+
+    /**
+     * Removes a registered program.
+     *
+     * @param name name of the program
+     * @return true if the program was removed, false if it did not exist
+     * @throws IllegalStateException if a game is running
+     * @throws UncheckedIOException  if the removal cannot be written to the catalog of the registry
+     */
+    public boolean removeProgram(String name) {
+        requireNotPlaying();
+        return codeFight.getProgramRegistry().remove(name);
+    }
+
+    /**
+     * Ends a running game, removes all programs and resets the memory, so the model can be reused.
+     */
+    public void reset() {
+        if (codeFight.isPlayingPhase()) {
+            endGame();
+        }
+        disableHeatmap();
+        codeFight.getProgramRegistry().clear();
+        codeFight.getMemoryInitializer().reset();
+        codeFight.setMemoryMode(Mode.STOP);
+        codeFight.setPlacementStrategy(new EvenPlacement());
+    }
+
+    /**
+     * Initializes the memory with the given mode.
+     *
+     * @param mode mode used to initialize the memory
+     * @param seed seed used if the mode is random
+     * @throws IllegalStateException if a game is running
+     */
+    public void setInitMode(Mode mode, long seed) {
+        requireNotPlaying();
+        if (mode == Mode.RANDOM) {
+            codeFight.getMemoryInitializer().initializeWithRandoms(seed);
+        } else {
+            codeFight.getMemoryInitializer().initializeWithDefault();
+        }
+        codeFight.setMemoryMode(mode);
+    }
+
+    /**
+     * Returns the configuration of the next game: the memory size and symbols, the init mode, the largest number
+     * of AIs and the placement strategy of the game model.
+     *
+     * @return configuration of the next game
+     */
+    public GameConfig getConfig() {
+        return new GameConfig(codeFight.getMemorySize(), codeFight.getMemorySymbols(), codeFight.getAiSymbols(),
+                codeFight.getMemoryMode(), codeFight.getMemoryInitializer().getSeed(),
+                codeFight.getMaximumNumberOfAIs(), codeFight.getPlacementStrategy());
+    }
+
+    /**
+     * Sets how the programs are placed into the memory when the next game starts.
+     * The placement is checked when the game starts, see {@link #startGame(List)}.
+     *
+     * @param strategy the placement strategy
+     * @throws IllegalStateException if a game is running
+     */
+    public void setPlacement(PlacementStrategy strategy) {
+        requireNotPlaying();
+        codeFight.setPlacementStrategy(strategy);
+    }
+
+    /**
+     * Starts a game with the given programs.
+     * Programs with the same name play as separate AIs and are renamed with an index.
+     * The name of the {@link SearchAI} may be used like the name of a program unless such a program is registered.
+     *
+     * @param names names of the programs taking part in the game, in playing order
+     * @return true if the game started, false if the programs cannot be placed into the memory without overlapping
+     * @throws IllegalArgumentException if a program does not exist or there are too many programs
+     * @throws IllegalStateException    if a game is running
+     */
+    public boolean startGame(List<String> names) {
+        requireNotPlaying();
+        if (names.size() > getMaximumNumberOfAIs()) {
+            throw new IllegalArgumentException(TOO_MANY_PROGRAMS_ERROR.formatted(getMaximumNumberOfAIs()));
+        }
+        List<AI> playingList = codeFight.getPlayingList();
+        List<String> playingNames = playingNames(names);
+        for (int i = 0; i < names.size(); i++) {
+            AI ai = codeFight.getProgramRegistry().get(names.get(i));
+            if (ai != null) {
+                playingList.add(ai.copy(playingNames.get(i)));
+            } else if (names.get(i).equals(SearchAI.NAME)) {
+                playingList.add(new SearchAI(playingNames.get(i), codeFight));
+            } else {
+                playingList.clear();
+                throw new IllegalArgumentException(UNKNOWN_PROGRAM_ERROR.formatted(names.get(i)));
+            }
+        }
+        codeFight.assignSymbols();
+        if (!codeFight.loadMemory()) {
+            playingList.clear();
+            return false;
+        }
+        for (AI ai : playingList) {
+            codeFight.getRunningAI().add(ai);
+        }
+        codeFight.gameHandler();
+        codeFight.setAllAIsStopped(false);
+        codeFight.setPlayingPhase(true);
+        newlyStopped.clear();
+        stepLatency.reset();
+        GameStartedEvent event = new GameStartedEvent();
+        if (event.shouldCommit()) {
+            event.numberOfAIs = playingList.size();
+            event.memorySize = codeFight.getMemorySize();
+            event.commit();
+        }
+        return true;
+    }
+
+    /**
+     * Executes up to the given number of steps, stopping early if all AIs are stopped.
+     *
+     * @param steps maximum number of steps to be executed
+     * @return the result of the run
+     * @throws IllegalStateException if no game is running
+     */
+    public StepResult step(long steps) {
+        requirePlaying();
+        StepBatchEvent batchEvent = new StepBatchEvent();
+        batchEvent.begin();
+        long startNanos = System.nanoTime();
+        long stepsExecuted = 0;
+        for (long i = 0; i < steps; i++) {
+            stepsExecuted++;
+            if (!sampleStep()) {
+                break;
+            }
+            if (showMarkers) {
+                codeFight.updateNextSymbols();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        codeFight.getExecutionMetrics().addRunTime(elapsedNanos);
+        batchEvent.end();
+        if (batchEvent.shouldCommit()) {
+            batchEvent.steps = stepsExecuted;
+            batchEvent.stepsPerSecond = (double) stepsExecuted * NANOS_PER_SECOND / Math.max(1, elapsedNanos);
+            batchEvent.commit();
+        }
+        List<StoppedAI> stoppedAIs = new ArrayList<>();
+        for (AI ai : newlyStopped) {
+            AIStoppedEvent stoppedEvent = new AIStoppedEvent();
+            if (stoppedEvent.shouldCommit()) {
+                stoppedEvent.aiName = ai.getName();
+                stoppedEvent.stepsExecuted = ai.getStepsExecuted();
+                stoppedEvent.commit();
+            }
+            stoppedAIs.add(new StoppedAI(ai.getName(), ai.getStepsExecuted()));
+            ai.incrementStepsExecuted();
+        }
+        newlyStopped.clear();
+        codeFight.notifyBatchFinished();
+        return new StepResult(stepsExecuted, stoppedAIs, codeFight.isAllAIsStopped());
+    }
+
+    /**
+     * Runs the game until all AIs are stopped or the step limit is reached.
+     *
+     * @param limit maximum number of steps to be executed
+     * @return the result of the run
+     * @throws IllegalStateException if no game is running
+     */
+    public StepResult runToEnd(long limit) {
+        return step(limit);
+    }
+
+    /**
+     * Executes one step and measures its latency if a sample is due.
+     *
+     * @return false if all AIs are stopped after the step
+     */
+    private boolean sampleStep() {
+        if (--stepsUntilLatencySample > 0) {
+            return codeFight.step();
+        }
+        stepsUntilLatencySample = LATENCY_SAMPLE_INTERVAL;
+        long startNanos = System.nanoTime();
+        boolean running = codeFight.step();
+        stepLatency.record(System.nanoTime() - startNanos);
+        return running;
+    }
+
+    /**
+     * Returns the histogram of the sampled step latencies of the current game in nanoseconds.
+     * One step of every sample interval is measured.
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getStepLatency() {
+        return stepLatency;
+    }
+
+    /**
+     * Returns the number of steps between two latency samples.
+     *
+     * @return the sample interval
+     */
+    public int getLatencySampleInterval() {
+        return LATENCY_SAMPLE_INTERVAL;
+    }
+
+    /**
+     * Starts recording the execution heatmap. Recording stays enabled for later games.
+     *
+     * @return the heatmap, cleared if it was not recording before
+     */
+    public ExecutionHeatmap enableHeatmap() {
+        if (heatmap == null) {
+            heatmap = new ExecutionHeatmap(codeFight);
+            codeFight.addGameListener(heatmap);
+        }
+        return heatmap;
+    }
+
+    /**
+     * Stops recording the execution heatmap and discards it.
+     */
+    public void disableHeatmap() {
+        if (heatmap != null) {
+            codeFight.removeGameListener(heatmap);
+            heatmap = null;
+        }
+    }
+
+    /**
+     * Returns the execution heatmap if it is recording.
+     *
+     * @return the heatmap or null if recording is disabled
+     */
+    public ExecutionHeatmap getHeatmap() {
+        return heatmap;
+    }
+
+    /**
+     * Takes an immutable snapshot of the memory and the AIs.
+     *
+     * @return the snapshot
+     * @throws IllegalStateException if no game is running
+     */
+    public GameSnapshot snapshot() {
+        requirePlaying();
+        List<AI> playingList = codeFight.getPlayingList();
+        String[] ownerNames = new String[playingList.size()];
+        List<AIState> ais = new ArrayList<>();
+        for (AI ai : playingList) {
+            ownerNames[ai.getOwnerId()] = ai.getName();
+            ais.add(new AIState(ai.getName(), ai.isStopped(), ai.getStepsExecuted(), ai.getNextCellIndex()));
+        }
+        OwnershipIndex ownershipIndex = codeFight.getOwnershipIndex();
+        List<CellState> cells = new ArrayList<>(codeFight.getMemorySize());
+        int position = 0;
+        for (MemoryCell cell : codeFight.getMemory()) {
+            int owner = ownershipIndex.getOwner(position);
+            cells.add(new CellState(cell.getInstruction(), cell.getFirstArgument(), cell.getSecondArgument(),
+                    owner == OwnershipIndex.NO_OWNER ? null : ownerNames[owner], ownershipIndex.isBomb(position)));
+            position++;
+        }
+        return new GameSnapshot(List.copyOf(cells), List.copyOf(ais));
+    }
+
+    /**
+     * Saves the state of the running game as a fork with the given name. The game continues in the current fork.
+     * The first fork of a game copies the memory once, every further fork takes constant time.
+     *
+     * @param name name of the new fork
+     * @throws IllegalArgumentException if a fork with this name exists
+     * @throws IllegalStateException    if no game is running
+     */
+    public void fork(String name) {
+        requirePlaying();
+        forks.fork(name);
+    }
+
+    /**
+     * Saves the state of the running game under the name of the current fork and continues with another fork.
+     * Only the parts of the memory that differ between the forks are rewritten.
+     * The execution metrics keep counting the work done in all forks.
+     *
+     * @param name name of the fork to continue with
+     * @throws IllegalArgumentException if there is no fork with this name
+     * @throws IllegalStateException    if no game is running
+     */
+    public void switchTo(String name) {
+        requirePlaying();
+        if (name.equals(forks.getCurrentBranch())) {
+            return;
+        }
+        forks.switchTo(name);
+        newlyStopped.clear();
+        if (showMarkers) {
+            codeFight.updateNextSymbols();
+        }
+        codeFight.notifyGameRestored();
+    }
+
+    /**
+     * Saves the state of the running game to a file, replacing an earlier checkpoint at that path.
+     *
+     * @param path path of the checkpoint
+     * @throws IOException           if the checkpoint cannot be written
+     * @throws IllegalStateException if no game is running
+     */
+    public void saveCheckpoint(Path path) throws IOException {
+        requirePlaying();
+        GameCheckpoint.write(codeFight, path);
+    }
+
+    /**
+     * Continues the running game from a checkpoint saved by a game with the same memory size and AIs.
+     * The forks of the running game are discarded.
+     *
+     * @param path path of the checkpoint
+     * @throws IOException              if the checkpoint cannot be read
+     * @throws IllegalArgumentException if the checkpoint is corrupt or belongs to another game
+     * @throws IllegalStateException    if no game is running
+     */
+    public void loadCheckpoint(Path path) throws IOException {
+        requirePlaying();
+        GameCheckpoint checkpoint = GameCheckpoint.read(codeFight, path);
+        forks.clear();
+        checkpoint.restore(codeFight);
+        newlyStopped.clear();
+        if (showMarkers) {
+            codeFight.updateNextSymbols();
+        }
+        codeFight.notifyGameRestored();
+    }
+
+    /**
+     * Returns the name of the fork the running game belongs to.
+     *
+     * @return name of the current fork
+     */
+    public String getCurrentFork() {
+        return forks.getCurrentBranch();
+    }
+
+    /**
+     * Returns the names of all forks of the running game including the current one.
+     *
+     * @return sorted names of the forks
+     */
+    public Set<String> getForkNames() {
+        return forks.getBranchNames();
+    }
+
+    /**
+     * Ends the running game and resets the memory.
+     *
+     * @return names of the running and stopped AIs at the end of the game
+     * @throws IllegalStateException if no game is running
+     */
+    public GameSummary endGame() {
+        requirePlaying();
+        codeFight.getRunningAI().clear();
+        List<String> runningAIs = new ArrayList<>();
+        List<String> stoppedAIs = new ArrayList<>();
+        for (AI ai : codeFight.getPlayingList()) {
+            if (ai.isStopped()) {
+                stoppedAIs.add(ai.getName());
+            } else {
+                runningAIs.add(ai.getName());
+            }
+        }
+        GameEndedEvent event = new GameEndedEvent();
+        if (event.shouldCommit()) {
+            event.runningAIs = runningAIs.size();
+            event.stoppedAIs = stoppedAIs.size();
+            event.totalSteps = codeFight.getExecutionMetrics().getTotalSteps();
+            event.commit();
+        }
+        forks.clear();
+        codeFight.getMemoryInitializer().initializeWithDefault();
+        codeFight.setPlayingPhase(false);
+        codeFight.getPlayingList().clear();
+        codeFight.getStoppedAIList().clear();
+        return new GameSummary(List.copyOf(runningAIs), List.copyOf(stoppedAIs));
+    }
+
+
+    private void requirePlaying() {
+        if (!codeFight.isPlayingPhase()) {
+            throw new IllegalStateException(GAME_NOT_RUNNING_ERROR);
+        }
+    }
+
+    private void requireNotPlaying() {
+        if (codeFight.isPlayingPhase()) {
+            throw new IllegalStateException(GAME_RUNNING_ERROR);
+        }
+    }
+
+
+    /**
+     * Computes the names the AIs play under. Names occurring more than once are numbered with an index.
+     *
+     * @param names names of the programs taking part in the game, in playing order
+     * @return names of the AIs, in playing order
+     */
+    public static List<String> playingNames(List<String> names) {
+        Map<String, Integer> nameCount = new HashMap<>();
+        for (String name : names) {
+            nameCount.merge(name, 1, Integer::sum);
+        }
+        List<String> playingNames = new ArrayList<>();
+        Map<String, Integer> currentIndex = new HashMap<>();
+        for (String name : names) {
+            if (nameCount.get(name) > 1) {
+                int index = currentIndex.getOrDefault(name, 0);
+                playingNames.add(name + NAME_INDEX_SEPARATOR + index);
+                currentIndex.put(name, index + 1);
+            } else {
+                playingNames.add(name);
+            }
+        }
+        return playingNames;
+    }
+}
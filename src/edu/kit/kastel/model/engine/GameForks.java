@@ -0,0 +1,211 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.GameListener;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.OwnershipIndex;
+import edu.kit.kastel.model.memory.PersistentMemory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps named forks of the running game.
+ * As soon as the first fork is taken, every write to the memory is mirrored into a {@link PersistentMemory}, so
+ * taking another fork only needs a constant time fork of the mirror and a copy of the few AI values. Switching to a
+ * fork walks the memory once and rewrites only the blocks that differ between the current game and the fork.
+ *
+ * @author uiiux
+ */
+class GameForks implements GameListener {
+    private static final String MAIN_BRANCH = "main";
+    private static final String DUPLICATE_BRANCH_ERROR = "Fork %s already exists.";
+    private static final String UNKNOWN_BRANCH_ERROR = "Fork %s does not exist.";
+
+    private final CodeFight codeFight;
+    private final Map<String, Branch> branches = new HashMap<>();
+    private String currentBranch = MAIN_BRANCH;
+    private PersistentMemory mirror;
+
+    /**
+     * Creates the forks of a game model.
+     *
+     * @param codeFight game model
+     */
+    GameForks(CodeFight codeFight) {
+        this.codeFight = codeFight;
+    }
+
+    /**
+     * Returns the name of the fork the running game belongs to.
+     *
+     * @return name of the current fork
+     */
+    String getCurrentBranch() {
+        return currentBranch;
+    }
+
+    /**
+     * Returns the names of all forks including the current one.
+     *
+     * @return sorted names of the forks
+     */
+    Set<String> getBranchNames() {
+        Set<String> names = new TreeSet<>(branches.keySet());
+        names.add(currentBranch);
+        return names;
+    }
+
+    /**
+     * Saves the state of the running game under a new name. The game continues in the current fork.
+     *
+     * @param name name of the new fork
+     * @throws IllegalArgumentException if a fork with this name exists
+     */
+    void fork(String name) {
+        if (name.equals(currentBranch) || branches.containsKey(name)) {
+            throw new IllegalArgumentException(DUPLICATE_BRANCH_ERROR.formatted(name));
+        }
+        if (mirror == null) {
+            createMirror();
+        }
+        branches.put(name, capture());
+    }
+
+    /**
+     * Saves the state of the running game under the name of the current fork and continues with another fork.
+     *
+     * @param name name of the fork to continue with
+     * @throws IllegalArgumentException if there is no fork with this name
+     */
+    void switchTo(String name) {
+        if (name.equals(currentBranch)) {
+            return;
+        }
+        Branch target = branches.remove(name);
+        if (target == null) {
+            throw new IllegalArgumentException(UNKNOWN_BRANCH_ERROR.formatted(name));
+        }
+        branches.put(currentBranch, capture());
+        restoreMemory(target.memory());
+        restoreAIs(target);
+        mirror = target.memory();
+        currentBranch = name;
+    }
+
+    /**
+     * Discards all forks, e.g. when the game ends.
+     */
+    void clear() {
+        if (mirror != null) {
+            codeFight.removeGameListener(this);
+            mirror = null;
+        }
+        branches.clear();
+        currentBranch = MAIN_BRANCH;
+    }
+
+    @Override
+    public void onCellWritten(int position, MemoryCell cell, AI ai) {
+        mirror.set(position, cell, ai.getOwnerId(), codeFight.getOwnershipIndex().isBomb(position));
+    }
+
+    private void createMirror() {
+        OwnershipIndex ownershipIndex = codeFight.getOwnershipIndex();
+        mirror = new PersistentMemory(codeFight.getMemorySize());
+        int position = 0;
+        for (MemoryCell cell : codeFight.getMemory()) {
+            mirror.set(position, cell, ownershipIndex.getOwner(position), ownershipIndex.isBomb(position));
+            position++;
+        }
+        codeFight.addGameListener(this);
+    }
+
+    private Branch capture() {
+        List<AI> playingList = codeFight.getPlayingList();
+        int numberOfAIs = playingList.size();
+        int[] nextCells = new int[numberOfAIs];
+        boolean[] stopped = new boolean[numberOfAIs];
+        long[] steps = new long[numberOfAIs];
+        long[] bombsPlanted = new long[numberOfAIs];
+        int currentAI = 0;
+        for (int i = 0; i < numberOfAIs; i++) {
+            AI ai = playingList.get(i);
+            nextCells[i] = ai.getNextCellIndex();
+            stopped[i] = ai.isStopped();
+            steps[i] = ai.getStepsExecuted();
+            bombsPlanted[i] = codeFight.getOwnershipIndex().getBombsPlanted(ai.getOwnerId());
+            if (ai == codeFight.getCurrentAI()) {
+                currentAI = i;
+            }
+        }
+        List<AI> stoppedAIList = codeFight.getStoppedAIList();
+        int[] stoppedOrder = new int[stoppedAIList.size()];
+        for (int i = 0; i < stoppedOrder.length; i++) {
+            stoppedOrder[i] = playingList.indexOf(stoppedAIList.get(i));
+        }
+        return new Branch(mirror.fork(), nextCells, stopped, steps, bombsPlanted, currentAI, stoppedOrder,
+                codeFight.isAllAIsStopped());
+    }
+
+    /**
+     * Rewrites the cells of all blocks that differ from the target memory and clears the markers of all cells.
+     *
+     * @param target memory of the fork to continue with
+     */
+    private void restoreMemory(PersistentMemory target) {
+        int blockSize = PersistentMemory.getBlockSize();
+        boolean[] differentBlocks = new boolean[(codeFight.getMemorySize() + blockSize - 1) / blockSize];
+        mirror.forEachDifferentBlock(target, position -> differentBlocks[position / blockSize] = true);
+        OwnershipIndex ownershipIndex = codeFight.getOwnershipIndex();
+        int position = 0;
+        for (MemoryCell cell : codeFight.getMemory()) {
+            if (differentBlocks[position / blockSize]) {
+                cell.setInstruction(target.getInstruction(position));
+                cell.setFirstArgument(target.getFirstArgument(position));
+                cell.setSecondArgument(target.getSecondArgument(position));
+                cell.setDefaultSymbol(target.getSymbol(position));
+                ownershipIndex.place(position, target.getOwner(position), target.isBomb(position));
+                codeFight.getInstructionIndex().update(position, cell);
+            }
+            cell.setCurrentSymbol(cell.getDefaultSymbol());
+            position++;
+        }
+    }
+
+    private void restoreAIs(Branch target) {
+        List<AI> playingList = codeFight.getPlayingList();
+        for (int i = 0; i < playingList.size(); i++) {
+            AI ai = playingList.get(i);
+            ai.restore(target.nextCells()[i], target.stopped()[i], target.steps()[i]);
+            codeFight.getOwnershipIndex().setBombsPlanted(ai.getOwnerId(), target.bombsPlanted()[i]);
+        }
+        List<AI> stoppedAIList = codeFight.getStoppedAIList();
+        stoppedAIList.clear();
+        for (int index : target.stoppedOrder()) {
+            stoppedAIList.add(playingList.get(index));
+        }
+        codeFight.setCurrentAI(playingList.get(target.currentAI()));
+        codeFight.setAllAIsStopped(target.allAIsStopped());
+    }
+
+    /**
+     * Saved state of a fork.
+     *
+     * @param memory        memory including owners and bombs
+     * @param nextCells     next cell of every AI in playing order
+     * @param stopped       stopped flag of every AI in playing order
+     * @param steps         executed steps of every AI in playing order
+     * @param bombsPlanted  planted bombs of every AI in playing order
+     * @param currentAI     index of the AI executing the next step
+     * @param stoppedOrder  indices of the stopped AIs in the order they stopped
+     * @param allAIsStopped true if the game is over
+     */
+    private record Branch(PersistentMemory memory, int[] nextCells, boolean[] stopped, long[] steps,
+                          long[] bombsPlanted, int currentAI, int[] stoppedOrder, boolean allAIsStopped) {
+    }
+}
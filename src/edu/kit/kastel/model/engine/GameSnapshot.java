@@ -0,0 +1,13 @@
+package edu.kit.kastel.model.engine;
+
+import java.util.List;
+
+/**
+ * Immutable copy of the memory and the AIs of a game.
+ *
+ * @param cells cells of the memory in address order
+ * @param ais   AIs of the game in playing order
+ * @author uiiux
+ */
+public record GameSnapshot(List<CellState> cells, List<AIState> ais) {
+}
@@ -0,0 +1,24 @@
+package edu.kit.kastel.model.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when a game starts.
+ *
+ * @author uiiux
+ */
+@Name("edu.kit.kastel.GameStarted")
+@Label("Game Started")
+@Category("CodeFight")
+@Description("A game was loaded into the memory")
+public class GameStartedEvent extends Event {
+    @Label("AIs")
+    int numberOfAIs;
+
+    @Label("Memory Size")
+    int memorySize;
+}
@@ -0,0 +1,13 @@
+package edu.kit.kastel.model.engine;
+
+import java.util.List;
+
+/**
+ * Names of the running and stopped AIs at the end of a game.
+ *
+ * @param runningAIs names of the AIs that were still running, in playing order
+ * @param stoppedAIs names of the AIs that were stopped, in playing order
+ * @author uiiux
+ */
+public record GameSummary(List<String> runningAIs, List<String> stoppedAIs) {
+}
@@ -0,0 +1,498 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.ai.AICommands;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.memory.Mode;
+import edu.kit.kastel.model.memory.OwnershipIndex;
+import edu.kit.kastel.model.placement.Placement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Game variant for very large memories with many AIs, in which the memory is split into regions executed in
+ * parallel.
+ * A region is a group of AIs that are next to each other in memory, placed by the placement strategy of the
+ * configuration like in {@link GameEngine}, and reaches from the address of its first AI to that of the next region.
+ * The game runs in epochs. During an epoch every region executes the AIs whose next cell lies in it, one step each
+ * per round and for a fixed number of rounds, touching nothing but its own cells. An AI whose next step would read
+ * or write a cell of another region is handed off: it pauses and its step is executed at the barrier ending the
+ * epoch. An AI that jumps into another region pauses as well and moves there at the barrier.
+ * At the barrier the handed off steps are executed one after another in playing order, then every AI is assigned
+ * to the region of its next cell. Since regions only touch their own cells during an epoch and the barrier works
+ * in a fixed order, the result does not depend on the number of threads.
+ * With a single region the variant executes the steps in the same order as {@link GameEngine}.
+ *
+ * @author uiiux
+ */
+public class IslandEngine implements AutoCloseable {
+    private static final String INVALID_PARAMETER_ERROR = "Regions, epoch length and threads must be positive.";
+    private static final String TOO_MANY_PROGRAMS_ERROR = "At most %d programs can play in a game.";
+    private static final String INVALID_PROGRAM_SIZE_ERROR = "Program %s must have between 1 and %d instructions.";
+    private static final String PROGRAMS_DO_NOT_FIT_ERROR = "Programs do not fit into the memory.";
+    private static final String WORKER_NAME = "codefight-island";
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+
+    private final int memorySize;
+    private final int epochLength;
+    private final int[] instructions;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+    private final int[] owners;
+    private final boolean[] bombs;
+    private final String[] names;
+    private final int[] aiPositions;
+    private final long[] aiSteps;
+    private final boolean[] aiStopped;
+    private final int[] aiRegions;
+
+    private final int[] regionStarts;
+    private final int[][] residents;
+    private final int[] residentCounts;
+    private final int[][] handedOff;
+    private final int[] handedOffCounts;
+    private final long[] regionSteps;
+    private final int[] regionStopped;
+    private final List<Callable<Void>> regionTasks = new ArrayList<>();
+    private final ExecutorService executor;
+
+    private int stoppedCount;
+    private long totalSteps;
+    private long epochs;
+    private long handOffs;
+    private long migrations;
+
+    private IslandEngine(List<Program> programs, GameConfig config, int regions, int epochLength, int threads) {
+        this.memorySize = config.memorySize();
+        this.epochLength = epochLength;
+        instructions = new int[memorySize];
+        firstArguments = new int[memorySize];
+        secondArguments = new int[memorySize];
+        owners = new int[memorySize];
+        bombs = new boolean[memorySize];
+        int numberOfAIs = programs.size();
+        names = GameEngine.playingNames(programs.stream().map(Program::name).toList()).toArray(new String[0]);
+        aiPositions = new int[numberOfAIs];
+        aiSteps = new long[numberOfAIs];
+        aiStopped = new boolean[numberOfAIs];
+        aiRegions = new int[numberOfAIs];
+        int[] addresses = loadMemory(programs, config);
+        Arrays.sort(addresses);
+
+        int numberOfRegions = Math.min(regions, numberOfAIs);
+        regionStarts = new int[numberOfRegions + 1];
+        for (int region = 1; region < numberOfRegions; region++) {
+            regionStarts[region] = addresses[region * numberOfAIs / numberOfRegions];
+        }
+        regionStarts[numberOfRegions] = memorySize;
+        residents = new int[numberOfRegions][numberOfAIs];
+        residentCounts = new int[numberOfRegions];
+        handedOff = new int[numberOfRegions][numberOfAIs];
+        handedOffCounts = new int[numberOfRegions];
+        regionSteps = new long[numberOfRegions];
+        regionStopped = new int[numberOfRegions];
+        assignRegions();
+
+        int numberOfThreads = Math.min(threads, numberOfRegions);
+        executor = numberOfThreads == 1 ? null : Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+            Thread thread = new Thread(runnable, WORKER_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a new game with the given programs and starts it.
+     * Programs with the same name play as separate AIs and must have the same instructions.
+     *
+     * @param programs    programs taking part in the game, in playing order
+     * @param config      configuration of the game
+     * @param regions     number of regions, at most one per AI
+     * @param epochLength number of rounds per epoch
+     * @param threads     number of threads executing the regions
+     * @return engine running the started game
+     * @throws IllegalArgumentException if the programs cannot play in a game with this configuration, programs with
+     *                                  the same name have different instructions or a parameter is not positive
+     */
+    public static IslandEngine newGame(List<Program> programs, GameConfig config, int regions, int epochLength,
+                                       int threads) {
+        if (regions < 1 || epochLength < 1 || threads < 1) {
+            throw new IllegalArgumentException(INVALID_PARAMETER_ERROR);
+        }
+        if (programs.isEmpty() || programs.size() > config.maximumNumberOfAIs()) {
+            throw new IllegalArgumentException(TOO_MANY_PROGRAMS_ERROR.formatted(config.maximumNumberOfAIs()));
+        }
+        Program.requireConsistentNames(programs);
+        int maximumProgramSize = config.memorySize() / 2 + config.memorySize() % 2;
+        for (Program program : programs) {
+            if (program.instructions().isEmpty() || program.instructions().size() > maximumProgramSize) {
+                throw new IllegalArgumentException(
+                        INVALID_PROGRAM_SIZE_ERROR.formatted(program.name(), maximumProgramSize));
+            }
+        }
+        return new IslandEngine(programs, config, regions, epochLength, threads);
+    }
+
+    /**
+     * Runs up to the given number of epochs, stopping early if all AIs are stopped.
+     *
+     * @param epochs maximum number of epochs
+     * @return number of epochs run
+     * @throws InterruptedException if the thread is interrupted while waiting for the regions
+     */
+    public int run(int epochs) throws InterruptedException {
+        int epochsRun = 0;
+        while (epochsRun < epochs && !isGameOver()) {
+            runEpoch();
+            epochsRun++;
+        }
+        return epochsRun;
+    }
+
+    /**
+     * Checks if all AIs are stopped.
+     *
+     * @return true if the game is over
+     */
+    public boolean isGameOver() {
+        return stoppedCount == names.length;
+    }
+
+    /**
+     * Returns the number of regions.
+     *
+     * @return number of regions
+     */
+    public int getRegions() {
+        return residents.length;
+    }
+
+    /**
+     * Returns the number of steps executed by all AIs.
+     *
+     * @return number of steps
+     */
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    /**
+     * Returns the number of epochs run.
+     *
+     * @return number of epochs
+     */
+    public long getEpochs() {
+        return epochs;
+    }
+
+    /**
+     * Returns the number of steps handed off to a barrier because they touched another region.
+     *
+     * @return number of handed off steps
+     */
+    public long getHandOffs() {
+        return handOffs;
+    }
+
+    /**
+     * Returns how often an AI moved to another region.
+     *
+     * @return number of migrations
+     */
+    public long getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * Takes an immutable snapshot of the memory and the AIs.
+     *
+     * @return the snapshot
+     */
+    public GameSnapshot snapshot() {
+        List<AIState> ais = new ArrayList<>();
+        for (int ai = 0; ai < names.length; ai++) {
+            ais.add(new AIState(names[ai], aiStopped[ai], aiSteps[ai], aiPositions[ai]));
+        }
+        List<CellState> cells = new ArrayList<>(memorySize);
+        for (int position = 0; position < memorySize; position++) {
+            int owner = owners[position];
+            cells.add(new CellState(INSTRUCTIONS[instructions[position]], firstArguments[position],
+                    secondArguments[position], owner == OwnershipIndex.NO_OWNER ? null : names[owner],
+                    bombs[position]));
+        }
+        return new GameSnapshot(List.copyOf(cells), List.copyOf(ais));
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Initializes the memory like the memory initializer and loads the programs like the game model, at the
+     * addresses chosen by the placement strategy of the configuration.
+     *
+     * @param programs programs taking part in the game, in playing order
+     * @param config   configuration of the game
+     * @return address of every AI in playing order
+     * @throws IllegalArgumentException if the programs cannot be placed into the memory without overlapping
+     */
+    private int[] loadMemory(List<Program> programs, GameConfig config) {
+        Arrays.fill(owners, OwnershipIndex.NO_OWNER);
+        if (config.initMode() == Mode.RANDOM) {
+            Random random = new Random(config.seed());
+            for (int position = 0; position < memorySize; position++) {
+                instructions[position] = random.nextInt(INSTRUCTIONS.length);
+                firstArguments[position] = random.nextInt();
+                secondArguments[position] = random.nextInt();
+            }
+        }
+        int[] programSizes = new int[programs.size()];
+        for (int ai = 0; ai < programs.size(); ai++) {
+            programSizes[ai] = programs.get(ai).instructions().size();
+        }
+        int[] addresses = config.placement().place(memorySize, programSizes);
+        if (addresses == null || Placement.of(memorySize, addresses, programSizes) == null) {
+            throw new IllegalArgumentException(PROGRAMS_DO_NOT_FIT_ERROR);
+        }
+        for (int ai = 0; ai < programs.size(); ai++) {
+            List<MemoryCell> program = programs.get(ai).instructions();
+            int leadingStops = 0;
+            for (int i = 0; i < program.size(); i++) {
+                MemoryCell cell = program.get(i);
+                int position = (addresses[ai] + i) % memorySize;
+                instructions[position] = cell.getInstruction().ordinal();
+                firstArguments[position] = cell.getFirstArgument();
+                secondArguments[position] = cell.getSecondArgument();
+                owners[position] = ai;
+                if (leadingStops == i && cell.getInstruction() == InstructionName.STOP) {
+                    leadingStops++;
+                }
+            }
+            aiPositions[ai] = normalize(addresses[ai] + leadingStops);
+        }
+        return addresses.clone();
+    }
+
+    private void runEpoch() throws InterruptedException {
+        regionTasks.clear();
+        for (int region = 0; region < residents.length; region++) {
+            if (residentCounts[region] > 0) {
+                int taskRegion = region;
+                regionTasks.add(() -> {
+                    runRegion(taskRegion);
+                    return null;
+                });
+            }
+        }
+        if (executor == null) {
+            for (Callable<Void> task : regionTasks) {
+                try {
+                    task.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        } else {
+            for (Future<Void> future : executor.invokeAll(regionTasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        barrier();
+        epochs++;
+    }
+
+    /**
+     * Executes the residents of a region for one epoch, one step each per round.
+     * Residents that stop, hand off their step or leave the region drop out of the epoch.
+     *
+     * @param region the region
+     */
+    private void runRegion(int region) {
+        int start = regionStarts[region];
+        int end = regionStarts[region + 1];
+        int[] active = residents[region];
+        int activeCount = residentCounts[region];
+        for (int round = 0; round < epochLength && activeCount > 0; round++) {
+            int kept = 0;
+            for (int i = 0; i < activeCount; i++) {
+                int ai = active[i];
+                if (!isLocalStep(aiPositions[ai], start, end)) {
+                    handedOff[region][handedOffCounts[region]++] = ai;
+                    continue;
+                }
+                execute(ai);
+                regionSteps[region]++;
+                if (aiStopped[ai]) {
+                    regionStopped[region]++;
+                } else if (aiPositions[ai] >= start && aiPositions[ai] < end) {
+                    active[kept++] = ai;
+                }
+            }
+            activeCount = kept;
+        }
+    }
+
+    /**
+     * Executes the handed off steps in playing order and assigns every AI to the region of its next cell.
+     */
+    private void barrier() {
+        int[] pending = new int[names.length];
+        int pendingCount = 0;
+        for (int region = 0; region < residents.length; region++) {
+            totalSteps += regionSteps[region];
+            stoppedCount += regionStopped[region];
+            regionSteps[region] = 0;
+            regionStopped[region] = 0;
+            System.arraycopy(handedOff[region], 0, pending, pendingCount, handedOffCounts[region]);
+            pendingCount += handedOffCounts[region];
+            handedOffCounts[region] = 0;
+        }
+        Arrays.sort(pending, 0, pendingCount);
+        for (int i = 0; i < pendingCount; i++) {
+            execute(pending[i]);
+            totalSteps++;
+            if (aiStopped[pending[i]]) {
+                stoppedCount++;
+            }
+        }
+        handOffs += pendingCount;
+        assignRegions();
+    }
+
+    private void assignRegions() {
+        Arrays.fill(residentCounts, 0);
+        for (int ai = 0; ai < names.length; ai++) {
+            if (aiStopped[ai]) {
+                continue;
+            }
+            int region = Arrays.binarySearch(regionStarts, 0, residents.length, aiPositions[ai]);
+            if (region < 0) {
+                region = -region - 2;
+            }
+            if (epochs > 0 && region != aiRegions[ai]) {
+                migrations++;
+            }
+            aiRegions[ai] = region;
+            residents[region][residentCounts[region]++] = ai;
+        }
+    }
+
+    /**
+     * Checks if the next step of an AI only touches cells of the given region.
+     * Where the AI continues afterwards does not matter.
+     *
+     * @param position position of the next cell of the AI
+     * @param start    first position of the region
+     * @param end      first position after the region
+     * @return true if the step can be executed by the region
+     */
+    private boolean isLocalStep(int position, int start, int end) {
+        int first = firstArguments[position];
+        int second = secondArguments[position];
+        return switch (INSTRUCTIONS[instructions[position]]) {
+            case STOP, ADD, JMP -> true;
+            case ADD_R, JMZ -> isInRegion(position + second, start, end);
+            case MOV_R, CMP, SWAP -> isInRegion(position + first, start, end)
+                    && isInRegion(position + second, start, end);
+            case MOV_I -> {
+                int intermediate = normalize(position + second);
+                yield isInRegion(intermediate, start, end) && isInRegion(position + first, start, end)
+                        && isInRegion(intermediate + secondArguments[intermediate], start, end);
+            }
+        };
+    }
+
+    private boolean isInRegion(int position, int start, int end) {
+        int normalized = normalize(position);
+        return normalized >= start && normalized < end;
+    }
+
+    /**
+     * Executes the next step of an AI with the semantics of the AI command executor.
+     *
+     * @param ai index of the AI in the playing order
+     */
+    private void execute(int ai) {
+        int position = aiPositions[ai];
+        int first = firstArguments[position];
+        int second = secondArguments[position];
+        int next = position + 1;
+        aiSteps[ai]++;
+        switch (INSTRUCTIONS[instructions[position]]) {
+            case STOP -> {
+                aiStopped[ai] = true;
+                return;
+            }
+            case MOV_R -> copyCell(normalize(position + first), normalize(position + second), ai);
+            case MOV_I -> {
+                int intermediate = normalize(position + second);
+                copyCell(normalize(position + first), normalize(intermediate + secondArguments[intermediate]), ai);
+            }
+            case ADD -> {
+                secondArguments[position] = first + second;
+                claim(position, ai);
+            }
+            case ADD_R -> {
+                int target = normalize(position + second);
+                secondArguments[target] = first + secondArguments[target];
+                claim(target, ai);
+            }
+            case JMP -> next = position + first;
+            case JMZ -> {
+                if (secondArguments[normalize(position + second)] == 0) {
+                    next = position + first;
+                }
+            }
+            case CMP -> {
+                if (firstArguments[normalize(position + first)] != secondArguments[normalize(position + second)]) {
+                    next = position + 2;
+                }
+            }
+            case SWAP -> {
+                int firstCell = normalize(position + first);
+                int secondCell = normalize(position + second);
+                int temp = firstArguments[firstCell];
+                firstArguments[firstCell] = secondArguments[secondCell];
+                secondArguments[secondCell] = temp;
+                claim(firstCell, ai);
+                claim(secondCell, ai);
+            }
+        }
+        aiPositions[ai] = normalize(next);
+    }
+
+    private void copyCell(int source, int target, int ai) {
+        instructions[target] = instructions[source];
+        firstArguments[target] = firstArguments[source];
+        secondArguments[target] = secondArguments[source];
+        claim(target, ai);
+    }
+
+    private void claim(int position, int ai) {
+        owners[position] = ai;
+        bombs[position] = AICommands.isBomb(INSTRUCTIONS[instructions[position]], firstArguments[position],
+                secondArguments[position]);
+    }
+
+    private int normalize(int position) {
+        return Math.floorMod(position, memorySize);
+    }
+}
@@ -0,0 +1,66 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An AI program that can be registered in a game engine.
+ *
+ * @param name         name of the AI
+ * @param instructions instructions of the AI
+ * @author uiiux
+ */
+public record Program(String name, List<MemoryCell> instructions) {
+    private static final String CONFLICTING_PROGRAMS_ERROR = "Programs named %s have different instructions.";
+
+    /**
+     * Creates a program, copying the list of instructions.
+     *
+     * @param name         name of the AI
+     * @param instructions instructions of the AI
+     */
+    public Program {
+        instructions = List.copyOf(instructions);
+    }
+
+    /**
+     * Checks if another program has the same instructions with the same arguments.
+     *
+     * @param other the other program
+     * @return true if both programs have the same instructions
+     */
+    public boolean hasSameInstructions(Program other) {
+        if (instructions.size() != other.instructions.size()) {
+            return false;
+        }
+        for (int i = 0; i < instructions.size(); i++) {
+            MemoryCell cell = instructions.get(i);
+            MemoryCell otherCell = other.instructions.get(i);
+            if (cell.getInstruction() != otherCell.getInstruction()
+                    || cell.getFirstArgument() != otherCell.getFirstArgument()
+                    || cell.getSecondArgument() != otherCell.getSecondArgument()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that programs with the same name have the same instructions, so they can play as copies of one program.
+     *
+     * @param programs programs taking part in a game
+     * @throws IllegalArgumentException if two programs with the same name have different instructions
+     */
+    public static void requireConsistentNames(List<Program> programs) {
+        Map<String, Program> programsByName = new HashMap<>();
+        for (Program program : programs) {
+            Program first = programsByName.putIfAbsent(program.name(), program);
+            if (first != null && !first.hasSameInstructions(program)) {
+                throw new IllegalArgumentException(CONFLICTING_PROGRAMS_ERROR.formatted(program.name()));
+            }
+        }
+    }
+}
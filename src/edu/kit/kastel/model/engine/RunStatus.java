@@ -0,0 +1,29 @@
+package edu.kit.kastel.model.engine;
+
+/**
+ * Progress of a background run.
+ *
+ * @param active          true if the run is still in progress
+ * @param paused          true if the run is paused
+ * @param stepsDone       number of steps executed so far
+ * @param totalSteps      number of steps the run was started with
+ * @param stepsPerSecond  average number of steps per second while not paused
+ * @param checkpointSteps number of steps executed when the last checkpoint was saved, or -1 if none was saved
+ * @param checkpointError message of the error if the last checkpoint could not be saved, or null
+ * @author uiiux
+ */
+public record RunStatus(boolean active, boolean paused, long stepsDone, long totalSteps, double stepsPerSecond,
+                        long checkpointSteps, String checkpointError) {
+
+    /**
+     * Estimates the remaining time of the run at the current throughput.
+     *
+     * @return estimated remaining seconds, or -1 if no estimate is possible
+     */
+    public long etaSeconds() {
+        if (stepsPerSecond <= 0) {
+            return -1;
+        }
+        return Math.round((totalSteps - stepsDone) / stepsPerSecond);
+    }
+}
@@ -0,0 +1,137 @@
+package edu.kit.kastel.model.engine;
+
+import java.util.List;
+
+/**
+ * Plays headless games on the engine selected by the user and checks that engine against {@link GameEngine}.
+ * The experimental engines neither display the game nor notify listeners, so they play headless games next to the
+ * interactive game instead of replacing its engine.
+ *
+ * @author uiiux
+ */
+public class Simulation {
+    private static final String INVALID_THREADS_ERROR = "Number of threads must be positive.";
+    private static final String INVALID_ISLAND_ERROR = "Regions, epoch length and threads must be positive.";
+    private static final String NOTHING_TO_VERIFY_ERROR = "The standard engine is the reference of the verification.";
+
+    private EngineMode mode = EngineMode.STANDARD;
+    private int threads = 1;
+    private int regions = 1;
+    private int epochLength = 1;
+
+    /**
+     * Returns the selected engine.
+     *
+     * @return the selected engine
+     */
+    public EngineMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Selects the game engine.
+     */
+    public void selectStandard() {
+        mode = EngineMode.STANDARD;
+        threads = 1;
+    }
+
+    /**
+     * Selects the speculative engine.
+     *
+     * @param threads number of threads executing steps, including the calling thread
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public void selectSpeculative(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(INVALID_THREADS_ERROR);
+        }
+        mode = EngineMode.SPECULATIVE;
+        this.threads = threads;
+    }
+
+    /**
+     * Selects the island engine.
+     *
+     * @param regions     number of regions, at most one per AI is used
+     * @param epochLength number of rounds per epoch
+     * @param threads     number of threads executing the regions
+     * @throws IllegalArgumentException if a parameter is not positive
+     */
+    public void selectIsland(int regions, int epochLength, int threads) {
+        if (regions < 1 || epochLength < 1 || threads < 1) {
+            throw new IllegalArgumentException(INVALID_ISLAND_ERROR);
+        }
+        mode = EngineMode.ISLAND;
+        this.regions = regions;
+        this.epochLength = epochLength;
+        this.threads = threads;
+    }
+
+    /**
+     * Plays a new game on the selected engine until all AIs are stopped or the step limit is reached.
+     * The island engine runs whole epochs, so it finishes the epoch in which it reaches the step limit and may
+     * execute more steps.
+     *
+     * @param programs programs taking part in the game, in playing order
+     * @param config   configuration of the game
+     * @param steps    maximum number of steps to be executed
+     * @return the result of the game
+     * @throws IllegalArgumentException if the programs cannot play in a game with this configuration
+     * @throws InterruptedException     if the thread is interrupted while the island engine waits for its regions
+     */
+    public SimulationResult run(List<Program> programs, GameConfig config, long steps) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long stepsExecuted;
+        boolean gameOver;
+        GameSnapshot snapshot;
+        switch (mode) {
+            case STANDARD -> {
+                GameEngine engine = GameEngine.newGame(programs, config);
+                StepResult result = engine.runToEnd(steps);
+                stepsExecuted = result.stepsExecuted();
+                gameOver = result.gameOver();
+                snapshot = engine.snapshot();
+            }
+            case SPECULATIVE -> {
+                try (SpeculativeEngine engine = SpeculativeEngine.newGame(programs, config, threads)) {
+                    StepResult result = engine.step(steps);
+                    stepsExecuted = result.stepsExecuted();
+                    gameOver = result.gameOver();
+                    snapshot = engine.snapshot();
+                }
+            }
+            case ISLAND -> {
+                try (IslandEngine engine = IslandEngine.newGame(programs, config, regions, epochLength, threads)) {
+                    while (engine.getTotalSteps() < steps && !engine.isGameOver()) {
+                        engine.run(1);
+                    }
+                    stepsExecuted = engine.getTotalSteps();
+                    gameOver = engine.isGameOver();
+                    snapshot = engine.snapshot();
+                }
+            }
+            default -> throw new IllegalStateException(mode.name());
+        }
+        return new SimulationResult(mode, stepsExecuted, gameOver, System.nanoTime() - startNanos, snapshot);
+    }
+
+    /**
+     * Plays random games on the selected engine and on the game engine and counts the games whose step results or
+     * snapshots differ, see {@link EngineParity}. The island engine is compared with one region, and with several
+     * regions it is checked to play the same on one and on more threads.
+     *
+     * @param games number of random games
+     * @param seed  seed of the random games
+     * @return number of games that differ
+     * @throws IllegalStateException if the game engine is selected
+     * @throws InterruptedException  if the thread is interrupted while the island engine waits for its regions
+     */
+    public int verify(int games, long seed) throws InterruptedException {
+        return switch (mode) {
+            case STANDARD -> throw new IllegalStateException(NOTHING_TO_VERIFY_ERROR);
+            case SPECULATIVE -> EngineParity.countSpeculativeMismatches(games, seed, threads);
+            case ISLAND -> EngineParity.countIslandMismatches(games, seed);
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package edu.kit.kastel.model.engine;
+
+/**
+ * Result of a headless game played by a {@link Simulation}.
+ *
+ * @param mode          engine the game was played on
+ * @param stepsExecuted number of steps executed
+ * @param gameOver      true if all AIs are stopped
+ * @param nanos         time the game took in nanoseconds, including its setup
+ * @param snapshot      state of the game at the end
+ * @author uiiux
+ */
+public record SimulationResult(EngineMode mode, long stepsExecuted, boolean gameOver, long nanos,
+                               GameSnapshot snapshot) {
+}
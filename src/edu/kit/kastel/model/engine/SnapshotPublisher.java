@@ -0,0 +1,154 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.GameListener;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Publishes copies of a running game for threads other than the engine thread, e.g. to display the memory while a
+ * background run executes the game.
+ * The engine thread copies the memory and the AIs into a frame when it finishes a batch of steps and at least the
+ * publish interval of steps was executed since the last publication, so every frame shows a step boundary.
+ * The frame is protected like a seqlock: readers use optimistic reads and retry if a publication overlapped,
+ * so they never block the engine and the engine never waits for them.
+ * The publisher must be created and closed while no steps are executed.
+ *
+ * @author uiiux
+ */
+public class SnapshotPublisher implements GameListener {
+    private static final String INVALID_INTERVAL_ERROR = "Publish interval must be positive.";
+
+    private final CodeFight codeFight;
+    private final SpectatorFrame published;
+    private final StampedLock lock = new StampedLock();
+    private volatile long publishInterval;
+    private long publishedStep;
+
+    /**
+     * Creates a publisher and publishes the current state of the game.
+     *
+     * @param codeFight       game to be published
+     * @param publishInterval smallest number of steps between two publications
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public SnapshotPublisher(CodeFight codeFight, long publishInterval) {
+        this.codeFight = codeFight;
+        this.published = newFrame();
+        setPublishInterval(publishInterval);
+        publish();
+        codeFight.addGameListener(this);
+    }
+
+    /**
+     * Changes the smallest number of steps between two publications.
+     * May be called from any thread, the engine uses the new interval from its next batch on.
+     *
+     * @param publishInterval smallest number of steps between two publications
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public void setPublishInterval(long publishInterval) {
+        if (publishInterval < 1) {
+            throw new IllegalArgumentException(INVALID_INTERVAL_ERROR);
+        }
+        this.publishInterval = publishInterval;
+    }
+
+    /**
+     * Returns the smallest number of steps between two publications.
+     *
+     * @return the publish interval
+     */
+    public long getPublishInterval() {
+        return publishInterval;
+    }
+
+    /**
+     * Creates a frame with the dimensions of the published game, to be passed to {@link #read(SpectatorFrame)}.
+     *
+     * @return an empty frame
+     */
+    public SpectatorFrame newFrame() {
+        return new SpectatorFrame(codeFight.getMemorySize(), codeFight.getMaximumNumberOfAIs());
+    }
+
+    /**
+     * Copies the last published state into the given frame without blocking the engine.
+     *
+     * @param target frame created by {@link #newFrame()}
+     */
+    public void read(SpectatorFrame target) {
+        while (true) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                target.copyFrom(published);
+                if (lock.validate(stamp)) {
+                    return;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Stops publishing.
+     */
+    public void close() {
+        codeFight.removeGameListener(this);
+    }
+
+    @Override
+    public void onGameStarted() {
+        publish();
+    }
+
+    @Override
+    public void onGameRestored() {
+        publish();
+    }
+
+    @Override
+    public void onBatchFinished() {
+        if (countSteps() - publishedStep >= publishInterval) {
+            publish();
+        }
+    }
+
+    /**
+     * Copies the game into the published frame. Must be called at a step boundary.
+     */
+    public void publish() {
+        long step = countSteps();
+        long stamp = lock.writeLock();
+        try {
+            published.setStep(step);
+            int position = 0;
+            for (MemoryCell cell : codeFight.getMemory()) {
+                published.setCell(position, cell.getInstruction(), cell.getFirstArgument(),
+                        cell.getSecondArgument(), cell.getCurrentSymbol());
+                position++;
+            }
+            List<AI> playingList = codeFight.getPlayingList();
+            int index = 0;
+            for (AI ai : playingList) {
+                published.setAI(index, ai.getName(), ai.isStopped(), ai.getStepsExecuted(), ai.getNextCellIndex());
+                index++;
+            }
+            published.setAICount(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        publishedStep = step;
+    }
+
+    private long countSteps() {
+        long steps = 0;
+        for (AI ai : codeFight.getPlayingList()) {
+            steps += ai.getStepsExecuted();
+        }
+        return steps;
+    }
+}
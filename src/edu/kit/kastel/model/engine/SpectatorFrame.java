@@ -0,0 +1,207 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.CyclicLinkedList;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+/**
+ * Copy of the memory and the AIs of a game taken at a step boundary, read by spectator threads.
+ * A frame is reused between reads, so reading does not allocate once the frame exists.
+ *
+ * @author uiiux
+ */
+public class SpectatorFrame {
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+
+    private long step;
+    private final int[] instructions;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+    private final String[] symbols;
+    private int aiCount;
+    private final String[] aiNames;
+    private final boolean[] aiStopped;
+    private final long[] aiSteps;
+    private final int[] aiNextCells;
+
+    /**
+     * Creates an empty frame.
+     *
+     * @param memorySize size of the memory
+     * @param maxAIs     maximum number of AIs in a game
+     */
+    public SpectatorFrame(int memorySize, int maxAIs) {
+        this.instructions = new int[memorySize];
+        this.firstArguments = new int[memorySize];
+        this.secondArguments = new int[memorySize];
+        this.symbols = new String[memorySize];
+        this.aiNames = new String[maxAIs];
+        this.aiStopped = new boolean[maxAIs];
+        this.aiSteps = new long[maxAIs];
+        this.aiNextCells = new int[maxAIs];
+    }
+
+    /**
+     * Copies the content of another frame of the same dimensions into this frame.
+     *
+     * @param source frame to be copied
+     */
+    void copyFrom(SpectatorFrame source) {
+        step = source.step;
+        System.arraycopy(source.instructions, 0, instructions, 0, instructions.length);
+        System.arraycopy(source.firstArguments, 0, firstArguments, 0, firstArguments.length);
+        System.arraycopy(source.secondArguments, 0, secondArguments, 0, secondArguments.length);
+        System.arraycopy(source.symbols, 0, symbols, 0, symbols.length);
+        aiCount = Math.min(source.aiCount, aiNames.length);
+        System.arraycopy(source.aiNames, 0, aiNames, 0, aiCount);
+        System.arraycopy(source.aiStopped, 0, aiStopped, 0, aiCount);
+        System.arraycopy(source.aiSteps, 0, aiSteps, 0, aiCount);
+        System.arraycopy(source.aiNextCells, 0, aiNextCells, 0, aiCount);
+    }
+
+    void setStep(long step) {
+        this.step = step;
+    }
+
+    void setCell(int position, InstructionName instruction, int firstArgument, int secondArgument, String symbol) {
+        instructions[position] = instruction.ordinal();
+        firstArguments[position] = firstArgument;
+        secondArguments[position] = secondArgument;
+        symbols[position] = symbol;
+    }
+
+    void setAICount(int aiCount) {
+        this.aiCount = aiCount;
+    }
+
+    void setAI(int index, String name, boolean stopped, long steps, int nextCell) {
+        aiNames[index] = name;
+        aiStopped[index] = stopped;
+        aiSteps[index] = steps;
+        aiNextCells[index] = nextCell;
+    }
+
+    /**
+     * Returns the number of steps all AIs of the game had executed when the frame was published.
+     *
+     * @return step of the frame
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Returns the size of the memory.
+     *
+     * @return number of cells in the frame
+     */
+    public int getMemorySize() {
+        return instructions.length;
+    }
+
+    /**
+     * Returns the instruction of a cell.
+     *
+     * @param position position of the cell
+     * @return instruction of the cell
+     */
+    public InstructionName getInstruction(int position) {
+        return INSTRUCTIONS[instructions[position]];
+    }
+
+    /**
+     * Returns the first argument of a cell.
+     *
+     * @param position position of the cell
+     * @return first argument of the cell
+     */
+    public int getFirstArgument(int position) {
+        return firstArguments[position];
+    }
+
+    /**
+     * Returns the second argument of a cell.
+     *
+     * @param position position of the cell
+     * @return second argument of the cell
+     */
+    public int getSecondArgument(int position) {
+        return secondArguments[position];
+    }
+
+    /**
+     * Returns the symbol a cell is displayed with.
+     *
+     * @param position position of the cell
+     * @return symbol of the cell
+     */
+    public String getSymbol(int position) {
+        return symbols[position];
+    }
+
+    /**
+     * Returns the number of AIs in the frame.
+     *
+     * @return number of AIs
+     */
+    public int getAICount() {
+        return aiCount;
+    }
+
+    /**
+     * Returns the name of an AI.
+     *
+     * @param index index of the AI in playing order
+     * @return name of the AI
+     */
+    public String getAIName(int index) {
+        return aiNames[index];
+    }
+
+    /**
+     * Checks if an AI is stopped.
+     *
+     * @param index index of the AI in playing order
+     * @return true if the AI is stopped
+     */
+    public boolean isAIStopped(int index) {
+        return aiStopped[index];
+    }
+
+    /**
+     * Returns the steps an AI has executed.
+     *
+     * @param index index of the AI in playing order
+     * @return steps executed by the AI
+     */
+    public long getAISteps(int index) {
+        return aiSteps[index];
+    }
+
+    /**
+     * Returns the index of the cell an AI executes next.
+     *
+     * @param index index of the AI in playing order
+     * @return index of the next cell of the AI
+     */
+    public int getAINextCell(int index) {
+        return aiNextCells[index];
+    }
+
+    /**
+     * Copies the cells of the frame into a new memory, so it can be displayed like the memory of the game.
+     *
+     * @return copy of the memory with the symbols of the frame
+     */
+    public CyclicLinkedList<MemoryCell> toMemory() {
+        CyclicLinkedList<MemoryCell> memory = new CyclicLinkedList<>();
+        for (int position = 0; position < instructions.length; position++) {
+            MemoryCell cell = new MemoryCell(INSTRUCTIONS[instructions[position]], firstArguments[position],
+                    secondArguments[position]);
+            cell.setDefaultSymbol(symbols[position]);
+            cell.setCurrentSymbol(symbols[position]);
+            memory.add(cell);
+        }
+        return memory;
+    }
+}
@@ -0,0 +1,440 @@
+package edu.kit.kastel.model.engine;
+
+import edu.kit.kastel.model.ai.AICommands;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.OwnershipIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Experimental engine running one game on several cores by speculating on upcoming steps.
+ * Within one rotation every running AI executes exactly one step, and a step only depends on the cells it reads.
+ * The engine therefore executes the steps of a whole rotation in parallel against the memory as it was before the
+ * rotation, recording the cells every step reads and the cells it would write. The steps are then committed in
+ * playing order. A step that read a cell written by an earlier step of the same rotation is rolled back and
+ * executed again against the current memory, so the result is the same as executing the steps one by one.
+ * The game is set up by a regular game engine and then moved into primitive arrays, so snapshots and step results
+ * equal the ones of {@link GameEngine}. Symbols, listeners and execution metrics are not maintained.
+ * The engine owns worker threads and has to be closed.
+ *
+ * @author uiiux
+ */
+public class SpeculativeEngine implements AutoCloseable {
+    private static final String INVALID_THREADS_ERROR = "Number of threads must be positive.";
+    private static final String WORKER_NAME = "codefight-speculation-%d";
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+    private static final int MAX_READS = 3;
+    private static final int MAX_WRITES = 2;
+    private static final int PARALLEL_THRESHOLD = 8;
+    private static final int SPIN_LIMIT = 1 << 12;
+
+    private final int memorySize;
+    private final int[] instructions;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+    private final int[] owners;
+    private final boolean[] bombs;
+    private final String[] names;
+    private final int[] aiPositions;
+    private final long[] aiSteps;
+    private final boolean[] aiStopped;
+    private int currentAI;
+    private int stoppedCount;
+    private boolean gameOver;
+
+    private final int[] windowAIs;
+    private int windowSize;
+    private final int[] readCounts;
+    private final int[] reads;
+    private final int[] writeCounts;
+    private final int[] writePositions;
+    private final int[] writeInstructions;
+    private final int[] writeFirstArguments;
+    private final int[] writeSecondArguments;
+    private final int[] nextPositions;
+    private final boolean[] stops;
+    private final int[] writtenStamps;
+    private int stamp;
+    private long speculatedSteps;
+    private long rollbacks;
+
+    private final Worker[] workers;
+    private final AtomicInteger pendingWorkers = new AtomicInteger();
+    private volatile long generation;
+    private volatile boolean closed;
+
+    private SpeculativeEngine(GameSnapshot start, int threads) {
+        List<CellState> cells = start.cells();
+        List<AIState> ais = start.ais();
+        memorySize = cells.size();
+        instructions = new int[memorySize];
+        firstArguments = new int[memorySize];
+        secondArguments = new int[memorySize];
+        owners = new int[memorySize];
+        bombs = new boolean[memorySize];
+        writtenStamps = new int[memorySize];
+        names = new String[ais.size()];
+        aiPositions = new int[ais.size()];
+        aiSteps = new long[ais.size()];
+        aiStopped = new boolean[ais.size()];
+        Map<String, Integer> ownerIds = new HashMap<>();
+        for (int ai = 0; ai < ais.size(); ai++) {
+            names[ai] = ais.get(ai).name();
+            aiPositions[ai] = ais.get(ai).nextCellIndex();
+            ownerIds.put(names[ai], ai);
+        }
+        for (int position = 0; position < memorySize; position++) {
+            CellState cell = cells.get(position);
+            instructions[position] = cell.instruction().ordinal();
+            firstArguments[position] = cell.firstArgument();
+            secondArguments[position] = cell.secondArgument();
+            owners[position] = cell.owner() == null ? OwnershipIndex.NO_OWNER : ownerIds.get(cell.owner());
+            bombs[position] = cell.bomb();
+        }
+        windowAIs = new int[ais.size()];
+        readCounts = new int[ais.size()];
+        reads = new int[ais.size() * MAX_READS];
+        writeCounts = new int[ais.size()];
+        writePositions = new int[ais.size() * MAX_WRITES];
+        writeInstructions = new int[ais.size() * MAX_WRITES];
+        writeFirstArguments = new int[ais.size() * MAX_WRITES];
+        writeSecondArguments = new int[ais.size() * MAX_WRITES];
+        nextPositions = new int[ais.size()];
+        stops = new boolean[ais.size()];
+        workers = new Worker[threads - 1];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i + 1);
+        }
+    }
+
+    /**
+     * Creates a new game with the given programs and starts it on the given number of threads.
+     * Programs with the same name play as separate AIs.
+     * Handing a window to a worker only pays off if the worker has a core of its own, so the number of threads is
+     * limited to the number of available processors.
+     *
+     * @param programs programs taking part in the game, in playing order
+     * @param config   configuration of the game
+     * @param threads  number of threads executing steps, including the calling thread
+     * @return engine running the started game
+     * @throws IllegalArgumentException if the programs cannot play in a game with this configuration or the number
+     *                                  of threads is not positive
+     */
+    public static SpeculativeEngine newGame(List<Program> programs, GameConfig config, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(INVALID_THREADS_ERROR);
+        }
+        return new SpeculativeEngine(GameEngine.newGame(programs, config).snapshot(),
+                Math.min(threads, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Executes up to the given number of steps, stopping early if all AIs are stopped.
+     *
+     * @param steps maximum number of steps to be executed
+     * @return the result of the run
+     */
+    public StepResult step(long steps) {
+        if (gameOver) {
+            return new StepResult(Math.min(steps, 1), List.of(), true);
+        }
+        List<StoppedAI> stoppedAIs = new ArrayList<>();
+        long stepsExecuted = 0;
+        while (stepsExecuted < steps && !gameOver) {
+            openWindow((int) Math.min(steps - stepsExecuted, Integer.MAX_VALUE));
+            speculateWindow();
+            speculatedSteps += windowSize;
+            for (int k = 0; k < windowSize && !gameOver; k++) {
+                if (hasConflict(k)) {
+                    rollbacks++;
+                    speculate(k);
+                }
+                commit(k, stoppedAIs);
+                stepsExecuted++;
+                gameOver = stoppedCount == names.length;
+            }
+            if (!gameOver) {
+                currentAI = nextRunningAI(windowAIs[windowSize - 1]);
+            }
+        }
+        return new StepResult(stepsExecuted, stoppedAIs, gameOver);
+    }
+
+    /**
+     * Takes an immutable snapshot of the memory and the AIs.
+     *
+     * @return the snapshot
+     */
+    public GameSnapshot snapshot() {
+        List<AIState> ais = new ArrayList<>();
+        for (int ai = 0; ai < names.length; ai++) {
+            ais.add(new AIState(names[ai], aiStopped[ai], aiSteps[ai], aiPositions[ai]));
+        }
+        List<CellState> cells = new ArrayList<>(memorySize);
+        for (int position = 0; position < memorySize; position++) {
+            int owner = owners[position];
+            cells.add(new CellState(INSTRUCTIONS[instructions[position]], firstArguments[position],
+                    secondArguments[position], owner == OwnershipIndex.NO_OWNER ? null : names[owner],
+                    bombs[position]));
+        }
+        return new GameSnapshot(List.copyOf(cells), List.copyOf(ais));
+    }
+
+    /**
+     * Returns the number of steps executed speculatively.
+     *
+     * @return number of speculated steps
+     */
+    public long getSpeculatedSteps() {
+        return speculatedSteps;
+    }
+
+    /**
+     * Returns the number of speculated steps that had to be executed again because of a conflict.
+     *
+     * @return number of rollbacks
+     */
+    public long getRollbacks() {
+        return rollbacks;
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    /**
+     * Collects the running AIs of the next rotation, starting with the current AI.
+     * No AI can stop another one, so all of them are still running when their turn comes.
+     *
+     * @param limit maximum number of steps in the window
+     */
+    private void openWindow(int limit) {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(writtenStamps, 0);
+            stamp = 1;
+        }
+        int size = Math.min(limit, names.length - stoppedCount);
+        int ai = currentAI;
+        for (windowSize = 0; windowSize < size; windowSize++) {
+            windowAIs[windowSize] = ai;
+            ai = nextRunningAI(ai);
+        }
+    }
+
+    private void speculateWindow() {
+        if (windowSize < PARALLEL_THRESHOLD || workers.length == 0) {
+            for (int k = 0; k < windowSize; k++) {
+                speculate(k);
+            }
+            return;
+        }
+        pendingWorkers.set(workers.length);
+        generation++;
+        for (Worker worker : workers) {
+            if (worker.sleeping) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+        for (int k = 0; k < windowSize; k += workers.length + 1) {
+            speculate(k);
+        }
+        while (pendingWorkers.get() != 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Executes a step of the window against the memory without changing it.
+     * The cells read and the cells to be written are recorded in the buffers of the step.
+     *
+     * @param k index of the step in the window
+     */
+    private void speculate(int k) {
+        int position = aiPositions[windowAIs[k]];
+        int first = firstArguments[position];
+        int second = secondArguments[position];
+        int readBase = k * MAX_READS;
+        int readCount = 0;
+        int writeCount = 0;
+        reads[readBase + readCount++] = position;
+        int next = position + 1;
+        stops[k] = false;
+        switch (INSTRUCTIONS[instructions[position]]) {
+            case STOP -> stops[k] = true;
+            case MOV_R -> {
+                int source = normalize(position + first);
+                reads[readBase + readCount++] = source;
+                writeCount = bufferWrite(k, writeCount, normalize(position + second),
+                        instructions[source], firstArguments[source], secondArguments[source]);
+            }
+            case MOV_I -> {
+                int source = normalize(position + first);
+                int intermediate = normalize(position + second);
+                reads[readBase + readCount++] = source;
+                reads[readBase + readCount++] = intermediate;
+                writeCount = bufferWrite(k, writeCount, normalize(intermediate + secondArguments[intermediate]),
+                        instructions[source], firstArguments[source], secondArguments[source]);
+            }
+            case ADD -> writeCount = bufferWrite(k, writeCount, position, instructions[position], first,
+                    first + second);
+            case ADD_R -> {
+                int target = normalize(position + second);
+                reads[readBase + readCount++] = target;
+                writeCount = bufferWrite(k, writeCount, target, instructions[target], firstArguments[target],
+                        first + secondArguments[target]);
+            }
+            case JMP -> next = position + first;
+            case JMZ -> {
+                int check = normalize(position + second);
+                reads[readBase + readCount++] = check;
+                if (secondArguments[check] == 0) {
+                    next = position + first;
+                }
+            }
+            case CMP -> {
+                int firstCell = normalize(position + first);
+                int secondCell = normalize(position + second);
+                reads[readBase + readCount++] = firstCell;
+                reads[readBase + readCount++] = secondCell;
+                if (firstArguments[firstCell] != secondArguments[secondCell]) {
+                    next = position + 2;
+                }
+            }
+            case SWAP -> {
+                int firstCell = normalize(position + first);
+                int secondCell = normalize(position + second);
+                reads[readBase + readCount++] = firstCell;
+                reads[readBase + readCount++] = secondCell;
+                if (firstCell == secondCell) {
+                    writeCount = bufferWrite(k, writeCount, firstCell, instructions[firstCell],
+                            secondArguments[firstCell], firstArguments[firstCell]);
+                } else {
+                    writeCount = bufferWrite(k, writeCount, firstCell, instructions[firstCell],
+                            secondArguments[secondCell], secondArguments[firstCell]);
+                    writeCount = bufferWrite(k, writeCount, secondCell, instructions[secondCell],
+                            firstArguments[secondCell], firstArguments[firstCell]);
+                }
+            }
+        }
+        readCounts[k] = readCount;
+        writeCounts[k] = writeCount;
+        nextPositions[k] = normalize(next);
+    }
+
+    private int bufferWrite(int k, int writeCount, int position, int instruction, int firstArgument,
+                            int secondArgument) {
+        int index = k * MAX_WRITES + writeCount;
+        writePositions[index] = position;
+        writeInstructions[index] = instruction;
+        writeFirstArguments[index] = firstArgument;
+        writeSecondArguments[index] = secondArgument;
+        return writeCount + 1;
+    }
+
+    private boolean hasConflict(int k) {
+        for (int r = k * MAX_READS; r < k * MAX_READS + readCounts[k]; r++) {
+            if (writtenStamps[reads[r]] == stamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the buffered writes of a step to the memory and moves its AI on.
+     *
+     * @param k          index of the step in the window
+     * @param stoppedAIs list collecting the AIs stopped by the step
+     */
+    private void commit(int k, List<StoppedAI> stoppedAIs) {
+        int ai = windowAIs[k];
+        for (int w = k * MAX_WRITES; w < k * MAX_WRITES + writeCounts[k]; w++) {
+            int position = writePositions[w];
+            instructions[position] = writeInstructions[w];
+            firstArguments[position] = writeFirstArguments[w];
+            secondArguments[position] = writeSecondArguments[w];
+            owners[position] = ai;
+            bombs[position] = AICommands.isBomb(INSTRUCTIONS[writeInstructions[w]], writeFirstArguments[w],
+                    writeSecondArguments[w]);
+            writtenStamps[position] = stamp;
+        }
+        if (stops[k]) {
+            stoppedAIs.add(new StoppedAI(names[ai], aiSteps[ai]));
+            aiStopped[ai] = true;
+            stoppedCount++;
+        } else {
+            aiPositions[ai] = nextPositions[k];
+        }
+        aiSteps[ai]++;
+    }
+
+    private int nextRunningAI(int ai) {
+        int next = ai;
+        do {
+            next = (next + 1) % names.length;
+        } while (aiStopped[next]);
+        return next;
+    }
+
+    private int normalize(int position) {
+        return Math.floorMod(position, memorySize);
+    }
+
+    /**
+     * Worker thread speculating on every n-th step of a window.
+     * Between windows it spins for a while and then parks until the next window is published.
+     */
+    private final class Worker implements Runnable {
+        private final int offset;
+        private final Thread thread;
+        private volatile boolean sleeping;
+
+        private Worker(int offset) {
+            this.offset = offset;
+            this.thread = new Thread(this, WORKER_NAME.formatted(offset));
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            long seen = 0;
+            int idleSpins = 0;
+            while (!closed) {
+                long current = generation;
+                if (current == seen) {
+                    if (++idleSpins < SPIN_LIMIT) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    sleeping = true;
+                    if (generation == seen && !closed) {
+                        LockSupport.park(this);
+                    }
+                    sleeping = false;
+                    idleSpins = 0;
+                    continue;
+                }
+                seen = current;
+                idleSpins = 0;
+                for (int k = offset; k < windowSize; k += workers.length + 1) {
+                    speculate(k);
+                }
+                pendingWorkers.decrementAndGet();
+            }
+        }
+    }
+}
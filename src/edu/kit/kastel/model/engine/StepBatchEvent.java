@@ -0,0 +1,27 @@
+package edu.kit.kastel.model.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event sampling a batch of steps executed by the engine.
+ * Only batches taking longer than the threshold are recorded, which keeps single steps out of recordings.
+ *
+ * @author uiiux
+ */
+@Name("edu.kit.kastel.StepBatch")
+@Label("Step Batch")
+@Category("CodeFight")
+@Description("A batch of steps executed by the engine")
+@Threshold("1 ms")
+public class StepBatchEvent extends Event {
+    @Label("Steps")
+    long steps;
+
+    @Label("Steps per Second")
+    double stepsPerSecond;
+}
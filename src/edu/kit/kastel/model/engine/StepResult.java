@@ -0,0 +1,14 @@
+package edu.kit.kastel.model.engine;
+
+import java.util.List;
+
+/**
+ * Result of executing steps through the game engine.
+ *
+ * @param stepsExecuted number of steps that were executed
+ * @param stoppedAIs    AIs that stopped during the run, in the order they stopped
+ * @param gameOver      true if all AIs are stopped
+ * @author uiiux
+ */
+public record StepResult(long stepsExecuted, List<StoppedAI> stoppedAIs, boolean gameOver) {
+}
@@ -0,0 +1,11 @@
+package edu.kit.kastel.model.engine;
+
+/**
+ * An AI that stopped during a run.
+ *
+ * @param name          name of the AI
+ * @param stepsExecuted steps the AI executed until stopping
+ * @author uiiux
+ */
+public record StoppedAI(String name, long stepsExecuted) {
+}
@@ -0,0 +1,11 @@
+package edu.kit.kastel.model.evolution;
+
+/**
+ * A genome together with its fitness.
+ *
+ * @param genome  the genome
+ * @param fitness fitness of the genome
+ * @author uiiux
+ */
+public record Candidate(Genome genome, Fitness fitness) {
+}
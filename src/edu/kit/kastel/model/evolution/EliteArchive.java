@@ -0,0 +1,66 @@
+package edu.kit.kastel.model.evolution;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the Pareto front of the best candidates found so far over score, survival and program size.
+ * If the front grows beyond the capacity, the worst candidates by {@link Fitness#BEST_FIRST} are dropped.
+ *
+ * @author uiiux
+ */
+class EliteArchive {
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparing(Candidate::fitness,
+            Fitness.BEST_FIRST);
+
+    private final int capacity;
+    private final List<Candidate> candidates = new ArrayList<>();
+
+    /**
+     * Creates an empty archive.
+     *
+     * @param capacity maximum number of candidates kept
+     */
+    EliteArchive(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a candidate unless an archived candidate dominates it or has the same genome.
+     * Archived candidates dominated by the new one are removed.
+     *
+     * @param candidate candidate to be added
+     */
+    void offer(Candidate candidate) {
+        for (Candidate archived : candidates) {
+            if (archived.fitness().dominates(candidate.fitness()) || archived.genome().equals(candidate.genome())) {
+                return;
+            }
+        }
+        candidates.removeIf(archived -> candidate.fitness().dominates(archived.fitness()));
+        candidates.add(candidate);
+        candidates.sort(BEST_FIRST);
+        if (candidates.size() > capacity) {
+            candidates.remove(candidates.size() - 1);
+        }
+    }
+
+    /**
+     * Returns the archived candidates, best first.
+     *
+     * @return the candidates
+     */
+    List<Candidate> getCandidates() {
+        return List.copyOf(candidates);
+    }
+
+    /**
+     * Returns the best archived candidate.
+     *
+     * @return the best candidate or null if the archive is empty
+     */
+    Candidate getBest() {
+        return candidates.isEmpty() ? null : candidates.get(0);
+    }
+}
@@ -0,0 +1,150 @@
+package edu.kit.kastel.model.evolution;
+
+import edu.kit.kastel.model.engine.GameConfig;
+import edu.kit.kastel.model.engine.Program;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Breeds AI programs that perform well against a benchmark pool.
+ * Every generation is evaluated in parallel on all cores, each worker thread reusing its own engine.
+ * Breeding happens on the calling thread with a generator seeded from the configuration and the fitness of a
+ * genome does not depend on the thread evaluating it, so a run is reproducible for a given seed.
+ *
+ * @author uiiux
+ */
+public class Evolution {
+    private static final String EMPTY_BENCHMARK_ERROR = "The benchmark pool must not be empty.";
+    private static final String WORKER_NAME = "codefight-evolution";
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final double CROSSOVER_RATE = 0.7;
+    private static final int ELITES = 2;
+
+    private final GameConfig gameConfig;
+    private final List<Program> benchmark;
+    private final EvolutionConfig config;
+
+    /**
+     * Creates an evolution run.
+     *
+     * @param gameConfig configuration of the evaluation games
+     * @param benchmark  programs the genomes play against, also used as ancestors of the first generation
+     * @param config     parameters of the run
+     * @throws IllegalArgumentException if the benchmark pool is empty
+     */
+    public Evolution(GameConfig gameConfig, List<Program> benchmark, EvolutionConfig config) {
+        if (benchmark.isEmpty()) {
+            throw new IllegalArgumentException(EMPTY_BENCHMARK_ERROR);
+        }
+        this.gameConfig = gameConfig;
+        this.benchmark = List.copyOf(benchmark);
+        this.config = config;
+    }
+
+    /**
+     * Runs the evolution.
+     *
+     * @return the archived candidates, best first
+     * @throws InterruptedException if the thread is interrupted while waiting for evaluations
+     */
+    public List<Candidate> run() throws InterruptedException {
+        Random random = new Random(config.seed());
+        GeneticOperators operators = new GeneticOperators(random, config.maxProgramSize(),
+                gameConfig.memorySize() / 2);
+        EliteArchive archive = new EliteArchive(config.archiveSize());
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadLocal<FitnessEvaluator> evaluators = ThreadLocal.withInitial(
+                () -> new FitnessEvaluator(gameConfig, benchmark, config.maxSteps()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, WORKER_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Genome> genomes = firstGeneration(operators);
+            for (int generation = 0; generation < config.generations(); generation++) {
+                List<Candidate> population = evaluate(genomes, executor, evaluators);
+                for (Candidate candidate : population) {
+                    archive.offer(candidate);
+                }
+                genomes = nextGeneration(population, archive, operators, random);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return archive.getCandidates();
+    }
+
+    /**
+     * Returns the highest score a candidate can reach against the benchmark pool.
+     *
+     * @return the maximum score
+     */
+    public int getMaximumScore() {
+        return FitnessEvaluator.getMaximumScore(benchmark.size());
+    }
+
+    private List<Genome> firstGeneration(GeneticOperators operators) {
+        List<Genome> genomes = new ArrayList<>();
+        for (int i = 0; i < config.populationSize(); i++) {
+            if (i % 2 == 0) {
+                Genome ancestor = Genome.of(benchmark.get(i / 2 % benchmark.size()));
+                genomes.add(operators.mutate(operators.truncate(ancestor)));
+            } else {
+                genomes.add(operators.randomGenome());
+            }
+        }
+        return genomes;
+    }
+
+    private List<Candidate> evaluate(List<Genome> genomes, ExecutorService executor,
+                                     ThreadLocal<FitnessEvaluator> evaluators) throws InterruptedException {
+        List<Future<Fitness>> futures = new ArrayList<>(genomes.size());
+        for (Genome genome : genomes) {
+            futures.add(executor.submit(() -> evaluators.get().evaluate(genome)));
+        }
+        List<Candidate> population = new ArrayList<>(genomes.size());
+        for (int i = 0; i < genomes.size(); i++) {
+            try {
+                population.add(new Candidate(genomes.get(i), futures.get(i).get()));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return population;
+    }
+
+    private List<Genome> nextGeneration(List<Candidate> population, EliteArchive archive,
+                                        GeneticOperators operators, Random random) {
+        List<Genome> genomes = new ArrayList<>(config.populationSize());
+        List<Candidate> elites = archive.getCandidates();
+        for (int i = 0; i < Math.min(ELITES, elites.size()); i++) {
+            genomes.add(operators.mutate(elites.get(i).genome()));
+        }
+        while (genomes.size() < config.populationSize()) {
+            Genome parent = select(population, random);
+            Genome child = random.nextDouble() < CROSSOVER_RATE
+                    ? operators.crossover(parent, select(population, random))
+                    : parent;
+            genomes.add(operators.mutate(child));
+        }
+        return genomes;
+    }
+
+    private static Genome select(List<Candidate> population, Random random) {
+        Candidate best = population.get(random.nextInt(population.size()));
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            Candidate contender = population.get(random.nextInt(population.size()));
+            if (Fitness.BEST_FIRST.compare(contender.fitness(), best.fitness()) < 0) {
+                best = contender;
+            }
+        }
+        return best.genome();
+    }
+}
@@ -0,0 +1,16 @@
+package edu.kit.kastel.model.evolution;
+
+/**
+ * Parameters of an evolution run.
+ *
+ * @param generations    number of generations to breed
+ * @param populationSize number of genomes per generation
+ * @param archiveSize    maximum number of candidates in the elite archive
+ * @param maxProgramSize maximum number of instructions of a genome
+ * @param maxSteps       maximum number of steps of an evaluation game
+ * @param seed           seed making the run reproducible
+ * @author uiiux
+ */
+public record EvolutionConfig(int generations, int populationSize, int archiveSize, int maxProgramSize,
+                              int maxSteps, long seed) {
+}
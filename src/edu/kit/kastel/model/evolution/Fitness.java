@@ -0,0 +1,32 @@
+package edu.kit.kastel.model.evolution;
+
+import java.util.Comparator;
+
+/**
+ * Result of playing a genome against the benchmark pool.
+ *
+ * @param score    points won, three for every win and one for every draw
+ * @param survival total number of steps the genome executed over all games
+ * @param size     number of instructions of the genome
+ * @author uiiux
+ */
+public record Fitness(int score, long survival, int size) {
+    /**
+     * Orders fitness values from best to worst: higher score, then longer survival, then shorter programs.
+     */
+    public static final Comparator<Fitness> BEST_FIRST = Comparator.comparingInt(Fitness::score).reversed()
+            .thenComparing(Comparator.comparingLong(Fitness::survival).reversed())
+            .thenComparingInt(Fitness::size);
+
+    /**
+     * Checks if this fitness is at least as good as the other in every objective and better in one.
+     *
+     * @param other fitness to compare with
+     * @return true if this fitness dominates the other
+     */
+    public boolean dominates(Fitness other) {
+        boolean notWorse = score >= other.score && survival >= other.survival && size <= other.size;
+        boolean better = score > other.score || survival > other.survival || size < other.size;
+        return notWorse && better;
+    }
+}
@@ -0,0 +1,81 @@
+package edu.kit.kastel.model.evolution;
+
+import edu.kit.kastel.model.engine.BatchEngine;
+import edu.kit.kastel.model.engine.GameConfig;
+import edu.kit.kastel.model.engine.Program;
+
+import java.util.List;
+
+/**
+ * Plays genomes against a benchmark pool on one reusable batch engine.
+ * All games of an evaluation, one per opponent and seat, run together as lanes of the batch engine, so an
+ * evaluation allocates nothing beyond the program of the genome.
+ * An evaluator is used by one thread at a time.
+ *
+ * @author uiiux
+ */
+class FitnessEvaluator {
+    private static final int WIN_POINTS = 3;
+    private static final int DRAW_POINTS = 1;
+    private static final int SEATS = 2;
+    private static final String CANDIDATE_NAME = "candidate";
+
+    private final BatchEngine engine;
+    private final GameConfig config;
+    private final List<Program> benchmark;
+    private final int maxSteps;
+
+    /**
+     * Creates an evaluator with its own batch engine.
+     *
+     * @param config    configuration of the games
+     * @param benchmark programs the genomes play against
+     * @param maxSteps  maximum number of steps of a game
+     */
+    FitnessEvaluator(GameConfig config, List<Program> benchmark, int maxSteps) {
+        this.engine = new BatchEngine(config.memorySize(), benchmark.size() * SEATS, SEATS);
+        this.config = config;
+        this.benchmark = List.copyOf(benchmark);
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Plays the genome against every opponent, once as first and once as second AI.
+     *
+     * @param genome genome to be evaluated
+     * @return fitness of the genome
+     */
+    Fitness evaluate(Genome genome) {
+        Program candidate = genome.toProgram(CANDIDATE_NAME);
+        boolean[] started = new boolean[engine.getLanes()];
+        for (int lane = 0; lane < engine.getLanes(); lane++) {
+            Program opponent = benchmark.get(lane / SEATS);
+            List<Program> programs = lane % SEATS == 0 ? List.of(candidate, opponent) : List.of(opponent, candidate);
+            started[lane] = engine.load(lane, programs, config.initMode(), config.seed());
+        }
+        engine.run(maxSteps);
+        int score = 0;
+        long survival = 0;
+        for (int lane = 0; lane < engine.getLanes(); lane++) {
+            if (!started[lane]) {
+                continue;
+            }
+            int seat = lane % SEATS;
+            if (!engine.isStopped(lane, seat)) {
+                score += engine.isStopped(lane, 1 - seat) ? WIN_POINTS : DRAW_POINTS;
+            }
+            survival += engine.getStepsExecuted(lane, seat);
+        }
+        return new Fitness(score, survival, genome.size());
+    }
+
+    /**
+     * Returns the highest score a genome can reach.
+     *
+     * @param numberOfOpponents number of programs in the benchmark pool
+     * @return the maximum score
+     */
+    static int getMaximumScore(int numberOfOpponents) {
+        return numberOfOpponents * SEATS * WIN_POINTS;
+    }
+}
@@ -0,0 +1,141 @@
+package edu.kit.kastel.model.evolution;
+
+import edu.kit.kastel.model.ai.InstructionName;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Creates, mutates and crosses over genomes.
+ * All randomness comes from the given generator, so a seeded generator makes the results reproducible.
+ *
+ * @author uiiux
+ */
+class GeneticOperators {
+    private static final int NUMBER_OF_INSTRUCTIONS = InstructionName.values().length;
+    private static final int SMALL_ARGUMENT_RANGE = 8;
+    private static final int NUMBER_OF_MUTATIONS = 5;
+    private static final int CHANGE_INSTRUCTION = 0;
+    private static final int CHANGE_ARGUMENT = 1;
+    private static final int INSERT_INSTRUCTION = 2;
+    private static final int DELETE_INSTRUCTION = 3;
+
+    private final Random random;
+    private final int maxProgramSize;
+    private final int argumentRange;
+
+    /**
+     * Creates the operators.
+     *
+     * @param random         source of randomness
+     * @param maxProgramSize maximum number of instructions of a genome
+     * @param argumentRange  maximum absolute value of a random argument
+     */
+    GeneticOperators(Random random, int maxProgramSize, int argumentRange) {
+        this.random = random;
+        this.maxProgramSize = maxProgramSize;
+        this.argumentRange = Math.max(1, argumentRange);
+    }
+
+    /**
+     * Creates a random genome.
+     *
+     * @return the genome
+     */
+    Genome randomGenome() {
+        int size = 1 + random.nextInt(maxProgramSize);
+        int[] genes = new int[size * Genome.GENE_LENGTH];
+        for (int i = 0; i < size; i++) {
+            randomGene(genes, i);
+        }
+        return new Genome(genes);
+    }
+
+    /**
+     * Shortens a genome to the maximum program size.
+     *
+     * @param genome genome to be shortened
+     * @return the genome itself if it fits, otherwise its first instructions
+     */
+    Genome truncate(Genome genome) {
+        if (genome.size() <= maxProgramSize) {
+            return genome;
+        }
+        return new Genome(Arrays.copyOf(genome.genes(), maxProgramSize * Genome.GENE_LENGTH));
+    }
+
+    /**
+     * Applies one random mutation to a copy of the genome.
+     *
+     * @param genome genome to be mutated
+     * @return the mutated genome
+     */
+    Genome mutate(Genome genome) {
+        int[] genes = genome.genes();
+        int size = genome.size();
+        int position = random.nextInt(size);
+        int mutation = random.nextInt(NUMBER_OF_MUTATIONS);
+        if (mutation == INSERT_INSTRUCTION && size < maxProgramSize) {
+            int[] result = new int[genes.length + Genome.GENE_LENGTH];
+            System.arraycopy(genes, 0, result, 0, position * Genome.GENE_LENGTH);
+            System.arraycopy(genes, position * Genome.GENE_LENGTH, result, (position + 1) * Genome.GENE_LENGTH,
+                    genes.length - position * Genome.GENE_LENGTH);
+            randomGene(result, position);
+            return new Genome(result);
+        }
+        if (mutation == DELETE_INSTRUCTION && size > 1) {
+            int[] result = new int[genes.length - Genome.GENE_LENGTH];
+            System.arraycopy(genes, 0, result, 0, position * Genome.GENE_LENGTH);
+            System.arraycopy(genes, (position + 1) * Genome.GENE_LENGTH, result, position * Genome.GENE_LENGTH,
+                    result.length - position * Genome.GENE_LENGTH);
+            return new Genome(result);
+        }
+        int[] result = genes.clone();
+        if (mutation == CHANGE_INSTRUCTION) {
+            result[position * Genome.GENE_LENGTH] = random.nextInt(NUMBER_OF_INSTRUCTIONS);
+        } else if (mutation == CHANGE_ARGUMENT) {
+            result[position * Genome.GENE_LENGTH + 1 + random.nextInt(2)] += random.nextBoolean() ? 1 : -1;
+        } else {
+            result[position * Genome.GENE_LENGTH + 1 + random.nextInt(2)] = randomArgument();
+        }
+        return new Genome(result);
+    }
+
+    /**
+     * Combines the beginning of one genome with the end of another.
+     *
+     * @param first  genome providing the beginning
+     * @param second genome providing the end
+     * @return the child genome, never longer than the maximum program size
+     */
+    Genome crossover(Genome first, Genome second) {
+        int firstCut = random.nextInt(first.size() + 1);
+        int secondCut = random.nextInt(second.size() + 1);
+        int size = Math.min(maxProgramSize, firstCut + second.size() - secondCut);
+        if (size == 0) {
+            return first;
+        }
+        int[] genes = new int[size * Genome.GENE_LENGTH];
+        int fromFirst = Math.min(firstCut, size);
+        System.arraycopy(first.genes(), 0, genes, 0, fromFirst * Genome.GENE_LENGTH);
+        System.arraycopy(second.genes(), secondCut * Genome.GENE_LENGTH, genes, fromFirst * Genome.GENE_LENGTH,
+                (size - fromFirst) * Genome.GENE_LENGTH);
+        return new Genome(genes);
+    }
+
+    private void randomGene(int[] genes, int position) {
+        genes[position * Genome.GENE_LENGTH] = random.nextInt(NUMBER_OF_INSTRUCTIONS);
+        genes[position * Genome.GENE_LENGTH + 1] = randomArgument();
+        genes[position * Genome.GENE_LENGTH + 2] = randomArgument();
+    }
+
+    /**
+     * Draws an argument, preferring small offsets since most useful programs address their neighbourhood.
+     *
+     * @return the argument
+     */
+    private int randomArgument() {
+        int range = random.nextBoolean() ? Math.min(SMALL_ARGUMENT_RANGE, argumentRange) : argumentRange;
+        return random.nextInt(2 * range + 1) - range;
+    }
+}
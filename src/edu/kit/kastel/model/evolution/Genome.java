@@ -0,0 +1,100 @@
+package edu.kit.kastel.model.evolution;
+
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.engine.Program;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable instruction list of an AI program, packed into one int array.
+ * Every instruction takes three consecutive entries: the ordinal of the instruction and its two arguments.
+ *
+ * @author uiiux
+ */
+public final class Genome {
+    static final int GENE_LENGTH = 3;
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+    private static final String INSTRUCTION_SEPARATOR = ",";
+
+    private final int[] genes;
+
+    Genome(int[] genes) {
+        this.genes = genes;
+    }
+
+    /**
+     * Creates a genome from the instructions of a program.
+     *
+     * @param program program to be encoded
+     * @return the genome of the program
+     */
+    public static Genome of(Program program) {
+        List<MemoryCell> instructions = program.instructions();
+        int[] genes = new int[instructions.size() * GENE_LENGTH];
+        for (int i = 0; i < instructions.size(); i++) {
+            MemoryCell cell = instructions.get(i);
+            genes[i * GENE_LENGTH] = cell.getInstruction().ordinal();
+            genes[i * GENE_LENGTH + 1] = cell.getFirstArgument();
+            genes[i * GENE_LENGTH + 2] = cell.getSecondArgument();
+        }
+        return new Genome(genes);
+    }
+
+    /**
+     * Returns the number of instructions.
+     *
+     * @return size of the program
+     */
+    public int size() {
+        return genes.length / GENE_LENGTH;
+    }
+
+    int[] genes() {
+        return genes;
+    }
+
+    /**
+     * Decodes the genome into a program.
+     *
+     * @param name name of the program
+     * @return the program
+     */
+    public Program toProgram(String name) {
+        List<MemoryCell> instructions = new ArrayList<>(size());
+        for (int i = 0; i < genes.length; i += GENE_LENGTH) {
+            instructions.add(new MemoryCell(INSTRUCTIONS[genes[i]], genes[i + 1], genes[i + 2]));
+        }
+        return new Program(name, instructions);
+    }
+
+    /**
+     * Returns the instructions in the format accepted by add-ai.
+     *
+     * @return comma separated instructions and arguments
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < genes.length; i += GENE_LENGTH) {
+            if (i > 0) {
+                sb.append(INSTRUCTION_SEPARATOR);
+            }
+            sb.append(INSTRUCTIONS[genes[i]].name()).append(INSTRUCTION_SEPARATOR).append(genes[i + 1])
+                    .append(INSTRUCTION_SEPARATOR).append(genes[i + 2]);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Genome genome && Arrays.equals(genes, genome.genes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(genes);
+    }
+}
@@ -0,0 +1,128 @@
+package edu.kit.kastel.model.memory;
+
+import edu.kit.kastel.model.ai.AICommands;
+import edu.kit.kastel.model.ai.InstructionName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Indexes the memory by instruction, so cells holding a given instruction can be found
+ * without walking the memory.
+ * Keeps one bitset per instruction and one bitset of bombs, together with a copy of the arguments of every cell.
+ *
+ * @author uiiux
+ */
+public class InstructionIndex {
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = Long.SIZE - 1;
+
+    private final int memorySize;
+    private final long[][] instructionBits;
+    private final long[] bombBits;
+    private final InstructionName[] instructions;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+
+    /**
+     * Creates an empty index for a memory of the given size.
+     *
+     * @param memorySize size of the memory
+     */
+    public InstructionIndex(int memorySize) {
+        int words = (memorySize + WORD_MASK) >>> WORD_SHIFT;
+        this.memorySize = memorySize;
+        this.instructionBits = new long[InstructionName.values().length][words];
+        this.bombBits = new long[words];
+        this.instructions = new InstructionName[memorySize];
+        this.firstArguments = new int[memorySize];
+        this.secondArguments = new int[memorySize];
+    }
+
+    /**
+     * Rebuilds the whole index from the memory.
+     *
+     * @param memory memory to be indexed
+     */
+    public void rebuild(Iterable<MemoryCell> memory) {
+        for (long[] bits : instructionBits) {
+            Arrays.fill(bits, 0L);
+        }
+        Arrays.fill(bombBits, 0L);
+        Arrays.fill(instructions, null);
+        int position = 0;
+        for (MemoryCell cell : memory) {
+            update(position, cell);
+            position++;
+        }
+    }
+
+    /**
+     * Updates the index after a cell has been written.
+     *
+     * @param position position of the written cell
+     * @param cell     the written cell
+     */
+    public void update(int position, MemoryCell cell) {
+        int word = position >>> WORD_SHIFT;
+        long bit = 1L << (position & WORD_MASK);
+        InstructionName previous = instructions[position];
+        if (previous != null) {
+            instructionBits[previous.ordinal()][word] &= ~bit;
+        }
+        InstructionName instruction = cell.getInstruction();
+        instructions[position] = instruction;
+        firstArguments[position] = cell.getFirstArgument();
+        secondArguments[position] = cell.getSecondArgument();
+        instructionBits[instruction.ordinal()][word] |= bit;
+        if (AICommands.isBomb(instruction, cell.getFirstArgument(), cell.getSecondArgument())) {
+            bombBits[word] |= bit;
+        } else {
+            bombBits[word] &= ~bit;
+        }
+    }
+
+    /**
+     * Finds all cells holding an instruction, optionally filtered by its arguments.
+     *
+     * @param instruction    instruction to look for
+     * @param firstArgument  first argument the cells must have, or null for any
+     * @param secondArgument second argument the cells must have, or null for any
+     * @return ascending positions of the matching cells
+     */
+    public List<Integer> find(InstructionName instruction, Integer firstArgument, Integer secondArgument) {
+        return scan(instructionBits[instruction.ordinal()], firstArgument, secondArgument);
+    }
+
+    /**
+     * Finds all cells holding a bomb, optionally filtered by their arguments.
+     *
+     * @param firstArgument  first argument the cells must have, or null for any
+     * @param secondArgument second argument the cells must have, or null for any
+     * @return ascending positions of the matching cells
+     */
+    public List<Integer> findBombs(Integer firstArgument, Integer secondArgument) {
+        return scan(bombBits, firstArgument, secondArgument);
+    }
+
+    private List<Integer> scan(long[] bits, Integer firstArgument, Integer secondArgument) {
+        List<Integer> positions = new ArrayList<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int position = (word << WORD_SHIFT) + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                if (position < memorySize && matches(position, firstArgument, secondArgument)) {
+                    positions.add(position);
+                }
+            }
+        }
+        return positions;
+    }
+
+    private boolean matches(int position, Integer firstArgument, Integer secondArgument) {
+        return (firstArgument == null || firstArguments[position] == firstArgument)
+                && (secondArgument == null || secondArguments[position] == secondArgument);
+    }
+}
@@ -49,16 +49,20 @@ public void initialInitialization() {
         }
     }
 
+    /**
+     * Resets the seed and reinitializes the memory with default values, as if the initializer was new.
+     */
+    public void reset() {
+        this.seed = 0;
+        this.random = new Random();
+        initializeWithDefault();
+    }
+
     /**
      * Reinitialized the memory with default values, replacing any existing cells.
      */
     public void initializeWithDefault() {
-        for (int i = 0; i < maxSize; i++) {
-            MemoryCell newCell = new MemoryCell(InstructionName.STOP, 0, 0);
-            memory.replace(i, newCell);
-            newCell.setCurrentSymbol(defaultSymbol);
-            newCell.setDefaultSymbol(defaultSymbol);
-        }
+        memory.replaceAll(cell -> newCell(InstructionName.STOP, 0, 0));
     }
 
     /**
@@ -70,16 +74,19 @@ public void initializeWithRandoms(long seed) {
         this.seed = seed;
         this.random = new Random(seed);
         int numberOfInstructions = InstructionName.values().length;
-        for (int i = 0; i < maxSize; i++) {
+        memory.replaceAll(cell -> {
             int instructionIndex = random.nextInt(numberOfInstructions);
             int firstArgument = random.nextInt();
             int secondArgument = random.nextInt();
-            InstructionName instructionName = InstructionName.fromInt(instructionIndex);
-            MemoryCell newCell = new MemoryCell(instructionName, firstArgument, secondArgument);
-            memory.replace(i, newCell);
-            newCell.setCurrentSymbol(defaultSymbol);
-            newCell.setDefaultSymbol(defaultSymbol);
-        }
+            return newCell(InstructionName.fromInt(instructionIndex), firstArgument, secondArgument);
+        });
+    }
+
+    private MemoryCell newCell(InstructionName instruction, int firstArgument, int secondArgument) {
+        MemoryCell newCell = new MemoryCell(instruction, firstArgument, secondArgument);
+        newCell.setCurrentSymbol(defaultSymbol);
+        newCell.setDefaultSymbol(defaultSymbol);
+        return newCell;
     }
 
     /**
@@ -0,0 +1,157 @@
+package edu.kit.kastel.model.memory;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of which AI owns each memory cell and whether the cell holds a bomb.
+ * The per AI counters are updated with every write, so reading the scoreboard
+ * does not depend on the size of the memory.
+ *
+ * @author uiiux
+ */
+public class OwnershipIndex {
+
+    /**
+     * Owner id of cells that do not belong to any AI.
+     */
+    public static final int NO_OWNER = -1;
+
+    private final int[] owners;
+    private final boolean[] bombs;
+    private int[] ownedCells;
+    private int[] bombCells;
+    private long[] bombsPlanted;
+
+    /**
+     * Creates an empty ownership index for a memory of the given size.
+     *
+     * @param memorySize size of the memory
+     */
+    public OwnershipIndex(int memorySize) {
+        this.owners = new int[memorySize];
+        this.bombs = new boolean[memorySize];
+        reset(0);
+    }
+
+    /**
+     * Clears all owners and prepares the counters for a new game.
+     *
+     * @param numberOfAIs number of AIs taking part in the game
+     */
+    public void reset(int numberOfAIs) {
+        Arrays.fill(owners, NO_OWNER);
+        Arrays.fill(bombs, false);
+        ownedCells = new int[numberOfAIs];
+        bombCells = new int[numberOfAIs];
+        bombsPlanted = new long[numberOfAIs];
+    }
+
+    /**
+     * Records that an AI has written a cell.
+     *
+     * @param position position of the written cell
+     * @param owner    id of the AI that wrote the cell
+     * @param bomb     true if the written cell is a bomb
+     */
+    public void record(int position, int owner, boolean bomb) {
+        int previousOwner = owners[position];
+        if (previousOwner != NO_OWNER) {
+            ownedCells[previousOwner]--;
+            if (bombs[position]) {
+                bombCells[previousOwner]--;
+            }
+        }
+        owners[position] = owner;
+        bombs[position] = bomb;
+        ownedCells[owner]++;
+        if (bomb) {
+            bombCells[owner]++;
+            bombsPlanted[owner]++;
+        }
+    }
+
+    /**
+     * Sets the owner of a cell without counting a planted bomb, e.g. when restoring a fork of the game.
+     *
+     * @param position position of the cell
+     * @param owner    id of the owner or {@link #NO_OWNER}
+     * @param bomb     true if the cell is a bomb
+     */
+    public void place(int position, int owner, boolean bomb) {
+        int previousOwner = owners[position];
+        if (previousOwner != NO_OWNER) {
+            ownedCells[previousOwner]--;
+            if (bombs[position]) {
+                bombCells[previousOwner]--;
+            }
+        }
+        owners[position] = owner;
+        bombs[position] = bomb;
+        if (owner != NO_OWNER) {
+            ownedCells[owner]++;
+            if (bomb) {
+                bombCells[owner]++;
+            }
+        }
+    }
+
+    /**
+     * Sets the number of bombs an AI has planted since the game started, e.g. when restoring a fork of the game.
+     *
+     * @param owner        id of the AI
+     * @param bombsPlanted number of planted bombs
+     */
+    public void setBombsPlanted(int owner, long bombsPlanted) {
+        this.bombsPlanted[owner] = bombsPlanted;
+    }
+
+    /**
+     * Gets the id of the AI owning a cell.
+     *
+     * @param position position of the cell
+     * @return id of the owner or {@link #NO_OWNER}
+     */
+    public int getOwner(int position) {
+        return owners[position];
+    }
+
+    /**
+     * Checks if a cell holds a bomb.
+     *
+     * @param position position of the cell
+     * @return true if the cell holds a bomb
+     */
+    public boolean isBomb(int position) {
+        return bombs[position];
+    }
+
+    /**
+     * Gets the number of cells an AI currently owns.
+     *
+     * @param owner id of the AI
+     * @return number of owned cells
+     */
+    public int getOwnedCells(int owner) {
+        return ownedCells[owner];
+    }
+
+    /**
+     * Gets the number of bombs of an AI that are currently in memory.
+     *
+     * @param owner id of the AI
+     * @return number of bombs in memory
+     */
+    public int getBombCells(int owner) {
+        return bombCells[owner];
+    }
+
+    /**
+     * Gets the number of bombs an AI has planted since the game started.
+     *
+     * @param owner id of the AI
+     * @return number of planted bombs
+     */
+    public long getBombsPlanted(int owner) {
+        return bombsPlanted[owner];
+    }
+}
@@ -0,0 +1,274 @@
+package edu.kit.kastel.model.memory;
+
+import edu.kit.kastel.model.ai.InstructionName;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Persistent copy of the memory that can be forked in constant time.
+ * The cells are stored in blocks of 64 at the leaves of a tree with 32 children per node. A memory changes the nodes
+ * and blocks it created since its last fork in place and copies all others before writing, so after a fork a write
+ * copies one block and the few nodes above it, while the memory and its fork keep sharing everything else.
+ *
+ * @author uiiux
+ */
+public final class PersistentMemory {
+    private static final int BLOCK_BITS = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int BRANCH_BITS = 5;
+    private static final int BRANCHES = 1 << BRANCH_BITS;
+    private static final int BRANCH_MASK = BRANCHES - 1;
+
+    private final int size;
+    private final int shift;
+    private Node root;
+    private Object editToken = new Object();
+
+    /**
+     * Creates a memory of the given size with all cells set to STOP 0 0 without symbol and owner.
+     *
+     * @param size number of cells
+     */
+    public PersistentMemory(int size) {
+        this.size = size;
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int topShift = 0;
+        while ((blocks - 1) >>> topShift >= BRANCHES) {
+            topShift += BRANCH_BITS;
+        }
+        this.shift = topShift;
+        this.root = createNode(topShift, 0, blocks);
+    }
+
+    private PersistentMemory(int size, int shift, Node root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /**
+     * Creates a fork sharing all cells with this memory.
+     * Later writes to either memory are not visible in the other one.
+     *
+     * @return the fork
+     */
+    public PersistentMemory fork() {
+        editToken = new Object();
+        return new PersistentMemory(size, shift, root);
+    }
+
+    /**
+     * Returns the number of cells.
+     *
+     * @return size of the memory
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes a cell.
+     *
+     * @param position position of the cell
+     * @param cell     cell providing the instruction, the arguments and the default symbol
+     * @param owner    id of the owner of the cell or {@link OwnershipIndex#NO_OWNER}
+     * @param bomb     true if the cell is a bomb
+     */
+    public void set(int position, MemoryCell cell, int owner, boolean bomb) {
+        int blockIndex = position >>> BLOCK_BITS;
+        root = editable(root);
+        Node node = root;
+        for (int level = shift; level > 0; level -= BRANCH_BITS) {
+            int child = (blockIndex >>> level) & BRANCH_MASK;
+            Node next = editable((Node) node.children[child]);
+            node.children[child] = next;
+            node = next;
+        }
+        Block block = editable((Block) node.children[blockIndex & BRANCH_MASK]);
+        node.children[blockIndex & BRANCH_MASK] = block;
+        int offset = position & (BLOCK_SIZE - 1);
+        block.instructions[offset] = cell.getInstruction();
+        block.firstArguments[offset] = cell.getFirstArgument();
+        block.secondArguments[offset] = cell.getSecondArgument();
+        block.symbols[offset] = cell.getDefaultSymbol();
+        block.owners[offset] = owner;
+        block.bombs[offset] = bomb;
+    }
+
+    /**
+     * Returns the instruction of a cell.
+     *
+     * @param position position of the cell
+     * @return the instruction
+     */
+    public InstructionName getInstruction(int position) {
+        return blockOf(position).instructions[position & (BLOCK_SIZE - 1)];
+    }
+
+    /**
+     * Returns the first argument of a cell.
+     *
+     * @param position position of the cell
+     * @return the first argument
+     */
+    public int getFirstArgument(int position) {
+        return blockOf(position).firstArguments[position & (BLOCK_SIZE - 1)];
+    }
+
+    /**
+     * Returns the second argument of a cell.
+     *
+     * @param position position of the cell
+     * @return the second argument
+     */
+    public int getSecondArgument(int position) {
+        return blockOf(position).secondArguments[position & (BLOCK_SIZE - 1)];
+    }
+
+    /**
+     * Returns the default symbol of a cell.
+     *
+     * @param position position of the cell
+     * @return the symbol or null if it was never written
+     */
+    public String getSymbol(int position) {
+        return blockOf(position).symbols[position & (BLOCK_SIZE - 1)];
+    }
+
+    /**
+     * Returns the owner of a cell.
+     *
+     * @param position position of the cell
+     * @return id of the owner or {@link OwnershipIndex#NO_OWNER}
+     */
+    public int getOwner(int position) {
+        return blockOf(position).owners[position & (BLOCK_SIZE - 1)];
+    }
+
+    /**
+     * Checks if a cell is a bomb.
+     *
+     * @param position position of the cell
+     * @return true if the cell is a bomb
+     */
+    public boolean isBomb(int position) {
+        return blockOf(position).bombs[position & (BLOCK_SIZE - 1)];
+    }
+
+    /**
+     * Returns the number of cells per block.
+     *
+     * @return block size
+     */
+    public static int getBlockSize() {
+        return BLOCK_SIZE;
+    }
+
+    /**
+     * Calls the consumer with the first position of every block that is not shared with the other memory.
+     * Shared subtrees are skipped without looking at their cells.
+     *
+     * @param other    memory of the same size, usually a fork of this one
+     * @param consumer receives the first position of every differing block in ascending order
+     */
+    public void forEachDifferentBlock(PersistentMemory other, IntConsumer consumer) {
+        compare(root, other.root, shift, 0, consumer);
+    }
+
+    private static void compare(Node node, Node other, int level, int firstBlock, IntConsumer consumer) {
+        if (node == other) {
+            return;
+        }
+        for (int child = 0; child < BRANCHES; child++) {
+            Object nodeChild = node.children[child];
+            Object otherChild = other.children[child];
+            if (nodeChild == otherChild) {
+                continue;
+            }
+            int block = firstBlock + (child << level);
+            if (level == 0) {
+                consumer.accept(block << BLOCK_BITS);
+            } else {
+                compare((Node) nodeChild, (Node) otherChild, level - BRANCH_BITS, block, consumer);
+            }
+        }
+    }
+
+    private Block blockOf(int position) {
+        int blockIndex = position >>> BLOCK_BITS;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BRANCH_BITS) {
+            node = (Node) node.children[(blockIndex >>> level) & BRANCH_MASK];
+        }
+        return (Block) node.children[blockIndex & BRANCH_MASK];
+    }
+
+    private Node createNode(int level, int firstBlock, int blocks) {
+        Node node = new Node(editToken, new Object[BRANCHES]);
+        for (int child = 0; child < BRANCHES; child++) {
+            int block = firstBlock + (child << level);
+            if (block >= blocks) {
+                break;
+            }
+            node.children[child] = level == 0 ? new Block(editToken) : createNode(level - BRANCH_BITS, block, blocks);
+        }
+        return node;
+    }
+
+    private Node editable(Node node) {
+        return node.editToken == editToken ? node : new Node(editToken, node.children.clone());
+    }
+
+    private Block editable(Block block) {
+        return block.editToken == editToken ? block : new Block(editToken, block);
+    }
+
+    /**
+     * Inner node of the tree, holding nodes or blocks.
+     */
+    private static final class Node {
+        private final Object editToken;
+        private final Object[] children;
+
+        private Node(Object editToken, Object[] children) {
+            this.editToken = editToken;
+            this.children = children;
+        }
+    }
+
+    /**
+     * Cells of one block, stored field by field.
+     */
+    private static final class Block {
+        private final Object editToken;
+        private final InstructionName[] instructions;
+        private final int[] firstArguments;
+        private final int[] secondArguments;
+        private final String[] symbols;
+        private final int[] owners;
+        private final boolean[] bombs;
+
+        private Block(Object editToken) {
+            this.editToken = editToken;
+            this.instructions = new InstructionName[BLOCK_SIZE];
+            this.firstArguments = new int[BLOCK_SIZE];
+            this.secondArguments = new int[BLOCK_SIZE];
+            this.symbols = new String[BLOCK_SIZE];
+            this.owners = new int[BLOCK_SIZE];
+            this.bombs = new boolean[BLOCK_SIZE];
+            Arrays.fill(instructions, InstructionName.STOP);
+            Arrays.fill(owners, OwnershipIndex.NO_OWNER);
+        }
+
+        private Block(Object editToken, Block block) {
+            this.editToken = editToken;
+            this.instructions = block.instructions.clone();
+            this.firstArguments = block.firstArguments.clone();
+            this.secondArguments = block.secondArguments.clone();
+            this.symbols = block.symbols.clone();
+            this.owners = block.owners.clone();
+            this.bombs = block.bombs.clone();
+        }
+    }
+}
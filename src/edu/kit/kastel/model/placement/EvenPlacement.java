@@ -0,0 +1,40 @@
+package edu.kit.kastel.model.placement;
+
+/**
+ * Divides the memory evenly between the programs and places every program at the start of its part.
+ * Every program gets the memory not yet allocated divided by the number of programs not yet considered, so the
+ * first programs get the smaller parts if the memory cannot be divided evenly.
+ *
+ * @author uiiux
+ */
+public final class EvenPlacement implements PlacementStrategy {
+
+    @Override
+    public int[] place(int memorySize, int[] programSizes) {
+        int[] allocations = allocate(memorySize, programSizes.length);
+        int[] addresses = new int[programSizes.length];
+        int address = 0;
+        for (int i = 0; i < programSizes.length; i++) {
+            addresses[i] = address;
+            address += allocations[i];
+        }
+        return addresses;
+    }
+
+    /**
+     * Divides the memory between the AIs of a game.
+     *
+     * @param memorySize  size of the memory
+     * @param numberOfAIs number of AIs taking part in the game
+     * @return number of cells allocated to every AI, in playing order
+     */
+    public static int[] allocate(int memorySize, int numberOfAIs) {
+        int[] allocations = new int[numberOfAIs];
+        int remainingMemory = memorySize;
+        for (int i = 0; i < numberOfAIs; i++) {
+            allocations[i] = remainingMemory / (numberOfAIs - i);
+            remainingMemory -= allocations[i];
+        }
+        return allocations;
+    }
+}
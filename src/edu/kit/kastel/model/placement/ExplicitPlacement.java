@@ -0,0 +1,32 @@
+package edu.kit.kastel.model.placement;
+
+/**
+ * Places the programs at a given list of addresses, one address per program in playing order.
+ *
+ * @author uiiux
+ */
+public final class ExplicitPlacement implements PlacementStrategy {
+    private final int[] addresses;
+
+    /**
+     * Creates the placement.
+     *
+     * @param addresses address of the first instruction of every program, in playing order
+     */
+    public ExplicitPlacement(int[] addresses) {
+        this.addresses = addresses.clone();
+    }
+
+    @Override
+    public int[] place(int memorySize, int[] programSizes) {
+        if (addresses.length != programSizes.length) {
+            return null;
+        }
+        for (int address : addresses) {
+            if (address < 0 || address >= memorySize) {
+                return null;
+            }
+        }
+        return addresses.clone();
+    }
+}
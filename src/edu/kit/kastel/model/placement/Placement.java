@@ -0,0 +1,69 @@
+package edu.kit.kastel.model.placement;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Addresses of the programs of a game and the regions of memory they own, checked for overlaps.
+ * The region of a program starts at its address and ends where the next program in memory starts, so the regions
+ * cover the whole memory. Programs may wrap around the end of the memory.
+ *
+ * @author uiiux
+ */
+public final class Placement {
+    private final int[] addresses;
+    private final int[] regionSizes;
+
+    private Placement(int[] addresses, int[] regionSizes) {
+        this.addresses = addresses;
+        this.regionSizes = regionSizes;
+    }
+
+    /**
+     * Checks that no two programs overlap by comparing the interval of every program with the address of the
+     * program following it in memory, so the check does not depend on the size of the memory.
+     *
+     * @param memorySize   size of the memory
+     * @param addresses    address of every program between 0 and the memory size, in playing order
+     * @param programSizes number of instructions of every program, in playing order
+     * @return the placement, or null if programs overlap
+     */
+    public static Placement of(int memorySize, int[] addresses, int[] programSizes) {
+        int numberOfPrograms = addresses.length;
+        Integer[] order = new Integer[numberOfPrograms];
+        for (int i = 0; i < numberOfPrograms; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(program -> addresses[program]));
+        int[] regionSizes = new int[numberOfPrograms];
+        for (int i = 0; i < numberOfPrograms; i++) {
+            int program = order[i];
+            long end = i + 1 < numberOfPrograms ? addresses[order[i + 1]] : (long) addresses[order[0]] + memorySize;
+            if (addresses[program] + (long) programSizes[program] > end) {
+                return null;
+            }
+            regionSizes[program] = (int) (end - addresses[program]);
+        }
+        return new Placement(addresses.clone(), regionSizes);
+    }
+
+    /**
+     * Returns the address of the first instruction of a program.
+     *
+     * @param program index of the program in playing order
+     * @return the address
+     */
+    public int getAddress(int program) {
+        return addresses[program];
+    }
+
+    /**
+     * Returns the number of cells from the address of a program to the address of the next program in memory.
+     *
+     * @param program index of the program in playing order
+     * @return size of the region
+     */
+    public int getRegionSize(int program) {
+        return regionSizes[program];
+    }
+}
@@ -0,0 +1,20 @@
+package edu.kit.kastel.model.placement;
+
+/**
+ * Chooses where the programs of a game are loaded into the memory.
+ * The chosen addresses are checked by {@link Placement#of(int, int[], int[])}, so a strategy does not need to make
+ * sure the programs do not overlap.
+ *
+ * @author uiiux
+ */
+public interface PlacementStrategy {
+
+    /**
+     * Chooses the address of the first instruction of every program.
+     *
+     * @param memorySize   size of the memory
+     * @param programSizes number of instructions of every program, in playing order
+     * @return addresses between 0 and the memory size in playing order, or null if the programs cannot be placed
+     */
+    int[] place(int memorySize, int[] programSizes);
+}
@@ -0,0 +1,62 @@
+package edu.kit.kastel.model.placement;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Places the programs at random addresses, keeping at least a minimum number of free cells after every program.
+ * The programs stay in playing order around the memory. The memory left after the programs and their minimum
+ * separations is split at random points between the gaps, and the whole layout is rotated by a random offset.
+ * The same seed gives the same addresses for the same programs.
+ *
+ * @author uiiux
+ */
+public final class RandomPlacement implements PlacementStrategy {
+    private static final String NEGATIVE_SEPARATION_ERROR = "The minimum separation must not be negative.";
+    private final long seed;
+    private final int minimumSeparation;
+
+    /**
+     * Creates the placement.
+     *
+     * @param seed              seed of the random addresses
+     * @param minimumSeparation smallest number of free cells between two programs
+     * @throws IllegalArgumentException if the separation is negative
+     */
+    public RandomPlacement(long seed, int minimumSeparation) {
+        if (minimumSeparation < 0) {
+            throw new IllegalArgumentException(NEGATIVE_SEPARATION_ERROR);
+        }
+        this.seed = seed;
+        this.minimumSeparation = minimumSeparation;
+    }
+
+    @Override
+    public int[] place(int memorySize, int[] programSizes) {
+        int numberOfPrograms = programSizes.length;
+        long required = (long) minimumSeparation * numberOfPrograms;
+        for (int size : programSizes) {
+            required += size;
+        }
+        if (required > memorySize) {
+            return null;
+        }
+        int slack = (int) (memorySize - required);
+        Random random = new Random(seed);
+        int[] cuts = new int[numberOfPrograms];
+        for (int i = 0; i < numberOfPrograms - 1; i++) {
+            cuts[i] = random.nextInt(slack + 1);
+        }
+        cuts[numberOfPrograms - 1] = slack;
+        Arrays.sort(cuts);
+        int[] addresses = new int[numberOfPrograms];
+        long address = random.nextInt(memorySize);
+        int previousCut = 0;
+        for (int i = 0; i < numberOfPrograms; i++) {
+            addresses[i] = (int) (address % memorySize);
+            address += programSizes[i] + minimumSeparation + cuts[i] - previousCut;
+            previousCut = cuts[i];
+        }
+        return addresses;
+    }
+}
@@ -0,0 +1,317 @@
+package edu.kit.kastel.model.registry;
+
+import edu.kit.kastel.model.ai.InstructionName;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary file of registered programs: a header followed by an append-only sequence of records.
+ * A content record holds the hash, size and instructions of a program content, a program record the name of a
+ * program and the offset of its content record, and a removal record the name of a removed program. Programs with
+ * identical instructions share one content record.
+ * Opening a catalog maps the file and reads the record headers only; instructions are decoded when they are asked
+ * for. A record cut off by a crash while writing is dropped when the catalog is opened, and a catalog with more
+ * removals than programs is rewritten without the removed programs.
+ *
+ * @author uiiux
+ */
+class ProgramCatalog implements AutoCloseable {
+    private static final int MAGIC = 0x43464331;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final byte CONTENT_RECORD = 1;
+    private static final byte PROGRAM_RECORD = 2;
+    private static final byte REMOVAL_RECORD = 3;
+    private static final int HASH_OFFSET = 1;
+    private static final int SIZE_OFFSET = HASH_OFFSET + Long.BYTES;
+    private static final int INSTRUCTIONS_OFFSET = SIZE_OFFSET + Integer.BYTES;
+    private static final int INSTRUCTION_SIZE = 1 + 2 * Integer.BYTES;
+    private static final int NOT_FOUND = -1;
+    private static final int INSTRUCTION_COUNT = InstructionName.values().length;
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final String NOT_A_CATALOG_ERROR = "%s is not a program catalog.";
+    private static final String CORRUPT_CONTENT_ERROR = "The catalog is corrupt at offset %d.";
+
+    private final Path path;
+    private final Map<String, Long> programs = new LinkedHashMap<>();
+    private final Map<Long, List<Long>> contentsByHash = new HashMap<>();
+    private final Map<Long, ProgramContent> appendedContents = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long end;
+    private int removals;
+
+    /**
+     * Opens or creates a catalog.
+     *
+     * @param path path of the file
+     * @throws IOException if the file cannot be opened or is not a catalog
+     */
+    ProgramCatalog(Path path) throws IOException {
+        this.path = path;
+        open();
+        if (removals > programs.size()) {
+            compact();
+            open();
+        }
+    }
+
+    /**
+     * Returns the programs of the catalog in the order they were added.
+     *
+     * @return unmodifiable map from the name of a program to the offset of its content
+     */
+    Map<String, Long> getPrograms() {
+        return Collections.unmodifiableMap(programs);
+    }
+
+    /**
+     * Returns the number of instructions of a content without decoding it.
+     *
+     * @param offset offset of the content record
+     * @return size of the content
+     */
+    int size(long offset) {
+        ProgramContent content = appendedContents.get(offset);
+        return content != null ? content.size() : buffer.getInt(Math.toIntExact(offset) + SIZE_OFFSET);
+    }
+
+    /**
+     * Decodes a content.
+     *
+     * @param offset offset of the content record
+     * @return the content
+     * @throws IllegalStateException if the record holds an unknown instruction
+     */
+    ProgramContent read(long offset) {
+        ProgramContent content = appendedContents.get(offset);
+        if (content != null) {
+            return content;
+        }
+        int position = Math.toIntExact(offset);
+        int[] code = new int[buffer.getInt(position + SIZE_OFFSET) * ProgramContent.NUMBERS_PER_INSTRUCTION];
+        int instruction = position + INSTRUCTIONS_OFFSET;
+        for (int i = 0; i < code.length; i += ProgramContent.NUMBERS_PER_INSTRUCTION) {
+            code[i] = buffer.get(instruction) & 0xFF;
+            if (code[i] >= INSTRUCTION_COUNT) {
+                throw new IllegalStateException(CORRUPT_CONTENT_ERROR.formatted(offset));
+            }
+            code[i + 1] = buffer.getInt(instruction + 1);
+            code[i + 2] = buffer.getInt(instruction + 1 + Integer.BYTES);
+            instruction += INSTRUCTION_SIZE;
+        }
+        return new ProgramContent(code);
+    }
+
+    /**
+     * Looks up a content record with the same instructions.
+     *
+     * @param content the content
+     * @return the offset of the record or -1 if the catalog does not hold the content
+     */
+    long find(ProgramContent content) {
+        for (long offset : contentsByHash.getOrDefault(content.getHash(), List.of())) {
+            if (read(offset).equals(content)) {
+                return offset;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Appends a content record.
+     *
+     * @param content the content
+     * @return the offset of the record
+     * @throws IOException if the file cannot be written
+     */
+    long appendContent(ProgramContent content) throws IOException {
+        int[] code = content.getCode();
+        ByteBuffer record = ByteBuffer.allocate(INSTRUCTIONS_OFFSET + content.size() * INSTRUCTION_SIZE);
+        record.put(CONTENT_RECORD).putLong(content.getHash()).putInt(content.size());
+        for (int i = 0; i < code.length; i += ProgramContent.NUMBERS_PER_INSTRUCTION) {
+            record.put((byte) code[i]).putInt(code[i + 1]).putInt(code[i + 2]);
+        }
+        long offset = append(record);
+        contentsByHash.computeIfAbsent(content.getHash(), hash -> new ArrayList<>()).add(offset);
+        appendedContents.put(offset, content);
+        return offset;
+    }
+
+    /**
+     * Appends a program record.
+     *
+     * @param name          name of the program
+     * @param contentOffset offset of the content record of the program
+     * @throws IOException if the file cannot be written
+     */
+    void appendProgram(String name, long contentOffset) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        append(ByteBuffer.allocate(1 + Integer.BYTES + nameBytes.length + Long.BYTES)
+                .put(PROGRAM_RECORD).putInt(nameBytes.length).put(nameBytes).putLong(contentOffset));
+        programs.put(name, contentOffset);
+    }
+
+    /**
+     * Appends a removal record.
+     *
+     * @param name name of the removed program
+     * @throws IOException if the file cannot be written
+     */
+    void appendRemoval(String name) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        append(ByteBuffer.allocate(1 + Integer.BYTES + nameBytes.length)
+                .put(REMOVAL_RECORD).putInt(nameBytes.length).put(nameBytes));
+        programs.remove(name);
+        removals++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Opens the file and reads the record headers. A record that is cut off or unknown ends the catalog and is cut
+     * from the file.
+     *
+     * @throws IOException if the file cannot be opened or is not a catalog
+     */
+    private void open() throws IOException {
+        programs.clear();
+        contentsByHash.clear();
+        appendedContents.clear();
+        removals = 0;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            channel.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip(), 0);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+                || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            channel.close();
+            throw new IOException(NOT_A_CATALOG_ERROR.formatted(path));
+        }
+        int position = HEADER_SIZE;
+        int next;
+        while ((next = readRecord(position)) != NOT_FOUND) {
+            position = next;
+        }
+        end = position;
+        if (end < buffer.capacity()) {
+            channel.truncate(end);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+        }
+    }
+
+    /**
+     * Reads the header of a record.
+     *
+     * @param position offset of the record
+     * @return offset of the next record or -1 if there is no complete record at the offset
+     */
+    private int readRecord(int position) {
+        int remaining = buffer.capacity() - position;
+        if (remaining <= 0) {
+            return NOT_FOUND;
+        }
+        byte type = buffer.get(position);
+        if (type == CONTENT_RECORD) {
+            if (remaining < INSTRUCTIONS_OFFSET) {
+                return NOT_FOUND;
+            }
+            int size = buffer.getInt(position + SIZE_OFFSET);
+            if (size < 0 || size > (remaining - INSTRUCTIONS_OFFSET) / INSTRUCTION_SIZE) {
+                return NOT_FOUND;
+            }
+            contentsByHash.computeIfAbsent(buffer.getLong(position + HASH_OFFSET), hash -> new ArrayList<>())
+                    .add((long) position);
+            return position + INSTRUCTIONS_OFFSET + size * INSTRUCTION_SIZE;
+        }
+        if (type != PROGRAM_RECORD && type != REMOVAL_RECORD || remaining < 1 + Integer.BYTES) {
+            return NOT_FOUND;
+        }
+        int nameLength = buffer.getInt(position + 1);
+        int fixedLength = 1 + Integer.BYTES + (type == PROGRAM_RECORD ? Long.BYTES : 0);
+        if (nameLength < 0 || nameLength > remaining - fixedLength) {
+            return NOT_FOUND;
+        }
+        int recordLength = fixedLength + nameLength;
+        byte[] nameBytes = new byte[nameLength];
+        buffer.get(position + 1 + Integer.BYTES, nameBytes);
+        String name = new String(nameBytes, StandardCharsets.UTF_8);
+        if (type == REMOVAL_RECORD) {
+            programs.remove(name);
+            removals++;
+            return position + recordLength;
+        }
+        long contentOffset = buffer.getLong(position + recordLength - Long.BYTES);
+        if (contentOffset < HEADER_SIZE || contentOffset >= position
+                || buffer.get(Math.toIntExact(contentOffset)) != CONTENT_RECORD) {
+            return NOT_FOUND;
+        }
+        programs.remove(name);
+        programs.put(name, contentOffset);
+        return position + recordLength;
+    }
+
+    /**
+     * Rewrites the file with the programs that were not removed and the contents they use, then replaces the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void compact() throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY_FILE_SUFFIX);
+        try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            target.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip());
+            Map<Long, Long> movedContents = new HashMap<>();
+            for (Map.Entry<String, Long> program : programs.entrySet()) {
+                long offset = program.getValue();
+                Long movedOffset = movedContents.get(offset);
+                if (movedOffset == null) {
+                    movedOffset = target.position();
+                    int length = INSTRUCTIONS_OFFSET + size(offset) * INSTRUCTION_SIZE;
+                    writeFully(target, buffer.slice(Math.toIntExact(offset), length));
+                    movedContents.put(offset, movedOffset);
+                }
+                byte[] nameBytes = program.getKey().getBytes(StandardCharsets.UTF_8);
+                writeFully(target, ByteBuffer.allocate(1 + Integer.BYTES + nameBytes.length + Long.BYTES)
+                        .put(PROGRAM_RECORD).putInt(nameBytes.length).put(nameBytes).putLong(movedOffset).flip());
+            }
+            target.force(true);
+        }
+        channel.close();
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private long append(ByteBuffer record) throws IOException {
+        long offset = end;
+        record.flip();
+        while (record.hasRemaining()) {
+            end += channel.write(record, end);
+        }
+        return offset;
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            target.write(data);
+        }
+    }
+}
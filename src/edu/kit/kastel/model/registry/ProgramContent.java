@@ -0,0 +1,111 @@
+package edu.kit.kastel.model.registry;
+
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Instructions of a program without its name, compared by content.
+ * The instructions are encoded as instruction, first and second argument of every cell. The 64-bit hash of the
+ * encoding identifies the content in the catalog; equal hashes are confirmed by comparing the encodings.
+ *
+ * @author uiiux
+ */
+final class ProgramContent {
+
+    /**
+     * Numbers of the encoding per instruction.
+     */
+    static final int NUMBERS_PER_INSTRUCTION = 3;
+
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final int[] code;
+    private final long hash;
+
+    /**
+     * Creates the content of an encoding.
+     *
+     * @param code encoded instructions, not changed afterwards
+     */
+    ProgramContent(int[] code) {
+        this.code = code;
+        long bits = FNV_OFFSET_BASIS;
+        for (int number : code) {
+            bits = (bits ^ number) * FNV_PRIME;
+        }
+        this.hash = bits;
+    }
+
+    /**
+     * Encodes the instructions of a program.
+     *
+     * @param instructions instructions of the program
+     * @return the content
+     */
+    static ProgramContent of(List<MemoryCell> instructions) {
+        int[] code = new int[instructions.size() * NUMBERS_PER_INSTRUCTION];
+        for (int i = 0; i < instructions.size(); i++) {
+            MemoryCell cell = instructions.get(i);
+            code[i * NUMBERS_PER_INSTRUCTION] = cell.getInstruction().ordinal();
+            code[i * NUMBERS_PER_INSTRUCTION + 1] = cell.getFirstArgument();
+            code[i * NUMBERS_PER_INSTRUCTION + 2] = cell.getSecondArgument();
+        }
+        return new ProgramContent(code);
+    }
+
+    /**
+     * Decodes the instructions.
+     *
+     * @return list of new cells
+     */
+    List<MemoryCell> toInstructions() {
+        List<MemoryCell> instructions = new ArrayList<>(size());
+        for (int i = 0; i < code.length; i += NUMBERS_PER_INSTRUCTION) {
+            instructions.add(new MemoryCell(INSTRUCTIONS[code[i]], code[i + 1], code[i + 2]));
+        }
+        return instructions;
+    }
+
+    /**
+     * Returns the number of instructions.
+     *
+     * @return size of the program
+     */
+    int size() {
+        return code.length / NUMBERS_PER_INSTRUCTION;
+    }
+
+    /**
+     * Returns the encoding. The caller must not change it.
+     *
+     * @return encoded instructions
+     */
+    int[] getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the 64-bit hash of the encoding.
+     *
+     * @return the hash
+     */
+    long getHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ProgramContent content && hash == content.hash && Arrays.equals(code, content.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
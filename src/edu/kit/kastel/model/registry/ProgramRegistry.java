@@ -0,0 +1,231 @@
+package edu.kit.kastel.model.registry;
+
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.ai.CompiledProgram;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registered programs, looked up by name in constant time.
+ * Programs with identical instructions share one {@link CompiledProgram}, found by the hash of their content.
+ * The registry can be backed by a {@link ProgramCatalog}: the programs of the catalog are registered when it is
+ * opened, but their instructions are only read when a program is first asked for, and every later change is
+ * written to the catalog.
+ *
+ * @author uiiux
+ */
+public class ProgramRegistry {
+    private static final String DUPLICATE_NAME_ERROR = "A program named %s is already registered.";
+    private static final String NOT_EMPTY_ERROR = "A catalog can only be opened while no program is registered.";
+    private static final long NO_OFFSET = -1;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Map<ProgramContent, SharedProgram> contents = new HashMap<>();
+    private ProgramCatalog catalog;
+    private int instructionCount;
+
+    /**
+     * Opens or creates a catalog and registers its programs without reading their instructions.
+     * Programs added or removed afterwards are written to the catalog.
+     *
+     * @param path path of the catalog
+     * @throws IOException           if the catalog cannot be opened
+     * @throws IllegalStateException if programs are registered
+     */
+    public void openCatalog(Path path) throws IOException {
+        if (!entries.isEmpty() || catalog != null) {
+            throw new IllegalStateException(NOT_EMPTY_ERROR);
+        }
+        catalog = new ProgramCatalog(path);
+        for (Map.Entry<String, Long> program : catalog.getPrograms().entrySet()) {
+            int size = catalog.size(program.getValue());
+            entries.put(program.getKey(), new Entry(size, program.getValue()));
+            instructionCount += size;
+        }
+    }
+
+    /**
+     * Checks if a program is registered.
+     *
+     * @param name name of the program
+     * @return true if the program is registered
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Returns a registered program, reading its instructions from the catalog on first use.
+     *
+     * @param name name of the program
+     * @return the program or null if it is not registered
+     * @throws IllegalStateException if the catalog is corrupt
+     */
+    public AI get(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.ai == null) {
+            entry.content = catalog.read(entry.catalogOffset);
+            entry.ai = new AI(name, share(entry.content));
+        }
+        return entry.ai;
+    }
+
+    /**
+     * Returns all registered programs in the order they were added.
+     *
+     * @return the programs
+     * @throws IllegalStateException if the catalog is corrupt
+     */
+    public List<AI> getAll() {
+        List<AI> programs = new ArrayList<>(entries.size());
+        for (String name : entries.keySet()) {
+            programs.add(get(name));
+        }
+        return programs;
+    }
+
+    /**
+     * Returns the number of registered programs.
+     *
+     * @return number of programs
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total number of instructions of all registered programs.
+     *
+     * @return number of instructions
+     */
+    public int getInstructionCount() {
+        return instructionCount;
+    }
+
+    /**
+     * Registers a program. The registry keeps a compiled copy of the instructions.
+     *
+     * @param name         name of the program
+     * @param instructions instructions of the program
+     * @throws IllegalArgumentException if the name is taken
+     * @throws UncheckedIOException     if the program cannot be written to the catalog
+     */
+    public void add(String name, List<MemoryCell> instructions) {
+        if (entries.containsKey(name)) {
+            throw new IllegalArgumentException(DUPLICATE_NAME_ERROR.formatted(name));
+        }
+        ProgramContent content = ProgramContent.of(instructions);
+        long offset = NO_OFFSET;
+        if (catalog != null) {
+            try {
+                offset = catalog.find(content);
+                if (offset == NO_OFFSET) {
+                    offset = catalog.appendContent(content);
+                }
+                catalog.appendProgram(name, offset);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        Entry entry = new Entry(content.size(), offset);
+        entry.content = content;
+        entry.ai = new AI(name, share(content));
+        entries.put(name, entry);
+        instructionCount += entry.size;
+    }
+
+    /**
+     * Removes a program.
+     *
+     * @param name name of the program
+     * @return true if the program was removed, false if it was not registered
+     * @throws UncheckedIOException if the removal cannot be written to the catalog
+     */
+    public boolean remove(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return false;
+        }
+        if (catalog != null) {
+            try {
+                catalog.appendRemoval(name);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        entries.remove(name);
+        instructionCount -= entry.size;
+        if (entry.content != null) {
+            SharedProgram shared = contents.get(entry.content);
+            if (--shared.users == 0) {
+                contents.remove(entry.content);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forgets all programs and detaches the catalog without changing it.
+     *
+     * @throws UncheckedIOException if the catalog cannot be closed
+     */
+    public void clear() {
+        entries.clear();
+        contents.clear();
+        instructionCount = 0;
+        if (catalog != null) {
+            try {
+                catalog.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                catalog = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the compiled program of a content, shared with every registered program of the same content.
+     *
+     * @param content the content
+     * @return the compiled program
+     */
+    private CompiledProgram share(ProgramContent content) {
+        SharedProgram shared = contents.computeIfAbsent(content,
+                key -> new SharedProgram(CompiledProgram.of(key.toInstructions())));
+        shared.users++;
+        return shared.program;
+    }
+
+    private static final class Entry {
+        private final int size;
+        private final long catalogOffset;
+        private ProgramContent content;
+        private AI ai;
+
+        private Entry(int size, long catalogOffset) {
+            this.size = size;
+            this.catalogOffset = catalogOffset;
+        }
+    }
+
+    private static final class SharedProgram {
+        private final CompiledProgram program;
+        private int users;
+
+        private SharedProgram(CompiledProgram program) {
+            this.program = program;
+        }
+    }
+}
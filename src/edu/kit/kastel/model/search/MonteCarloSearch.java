@@ -0,0 +1,168 @@
+package edu.kit.kastel.model.search;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.GameListener;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.ai.AICommandExecutor;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Chooses the write of a searching AI by sampling candidate writes within its region and playing a rollout for
+ * each of them.
+ * The search keeps one rollout engine per worker in sync with the game by listening to the written cells, so a turn
+ * costs the rollouts only and not a copy of the memory. The rollouts of a turn are divided between the workers of
+ * the common pool. Candidates are drawn from a seeded generator before the rollouts start and ties are resolved
+ * by the order of the candidates, so the chosen writes do not depend on the number of workers.
+ *
+ * @author uiiux
+ */
+class MonteCarloSearch implements GameListener {
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+    private static final int CANDIDATES = 64;
+    private static final int ROLLOUT_ROUNDS = 32;
+    private static final int SMALL_ARGUMENT_RANGE = 8;
+    private static final int NO_WRITE = -1;
+    private static final long SEED = 0x5EA2C4L;
+
+    private final CodeFight codeFight;
+    private final Random random;
+    private final int[] positions = new int[CANDIDATES];
+    private final int[] instructions = new int[CANDIDATES];
+    private final int[] firstArguments = new int[CANDIDATES];
+    private final int[] secondArguments = new int[CANDIDATES];
+    private final int[] scores = new int[CANDIDATES];
+    private RolloutEngine[] engines;
+
+    /**
+     * Creates the search for an AI of a game.
+     *
+     * @param codeFight game the AI plays in
+     * @param name      name of the AI, used to seed the candidates
+     */
+    MonteCarloSearch(CodeFight codeFight, String name) {
+        this.codeFight = codeFight;
+        this.random = new Random(SEED ^ name.hashCode());
+    }
+
+    /**
+     * Searches the best write for the AI executing the next step and writes it if it beats writing nothing.
+     *
+     * @param ai                the searching AI
+     * @param aiCommandExecutor executor writing the chosen cell
+     */
+    void move(AI ai, AICommandExecutor aiCommandExecutor) {
+        if (engines == null) {
+            load();
+        }
+        sampleCandidates(ai);
+        int steps = ROLLOUT_ROUNDS * (codeFight.getRunningAI().size() - codeFight.getStoppedAIList().size());
+        if (engines.length == 1) {
+            evaluate(engines[0], ai, 0, CANDIDATES, steps);
+        } else {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int worker = 0; worker < engines.length; worker++) {
+                RolloutEngine engine = engines[worker];
+                int from = CANDIDATES * worker / engines.length;
+                int to = CANDIDATES * (worker + 1) / engines.length;
+                tasks.add(() -> {
+                    evaluate(engine, ai, from, to, steps);
+                    return null;
+                });
+            }
+            ForkJoinPool.commonPool().invokeAll(tasks);
+        }
+        int best = 0;
+        for (int candidate = 1; candidate < CANDIDATES; candidate++) {
+            if (scores[candidate] > scores[best]) {
+                best = candidate;
+            }
+        }
+        if (positions[best] != NO_WRITE) {
+            aiCommandExecutor.writeCell(ai, positions[best], INSTRUCTIONS[instructions[best]],
+                    firstArguments[best], secondArguments[best]);
+        }
+    }
+
+    @Override
+    public void onGameStarted() {
+        codeFight.removeGameListener(this);
+    }
+
+    @Override
+    public void onCellWritten(int position, MemoryCell cell, AI ai) {
+        for (RolloutEngine engine : engines) {
+            engine.set(position, cell);
+        }
+    }
+
+    @Override
+    public void onGameRestored() {
+        copyMemory();
+    }
+
+    /**
+     * Creates the rollout engines, copies the memory into them and starts listening to the game.
+     */
+    private void load() {
+        int workers = Math.min(Runtime.getRuntime().availableProcessors(), CANDIDATES);
+        engines = new RolloutEngine[workers];
+        for (int worker = 0; worker < workers; worker++) {
+            engines[worker] = new RolloutEngine(codeFight.getMemorySize(), codeFight.getPlayingList().size());
+        }
+        copyMemory();
+        codeFight.addGameListener(this);
+    }
+
+    private void copyMemory() {
+        int position = 0;
+        for (MemoryCell cell : codeFight.getMemory()) {
+            for (RolloutEngine engine : engines) {
+                engine.set(position, cell);
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Draws the candidate writes of a turn. The first candidate writes nothing.
+     *
+     * @param ai the searching AI
+     */
+    private void sampleCandidates(AI ai) {
+        int argumentRange = Math.max(1, codeFight.getMemorySize() / 2);
+        int memorySize = codeFight.getMemorySize();
+        positions[0] = NO_WRITE;
+        for (int candidate = 1; candidate < CANDIDATES; candidate++) {
+            positions[candidate] = (ai.getMemoryStart() + random.nextInt(ai.getMemoryAllocated())) % memorySize;
+            instructions[candidate] = random.nextInt(INSTRUCTIONS.length);
+            firstArguments[candidate] = randomArgument(argumentRange);
+            secondArguments[candidate] = randomArgument(argumentRange);
+        }
+    }
+
+    private void evaluate(RolloutEngine engine, AI ai, int from, int to, int steps) {
+        engine.loadAIs(codeFight.getPlayingList(), ai);
+        for (int candidate = from; candidate < to; candidate++) {
+            scores[candidate] = engine.rollout(positions[candidate], instructions[candidate],
+                    firstArguments[candidate], secondArguments[candidate], steps, ai.getOwnerId());
+        }
+    }
+
+    /**
+     * Draws an argument, preferring small offsets since most useful writes address the neighbourhood.
+     *
+     * @param range maximum absolute value of the argument
+     * @return the argument
+     */
+    private int randomArgument(int range) {
+        int argumentRange = random.nextBoolean() ? Math.min(SMALL_ARGUMENT_RANGE, range) : range;
+        return random.nextInt(2 * argumentRange + 1) - argumentRange;
+    }
+}
@@ -0,0 +1,219 @@
+package edu.kit.kastel.model.search;
+
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.List;
+
+/**
+ * Plays short continuations of a game on a copy of its state held in primitive arrays.
+ * Every rollout journals the cells it changes and undoes them afterwards, so cloning the state for a rollout costs
+ * nothing and the copy stays equal to the game it was loaded from. The instructions follow the semantics of the AI
+ * command executor exactly.
+ *
+ * @author uiiux
+ */
+class RolloutEngine {
+    private static final InstructionName[] INSTRUCTIONS = InstructionName.values();
+    private static final int WRITES_PER_STEP = 2;
+
+    private final int memorySize;
+    private final int[] instructions;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+    private final int[] aiPositions;
+    private final boolean[] aiStopped;
+    private final int[] savedPositions;
+    private final boolean[] savedStopped;
+    private int numberOfAIs;
+    private int currentAI;
+    private int stoppedCount;
+    private int[] journalPositions = new int[0];
+    private int[] journalInstructions = new int[0];
+    private int[] journalFirstArguments = new int[0];
+    private int[] journalSecondArguments = new int[0];
+    private int journalSize;
+
+    /**
+     * Creates an engine for games with the given memory size.
+     *
+     * @param memorySize size of the memory
+     * @param maxAIs     largest number of AIs in one game
+     */
+    RolloutEngine(int memorySize, int maxAIs) {
+        this.memorySize = memorySize;
+        this.instructions = new int[memorySize];
+        this.firstArguments = new int[memorySize];
+        this.secondArguments = new int[memorySize];
+        this.aiPositions = new int[maxAIs];
+        this.aiStopped = new boolean[maxAIs];
+        this.savedPositions = new int[maxAIs];
+        this.savedStopped = new boolean[maxAIs];
+    }
+
+    /**
+     * Copies a cell of the game.
+     *
+     * @param position position of the cell
+     * @param cell     the cell
+     */
+    void set(int position, MemoryCell cell) {
+        instructions[position] = cell.getInstruction().ordinal();
+        firstArguments[position] = cell.getFirstArgument();
+        secondArguments[position] = cell.getSecondArgument();
+    }
+
+    /**
+     * Copies the positions and states of the AIs of the game, wrapping the positions into the memory.
+     *
+     * @param playingList AIs of the game in playing order
+     * @param current     AI executing the next step
+     */
+    void loadAIs(List<AI> playingList, AI current) {
+        numberOfAIs = 0;
+        stoppedCount = 0;
+        for (AI ai : playingList) {
+            if (ai == current) {
+                currentAI = numberOfAIs;
+            }
+            aiPositions[numberOfAIs] = Math.floorMod(ai.getNextCellIndex(), memorySize);
+            aiStopped[numberOfAIs] = ai.isStopped();
+            if (ai.isStopped()) {
+                stoppedCount++;
+            }
+            numberOfAIs++;
+        }
+    }
+
+    /**
+     * Writes a cell, plays the given number of steps and rates the result for an AI.
+     * The state is the same as before afterwards.
+     *
+     * @param position       position of the written cell or a negative number to write nothing
+     * @param instruction    instruction of the written cell
+     * @param firstArgument  first argument of the written cell
+     * @param secondArgument second argument of the written cell
+     * @param steps          number of steps to be played
+     * @param ai             index of the rated AI in the playing order
+     * @return the number of stopped other AIs, plus the number of AIs if the rated AI is still running
+     */
+    int rollout(int position, int instruction, int firstArgument, int secondArgument, int steps, int ai) {
+        System.arraycopy(aiPositions, 0, savedPositions, 0, numberOfAIs);
+        System.arraycopy(aiStopped, 0, savedStopped, 0, numberOfAIs);
+        int savedCurrentAI = currentAI;
+        int savedStoppedCount = stoppedCount;
+        ensureJournalCapacity(steps * WRITES_PER_STEP + 1);
+        if (position >= 0) {
+            journal(position);
+            instructions[position] = instruction;
+            firstArguments[position] = firstArgument;
+            secondArguments[position] = secondArgument;
+        }
+        for (int i = 0; i < steps && stoppedCount < numberOfAIs; i++) {
+            step();
+        }
+        int stoppedOthers = aiStopped[ai] ? stoppedCount - 1 : stoppedCount;
+        int score = aiStopped[ai] ? stoppedOthers : numberOfAIs + stoppedOthers;
+        for (int i = journalSize - 1; i >= 0; i--) {
+            int journalPosition = journalPositions[i];
+            instructions[journalPosition] = journalInstructions[i];
+            firstArguments[journalPosition] = journalFirstArguments[i];
+            secondArguments[journalPosition] = journalSecondArguments[i];
+        }
+        journalSize = 0;
+        System.arraycopy(savedPositions, 0, aiPositions, 0, numberOfAIs);
+        System.arraycopy(savedStopped, 0, aiStopped, 0, numberOfAIs);
+        currentAI = savedCurrentAI;
+        stoppedCount = savedStoppedCount;
+        return score;
+    }
+
+    /**
+     * Executes the instruction of the current AI and moves on to the next running AI.
+     */
+    private void step() {
+        int position = aiPositions[currentAI];
+        int first = firstArguments[position];
+        int second = secondArguments[position];
+        int next = position + 1;
+        switch (INSTRUCTIONS[instructions[position]]) {
+            case STOP -> {
+                aiStopped[currentAI] = true;
+                stoppedCount++;
+            }
+            case MOV_R -> copyCell(normalize(position + first), normalize(position + second));
+            case MOV_I -> {
+                int intermediate = normalize(position + second);
+                copyCell(normalize(position + first), normalize(intermediate + secondArguments[intermediate]));
+            }
+            case ADD -> {
+                journal(position);
+                secondArguments[position] = first + second;
+            }
+            case ADD_R -> {
+                int target = normalize(position + second);
+                journal(target);
+                secondArguments[target] = first + secondArguments[target];
+            }
+            case JMP -> next = position + first;
+            case JMZ -> {
+                if (secondArguments[normalize(position + second)] == 0) {
+                    next = position + first;
+                }
+            }
+            case CMP -> {
+                if (firstArguments[normalize(position + first)] != secondArguments[normalize(position + second)]) {
+                    next = position + 2;
+                }
+            }
+            case SWAP -> {
+                int firstCell = normalize(position + first);
+                int secondCell = normalize(position + second);
+                journal(firstCell);
+                journal(secondCell);
+                int temp = firstArguments[firstCell];
+                firstArguments[firstCell] = secondArguments[secondCell];
+                secondArguments[secondCell] = temp;
+            }
+        }
+        if (aiStopped[currentAI]) {
+            if (stoppedCount == numberOfAIs) {
+                return;
+            }
+        } else {
+            aiPositions[currentAI] = normalize(next);
+        }
+        do {
+            currentAI = (currentAI + 1) % numberOfAIs;
+        } while (aiStopped[currentAI]);
+    }
+
+    private void copyCell(int source, int target) {
+        journal(target);
+        instructions[target] = instructions[source];
+        firstArguments[target] = firstArguments[source];
+        secondArguments[target] = secondArguments[source];
+    }
+
+    private void journal(int position) {
+        journalPositions[journalSize] = position;
+        journalInstructions[journalSize] = instructions[position];
+        journalFirstArguments[journalSize] = firstArguments[position];
+        journalSecondArguments[journalSize] = secondArguments[position];
+        journalSize++;
+    }
+
+    private void ensureJournalCapacity(int capacity) {
+        if (journalPositions.length < capacity) {
+            journalPositions = new int[capacity];
+            journalInstructions = new int[capacity];
+            journalFirstArguments = new int[capacity];
+            journalSecondArguments = new int[capacity];
+        }
+    }
+
+    private int normalize(int position) {
+        return Math.floorMod(position, memorySize);
+    }
+}
@@ -0,0 +1,80 @@
+package edu.kit.kastel.model.search;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.ai.AICommandExecutor;
+import edu.kit.kastel.model.ai.CompiledProgram;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.memory.MemoryCell;
+
+import java.util.List;
+
+/**
+ * Built-in opponent that plays a small bomber and improves it while playing.
+ * Before each of its steps it may write one cell within the memory allocated to it, chosen by a Monte Carlo search
+ * over sampled writes, see {@link MonteCarloSearch}. It can be used in a game under {@link #NAME} unless a program
+ * with this name has been added.
+ *
+ * @author uiiux
+ */
+public class SearchAI extends AI {
+
+    /**
+     * Name under which the opponent can take part in a game.
+     */
+    public static final String NAME = "searcher";
+
+    private static final int BOMB_DISTANCE = 7;
+    private static final int POINTER_FROM_ADD = 3;
+    private static final int POINTER_FROM_MOV = 2;
+    private static final int LOOP_OFFSET = -2;
+    private static final CompiledProgram BOMBER = createProgram();
+
+    private final CodeFight codeFight;
+    private final MonteCarloSearch search;
+
+    /**
+     * Creates the opponent for a game.
+     *
+     * @param name      name of the AI
+     * @param codeFight game the AI plays in
+     */
+    public SearchAI(String name, CodeFight codeFight) {
+        super(name, BOMBER);
+        this.codeFight = codeFight;
+        this.search = new MonteCarloSearch(codeFight, name);
+    }
+
+    /**
+     * Searches and writes the best cell, then executes the next instruction of the AI.
+     *
+     * @param aiCommandExecutor executes AI commands
+     */
+    @Override
+    public void execute(AICommandExecutor aiCommandExecutor) {
+        search.move(this, aiCommandExecutor);
+        super.execute(aiCommandExecutor);
+    }
+
+    @Override
+    public AI copy(String newName) {
+        SearchAI newAI = new SearchAI(newName, codeFight);
+        newAI.setDefaultSymbol(getDefaultSymbol());
+        newAI.setBombSymbol(getBombSymbol());
+        return newAI;
+    }
+
+    /**
+     * Creates the bomber the opponent starts with. It moves a pointer by a fixed distance and copies the pointer
+     * cell, a STOP, to where it points.
+     *
+     * @return the instructions of the bomber
+     */
+    private static CompiledProgram createProgram() {
+        return CompiledProgram.of(List.of(
+                new MemoryCell(InstructionName.ADD_R, BOMB_DISTANCE, POINTER_FROM_ADD),
+                new MemoryCell(InstructionName.MOV_I, POINTER_FROM_MOV, POINTER_FROM_MOV),
+                new MemoryCell(InstructionName.JMP, LOOP_OFFSET, 0),
+                new MemoryCell(InstructionName.STOP, 0, 0)));
+    }
+}
@@ -0,0 +1,55 @@
+package edu.kit.kastel.ui;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Serves command scripts over a Unix domain socket, so many games can be played in one running JVM.
+ * Every connection becomes a session of the session manager and reads commands line by line until
+ * the client closes its side of the connection or sends quit.
+ *
+ * @author uiiux
+ */
+public class DaemonServer {
+    private final Path socketPath;
+    private final SessionManager sessionManager;
+
+    /**
+     * Creates a daemon server.
+     *
+     * @param socketPath     path of the socket file to listen on
+     * @param sessionManager runs a session for every connection
+     */
+    public DaemonServer(Path socketPath, SessionManager sessionManager) {
+        this.socketPath = socketPath;
+        this.sessionManager = sessionManager;
+    }
+
+    /**
+     * Accepts connections until the process is terminated.
+     *
+     * @throws IOException if the socket cannot be opened
+     */
+    public void serve() throws IOException {
+        Files.deleteIfExists(socketPath);
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            while (server.isOpen()) {
+                SocketChannel client = server.accept();
+                sessionManager.startSession(Channels.newInputStream(client),
+                        new PrintStream(Channels.newOutputStream(client), true, StandardCharsets.UTF_8));
+            }
+        } finally {
+            sessionManager.shutdown();
+            Files.deleteIfExists(socketPath);
+        }
+    }
+}
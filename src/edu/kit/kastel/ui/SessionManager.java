@@ -0,0 +1,144 @@
+package edu.kit.kastel.ui;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.ui.command.CommandHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hosts many isolated games at the same time.
+ * Every session has its own game model, engine and command handler and runs on its own thread.
+ * Finished sessions are reset and kept in a pool, so their memory is reused by later sessions.
+ *
+ * @author uiiux
+ */
+public class SessionManager {
+    private static final String VIRTUAL_THREAD_EXECUTOR_METHOD = "newVirtualThreadPerTaskExecutor";
+    private static final String TOO_MANY_SESSIONS_ERROR = "Error, too many sessions.";
+    private static final String SESSION_ERROR_FORMAT = "Error, session failed: %s";
+
+    private final Supplier<CodeFight> modelFactory;
+    private final int maxSessions;
+    private final int maxIdleSessions;
+    private final int programCapacity;
+    private final Queue<Session> idleSessions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final ExecutorService executor = newSessionExecutor();
+
+    private static final class Session {
+        private final GameEngine engine;
+        private final CommandHandler commandHandler;
+
+        private Session(CodeFight codeFight, int programCapacity) {
+            this.engine = new GameEngine(codeFight, true);
+            this.engine.setProgramCapacity(programCapacity);
+            this.commandHandler = new CommandHandler(engine);
+        }
+    }
+
+    /**
+     * Creates a session manager.
+     *
+     * @param modelFactory    creates the game model of a new session
+     * @param maxSessions     maximum number of sessions running at the same time
+     * @param maxIdleSessions maximum number of finished sessions kept for reuse
+     * @param programCapacity maximum number of instructions of all programs registered in one session
+     */
+    public SessionManager(Supplier<CodeFight> modelFactory, int maxSessions, int maxIdleSessions,
+                          int programCapacity) {
+        this.modelFactory = modelFactory;
+        this.maxSessions = maxSessions;
+        this.maxIdleSessions = maxIdleSessions;
+        this.programCapacity = programCapacity;
+    }
+
+    /**
+     * Starts a session reading commands from the input and writing results to the output.
+     * The streams are closed when the session ends.
+     * If the maximum number of sessions is reached, the session is rejected.
+     *
+     * @param in  stream the commands are read from
+     * @param out stream the results and errors are written to
+     * @return true if the session was started, false if it was rejected
+     */
+    public boolean startSession(InputStream in, PrintStream out) {
+        if (activeCount.incrementAndGet() > maxSessions) {
+            activeCount.decrementAndGet();
+            out.println(TOO_MANY_SESSIONS_ERROR);
+            out.close();
+            return false;
+        }
+        executor.execute(() -> runSession(in, out));
+        return true;
+    }
+
+    /**
+     * Returns the number of sessions currently running.
+     *
+     * @return number of running sessions
+     */
+    public int getActiveSessions() {
+        return activeCount.get();
+    }
+
+    /**
+     * Stops accepting sessions and lets the running sessions finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void runSession(InputStream in, PrintStream out) {
+        Session session = acquire();
+        try (in; out) {
+            session.commandHandler.handleUserInput(in, out, out);
+        } catch (IOException e) {
+            System.err.println(SESSION_ERROR_FORMAT.formatted(e.getMessage()));
+        } finally {
+            release(session);
+            activeCount.decrementAndGet();
+        }
+    }
+
+    private Session acquire() {
+        Session session = idleSessions.poll();
+        if (session == null) {
+            return new Session(modelFactory.get(), programCapacity);
+        }
+        idleCount.decrementAndGet();
+        return session;
+    }
+
+    private void release(Session session) {
+        if (idleCount.incrementAndGet() > maxIdleSessions) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        session.engine.reset();
+        idleSessions.offer(session);
+    }
+
+    /**
+     * Creates the executor running the sessions.
+     * Uses one virtual thread per session if the runtime supports them, otherwise a cached thread pool.
+     *
+     * @return executor for the sessions
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_METHOD).invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
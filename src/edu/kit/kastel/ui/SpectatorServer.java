@@ -0,0 +1,162 @@
+package edu.kit.kastel.ui;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.kit.kastel.model.engine.DeltaStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the delta stream of a game over HTTP on the loopback interface, so a running match can be
+ * watched in a browser on the same machine.
+ * {@code /} serves a small page rendering the memory, {@code /stream} the server-sent events of the stream.
+ * Every spectator is served by its own thread, so a slow connection only delays its own subscription,
+ * which is dropped by the stream once it falls behind.
+ *
+ * @author uiiux
+ */
+public class SpectatorServer {
+    private static final String PAGE_PATH = "/";
+    private static final String STREAM_PATH = "/stream";
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final String CACHE_CONTROL_HEADER = "Cache-Control";
+    private static final String NO_CACHE = "no-cache";
+    private static final String PAGE_CONTENT_TYPE = "text/html; charset=utf-8";
+    private static final String STREAM_CONTENT_TYPE = "text/event-stream";
+    private static final String WORKER_NAME = "codefight-spectator";
+    private static final byte[] KEEP_ALIVE = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_UNAVAILABLE = 503;
+    private static final int CHUNKED_RESPONSE = 0;
+    private static final int NO_RESPONSE_BODY = -1;
+    private static final int BACKLOG = 0;
+    private static final int STOP_DELAY = 0;
+    private static final long POLL_TIMEOUT = 1000;
+    private static final String PAGE = """
+            <!DOCTYPE html>
+            <html><head><meta charset="utf-8"><title>CodeFight</title></head>
+            <body><pre id="ais"></pre><pre id="memory" style="white-space: pre-wrap; word-break: break-all"></pre>
+            <script>
+            const letters = "abcdefghijklmnopqrstuvwxyz";
+            let cells = [], ais = [];
+            function symbol(cell) {
+              if (cell[3] < 0) return ".";
+              const letter = letters[cell[3] % letters.length];
+              return cell[4] ? letter.toUpperCase() : letter;
+            }
+            function render(step) {
+              document.getElementById("ais").textContent = "step " + step + "\\n" + ais.map((ai, id) =>
+                  letters[id % letters.length] + " " + ai[0] + " @" + ai[1] + (ai[2] ? " (STOPPED)" : "")).join("\\n");
+              document.getElementById("memory").textContent = cells.map(symbol).join("");
+            }
+            new EventSource("/stream").onmessage = event => {
+              const message = JSON.parse(event.data);
+              if (message.type === "frame") {
+                cells = message.cells;
+                ais = message.ais;
+              } else {
+                message.cells.forEach(cell => cells[cell[0]] = cell.slice(1));
+                message.ais.forEach(ai => { ais[ai[0]][1] = ai[1]; ais[ai[0]][2] = ai[2]; });
+              }
+              render(message.step);
+            };
+            </script></body></html>
+            """;
+
+    private final DeltaStream deltaStream;
+    private final int maxSpectators;
+    private final AtomicInteger spectators = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, WORKER_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
+    private HttpServer server;
+
+    /**
+     * Creates a spectator server.
+     *
+     * @param deltaStream   stream of the game to be served
+     * @param maxSpectators maximum number of spectators connected at the same time
+     */
+    public SpectatorServer(DeltaStream deltaStream, int maxSpectators) {
+        this.deltaStream = deltaStream;
+        this.maxSpectators = maxSpectators;
+    }
+
+    /**
+     * Starts serving on the given port of the loopback interface.
+     *
+     * @param port port to listen on
+     * @throws IOException if the port cannot be opened
+     */
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext(PAGE_PATH, this::handlePage);
+        server.createContext(STREAM_PATH, this::handleStream);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Stops serving and disconnects all spectators.
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(STOP_DELAY);
+        }
+        executor.shutdownNow();
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals(PAGE_PATH)) {
+                exchange.sendResponseHeaders(HTTP_NOT_FOUND, NO_RESPONSE_BODY);
+                return;
+            }
+            byte[] page = PAGE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set(CONTENT_TYPE_HEADER, PAGE_CONTENT_TYPE);
+            exchange.sendResponseHeaders(HTTP_OK, page.length);
+            exchange.getResponseBody().write(page);
+        }
+    }
+
+    private void handleStream(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (spectators.incrementAndGet() > maxSpectators) {
+                exchange.sendResponseHeaders(HTTP_UNAVAILABLE, NO_RESPONSE_BODY);
+                return;
+            }
+            exchange.getResponseHeaders().set(CONTENT_TYPE_HEADER, STREAM_CONTENT_TYPE);
+            exchange.getResponseHeaders().set(CACHE_CONTROL_HEADER, NO_CACHE);
+            exchange.sendResponseHeaders(HTTP_OK, CHUNKED_RESPONSE);
+            streamTo(exchange.getResponseBody());
+        } finally {
+            spectators.decrementAndGet();
+        }
+    }
+
+    private void streamTo(OutputStream body) {
+        DeltaStream.Subscription subscription = deltaStream.subscribe();
+        try {
+            while (!subscription.isClosed()) {
+                byte[] message = subscription.poll(POLL_TIMEOUT);
+                body.write(message == null ? KEEP_ALIVE : message);
+                body.flush();
+            }
+        } catch (IOException e) {
+            subscription.close();
+        } catch (InterruptedException e) {
+            subscription.close();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package edu.kit.kastel.ui.command;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted for every executed command.
+ *
+ * @author uiiux
+ */
+@Name("edu.kit.kastel.CommandExecution")
+@Label("Command Execution")
+@Category("CodeFight")
+@Description("A command entered by the user was executed")
+public class CommandExecutionEvent extends Event {
+    @Label("Command")
+    String commandName;
+
+    @Label("Successful")
+    boolean successful;
+}
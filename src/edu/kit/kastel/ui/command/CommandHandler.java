@@ -2,20 +2,47 @@
 
 
 import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.BackgroundRun;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.engine.Simulation;
+import edu.kit.kastel.model.engine.SnapshotPublisher;
 import edu.kit.kastel.ui.command.initialization.AddAICommand;
+import edu.kit.kastel.ui.command.initialization.EvolveCommand;
 import edu.kit.kastel.ui.command.initialization.RemoveAICommand;
+import edu.kit.kastel.ui.command.initialization.SetEngineCommand;
 import edu.kit.kastel.ui.command.initialization.SetInitModeCommand;
+import edu.kit.kastel.ui.command.initialization.SetPlacementCommand;
+import edu.kit.kastel.ui.command.initialization.SimulateCommand;
 import edu.kit.kastel.ui.command.initialization.StartGameCommand;
+import edu.kit.kastel.ui.command.initialization.VerifyEngineCommand;
+import edu.kit.kastel.ui.command.playing.CancelCommand;
 import edu.kit.kastel.ui.command.playing.EndGameCommand;
+import edu.kit.kastel.ui.command.playing.EndureCommand;
+import edu.kit.kastel.ui.command.playing.FindCommand;
+import edu.kit.kastel.ui.command.playing.ForkCommand;
+import edu.kit.kastel.ui.command.playing.LatencyCommand;
+import edu.kit.kastel.ui.command.playing.LoadCheckpointCommand;
+import edu.kit.kastel.ui.command.playing.MetricsCommand;
 import edu.kit.kastel.ui.command.playing.NextCommand;
+import edu.kit.kastel.ui.command.playing.PauseCommand;
+import edu.kit.kastel.ui.command.playing.ResumeCommand;
+import edu.kit.kastel.ui.command.playing.RunCommand;
 import edu.kit.kastel.ui.command.playing.ShowAiCommand;
+import edu.kit.kastel.ui.command.playing.ShowHeatmapCommand;
 import edu.kit.kastel.ui.command.playing.ShowMemoryCommand;
+import edu.kit.kastel.ui.command.playing.ShowStatsCommand;
+import edu.kit.kastel.ui.command.playing.StatusCommand;
+import edu.kit.kastel.ui.command.playing.SwitchCommand;
 
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * This class handles the user input and executes the commands.
@@ -30,18 +57,54 @@ public final class CommandHandler {
     private static final String ADD_AI_COMMAND = "add-ai";
     private static final String REMOVE_AI_COMMAND = "remove-ai";
     private static final String SET_INIT_MODE_COMMAND = "set-init-mode";
+    private static final String SET_PLACEMENT_COMMAND = "set-placement";
+    private static final String SET_ENGINE_COMMAND = "set-engine";
+    private static final String SIMULATE_COMMAND = "simulate";
+    private static final String VERIFY_ENGINE_COMMAND = "verify-engine";
     private static final String START_GAME_COMMAND = "start-game";
     private static final String END_GAME_COMMAND = "end-game";
     private static final String NEXT_COMMAND = "next";
     private static final String SHOW_AI_COMMAND = "show-ai";
     private static final String SHOW_MEMORY_COMMAND = "show-memory";
+    private static final String SHOW_STATS_COMMAND = "show-stats";
+    private static final String FIND_COMMAND = "find";
+    private static final String RUN_COMMAND = "run";
+    private static final String ENDURE_COMMAND = "endure";
+    private static final String LOAD_CHECKPOINT_COMMAND = "load-checkpoint";
+    private static final String PAUSE_COMMAND = "pause";
+    private static final String RESUME_COMMAND = "resume";
+    private static final String CANCEL_COMMAND = "cancel";
+    private static final String STATUS_COMMAND = "status";
+    private static final String METRICS_COMMAND = "metrics";
+    private static final String HEATMAP_COMMAND = "heatmap";
+    private static final String SHOW_HEATMAP_COMMAND = "show-heatmap";
+    private static final String LATENCY_COMMAND = "latency";
+    private static final String EVOLVE_COMMAND = "evolve";
+    private static final String FORK_COMMAND = "fork";
+    private static final String SWITCH_COMMAND = "switch";
+    private static final String SET_PUBLISH_INTERVAL_COMMAND = "set-publish-interval";
+    private static final long DEFAULT_PUBLISH_INTERVAL = 4096;
+    private static final Set<String> RUN_CONTROL_COMMANDS = Set.of(
+            QUIT_COMMAND, HELP_COMMAND, PAUSE_COMMAND, RESUME_COMMAND, CANCEL_COMMAND, STATUS_COMMAND,
+            SET_PUBLISH_INTERVAL_COMMAND);
+    private static final Set<String> PUBLISHED_STATE_COMMANDS = Set.of(SHOW_MEMORY_COMMAND);
+    private static final Set<String> INSPECTION_COMMANDS = Set.of(
+            SHOW_AI_COMMAND, SHOW_MEMORY_COMMAND, SHOW_STATS_COMMAND, FIND_COMMAND, METRICS_COMMAND, HEATMAP_COMMAND,
+            SHOW_HEATMAP_COMMAND, LATENCY_COMMAND);
+    private static final String RUN_IN_PROGRESS_ERROR = "command '%s' not available while a run is in progress!";
     private static final String COMMAND_NOT_FOUND_FORMAT = "command '%s' not found!";
     private static final String WRONG_ARGUMENTS_COUNT_FORMAT = "wrong number of arguments for command '%s'!";
     private static final String INVALID_RESULT_TYPE_FORMAT = "Unexpected value: %s";
 
     private final CodeFight codeFight;
+    private final GameEngine engine;
+    private final BackgroundRun backgroundRun;
+    private final Simulation simulation;
+    private final SnapshotPublisher publisher;
     private final Map<String, Command> commands;
     private boolean running = false;
+    private PrintStream out = System.out;
+    private PrintStream err = System.err;
 
     /**
      * Constructs a new CommandHandler.
@@ -49,7 +112,20 @@ public final class CommandHandler {
      * @param codeFight the codefight game that this instance manages
      */
     public CommandHandler(CodeFight codeFight) {
-        this.codeFight = Objects.requireNonNull(codeFight);
+        this(new GameEngine(Objects.requireNonNull(codeFight), true));
+    }
+
+    /**
+     * Constructs a new CommandHandler driving the game through the given engine.
+     *
+     * @param engine the engine of the codefight game that this instance manages
+     */
+    public CommandHandler(GameEngine engine) {
+        this.engine = Objects.requireNonNull(engine);
+        this.codeFight = engine.getModel();
+        this.backgroundRun = new BackgroundRun(engine);
+        this.simulation = new Simulation();
+        this.publisher = new SnapshotPublisher(codeFight, DEFAULT_PUBLISH_INTERVAL);
         this.commands = new HashMap<>();
         this.initCommands();
     }
@@ -58,12 +134,29 @@ public CommandHandler(CodeFight codeFight) {
      * Starts the interaction with the user.
      */
     public void handleUserInput() {
+        handleUserInput(System.in, System.out, System.err);
+    }
+
+    /**
+     * Starts the interaction with the user over the given streams.
+     * Every interaction starts with the standard engine selected for simulated games.
+     *
+     * @param in  stream the commands are read from
+     * @param out stream the results are written to
+     * @param err stream the errors are written to
+     */
+    public void handleUserInput(InputStream in, PrintStream out, PrintStream err) {
         this.running = true;
+        this.out = out;
+        this.err = err;
+        simulation.selectStandard();
 
-        try (Scanner scanner = new Scanner(System.in)) {
+        try (Scanner scanner = new Scanner(in)) {
             while (running && scanner.hasNextLine()) {
                 executeCommand(scanner.nextLine());
             }
+        } finally {
+            backgroundRun.cancel();
         }
     }
 
@@ -83,37 +176,104 @@ private void executeCommand(String commandWithArguments) {
 
     private void executeCommand(String commandName, String[] commandArguments) {
         if (!commands.containsKey(commandName)) {
-            System.err.println(ERROR_PREFIX + COMMAND_NOT_FOUND_FORMAT.formatted(commandName));
+            err.println(ERROR_PREFIX + COMMAND_NOT_FOUND_FORMAT.formatted(commandName));
+        } else if (!isAvailableDuringRun(commandName)) {
+            err.println(ERROR_PREFIX + RUN_IN_PROGRESS_ERROR.formatted(commandName));
         } else if (commandArguments.length < commands.get(commandName).lowerLimitedNumberOfArguments()
                 || commandArguments.length > commands.get(commandName).upperLimitGetNumberGfArguments()) {
-            System.err.println(ERROR_PREFIX + WRONG_ARGUMENTS_COUNT_FORMAT.formatted(commandName));
+            err.println(ERROR_PREFIX + WRONG_ARGUMENTS_COUNT_FORMAT.formatted(commandName));
         } else {
+            CommandExecutionEvent event = new CommandExecutionEvent();
+            event.begin();
             CommandResult result = commands.get(commandName).execute(codeFight, commandArguments);
-            String output = switch (result.getType()) {
-                case SUCCESS -> result.getMessage();
-                case FAILURE -> ERROR_PREFIX + result.getMessage();
-            };
-            if (output != null) {
-                switch (result.getType()) {
-                    case SUCCESS -> System.out.println(output);
-                    case FAILURE -> System.err.println(output);
-                    default -> throw new IllegalStateException(INVALID_RESULT_TYPE_FORMAT.formatted(result.getType()));
-                }
+            event.end();
+            if (event.shouldCommit()) {
+                event.commandName = commandName;
+                event.successful = result.getType() == CommandResultType.SUCCESS;
+                event.commit();
             }
+            printResult(result);
+        }
+    }
+
+    /**
+     * Returns a printer bound to the streams of the current interaction.
+     * Reports of an endurance run are printed through it, so they never reach the streams of a later interaction.
+     *
+     * @return printer of command results
+     */
+    private Consumer<CommandResult> currentPrinter() {
+        PrintStream resultStream = out;
+        PrintStream errorStream = err;
+        return result -> printResult(result, resultStream, errorStream);
+    }
+
+    private void printResult(CommandResult result) {
+        printResult(result, out, err);
+    }
+
+    private static void printResult(CommandResult result, PrintStream out, PrintStream err) {
+        String output = switch (result.getType()) {
+            case SUCCESS -> result.getMessage();
+            case FAILURE -> ERROR_PREFIX + result.getMessage();
+        };
+        if (output != null) {
+            switch (result.getType()) {
+                case SUCCESS -> out.println(output);
+                case FAILURE -> err.println(output);
+                default -> throw new IllegalStateException(INVALID_RESULT_TYPE_FORMAT.formatted(result.getType()));
+            }
+        }
+    }
+
+    /**
+     * Checks if a command may be executed while a background run is in progress.
+     * Run control commands are always available, commands inspecting the game only while the run is paused.
+     * Commands showing the published state of the game are always available, see {@link SnapshotPublisher}.
+     *
+     * @param commandName name of the command
+     * @return true if the command may be executed
+     */
+    private boolean isAvailableDuringRun(String commandName) {
+        if (!backgroundRun.isActive() || RUN_CONTROL_COMMANDS.contains(commandName)
+                || PUBLISHED_STATE_COMMANDS.contains(commandName)) {
+            return true;
         }
+        return INSPECTION_COMMANDS.contains(commandName) && backgroundRun.isPaused();
     }
 
     private void initCommands() {
         addCommand(QUIT_COMMAND, new QuitCommand(this));
         addCommand(HELP_COMMAND, new HelpCommand());
-        addCommand(ADD_AI_COMMAND, new AddAICommand());
-        addCommand(REMOVE_AI_COMMAND, new RemoveAICommand());
-        addCommand(SET_INIT_MODE_COMMAND, new SetInitModeCommand());
-        addCommand(START_GAME_COMMAND, new StartGameCommand(codeFight));
-        addCommand(END_GAME_COMMAND, new EndGameCommand());
-        addCommand(NEXT_COMMAND, new NextCommand());
+        addCommand(ADD_AI_COMMAND, new AddAICommand(engine));
+        addCommand(REMOVE_AI_COMMAND, new RemoveAICommand(engine));
+        addCommand(SET_INIT_MODE_COMMAND, new SetInitModeCommand(engine));
+        addCommand(SET_PLACEMENT_COMMAND, new SetPlacementCommand(engine));
+        addCommand(SET_ENGINE_COMMAND, new SetEngineCommand(simulation));
+        addCommand(SIMULATE_COMMAND, new SimulateCommand(engine, simulation));
+        addCommand(VERIFY_ENGINE_COMMAND, new VerifyEngineCommand(simulation));
+        addCommand(START_GAME_COMMAND, new StartGameCommand(engine));
+        addCommand(EVOLVE_COMMAND, new EvolveCommand(engine));
+        addCommand(END_GAME_COMMAND, new EndGameCommand(engine));
+        addCommand(NEXT_COMMAND, new NextCommand(engine));
         addCommand(SHOW_AI_COMMAND, new ShowAiCommand());
-        addCommand(SHOW_MEMORY_COMMAND, new ShowMemoryCommand());
+        addCommand(SHOW_MEMORY_COMMAND, new ShowMemoryCommand(backgroundRun, publisher));
+        addCommand(SHOW_STATS_COMMAND, new ShowStatsCommand());
+        addCommand(FIND_COMMAND, new FindCommand());
+        addCommand(RUN_COMMAND, new RunCommand(backgroundRun));
+        addCommand(ENDURE_COMMAND, new EndureCommand(engine, backgroundRun, this::currentPrinter));
+        addCommand(LOAD_CHECKPOINT_COMMAND, new LoadCheckpointCommand(engine));
+        addCommand(PAUSE_COMMAND, new PauseCommand(backgroundRun));
+        addCommand(RESUME_COMMAND, new ResumeCommand(backgroundRun));
+        addCommand(CANCEL_COMMAND, new CancelCommand(backgroundRun));
+        addCommand(STATUS_COMMAND, new StatusCommand(backgroundRun));
+        addCommand(METRICS_COMMAND, new MetricsCommand());
+        addCommand(HEATMAP_COMMAND, new HeatmapCommand(engine));
+        addCommand(SHOW_HEATMAP_COMMAND, new ShowHeatmapCommand(engine));
+        addCommand(SET_PUBLISH_INTERVAL_COMMAND, new SetPublishIntervalCommand(publisher));
+        addCommand(LATENCY_COMMAND, new LatencyCommand(engine));
+        addCommand(FORK_COMMAND, new ForkCommand(engine));
+        addCommand(SWITCH_COMMAND, new SwitchCommand(engine));
     }
 
     private void addCommand(String commandName, Command command) {
@@ -0,0 +1,94 @@
+package edu.kit.kastel.ui.command;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.ExecutionHeatmap;
+import edu.kit.kastel.model.engine.GameEngine;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * This command enables, disables or exports the execution heatmap.
+ *
+ * @author uiiux
+ */
+public class HeatmapCommand implements Command {
+    private static final String ON = "on";
+    private static final String OFF = "off";
+    private static final String EXPORT = "export";
+    private static final String ENABLED_MESSAGE = "Heatmap enabled.";
+    private static final String DISABLED_MESSAGE = "Heatmap disabled.";
+    private static final String EXPORTED_MESSAGE = "Heatmap exported.";
+    private static final String NOT_ENABLED_ERROR = "Heatmap not enabled.";
+    private static final String INVALID_ARGUMENTS_ERROR = "Usage: heatmap on|off|export <file>";
+    private static final String EXPORT_FAILED_ERROR = "Heatmap could not be written: %s";
+    private static final int MODE_INDEX = 0;
+    private static final int FILE_INDEX = 1;
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 2;
+
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the engine of the game.
+     *
+     * @param engine engine of the game
+     */
+    public HeatmapCommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        String mode = commandArguments[MODE_INDEX];
+        if (commandArguments.length == 1 && mode.equals(ON)) {
+            engine.enableHeatmap();
+            return new CommandResult(CommandResultType.SUCCESS, ENABLED_MESSAGE);
+        }
+        if (commandArguments.length == 1 && mode.equals(OFF)) {
+            engine.disableHeatmap();
+            return new CommandResult(CommandResultType.SUCCESS, DISABLED_MESSAGE);
+        }
+        if (commandArguments.length != 2 || !mode.equals(EXPORT)) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_ARGUMENTS_ERROR);
+        }
+        ExecutionHeatmap heatmap = engine.getHeatmap();
+        if (heatmap == null) {
+            return new CommandResult(CommandResultType.FAILURE, NOT_ENABLED_ERROR);
+        }
+        try {
+            heatmap.export(Path.of(commandArguments[FILE_INDEX]));
+        } catch (IOException | InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, EXPORT_FAILED_ERROR.formatted(e.getMessage()));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, EXPORTED_MESSAGE);
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
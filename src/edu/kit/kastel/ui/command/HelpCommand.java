@@ -18,20 +18,62 @@ public class HelpCommand implements Command {
     private static final String HELP_COMMAND = "help";
     private static final String QUIT_COMMAND = "quit";
     private static final String SET_INIT_MODE_COMMAND = "set-init-mode";
+    private static final String SET_PLACEMENT_COMMAND = "set-placement";
+    private static final String SET_ENGINE_COMMAND = "set-engine";
+    private static final String SIMULATE_COMMAND = "simulate";
+    private static final String VERIFY_ENGINE_COMMAND = "verify-engine";
     private static final String START_GAME_COMMAND = "start-game";
     private static final String END_GAME_COMMAND = "end-game";
     private static final String NEXT_COMMAND = "next";
     private static final String SHOW_AI_COMMAND = "show-ai";
     private static final String SHOW_MEMORY_COMMAND = "show-memory";
+    private static final String SHOW_STATS_COMMAND = "show-stats";
+    private static final String FIND_COMMAND = "find";
+    private static final String RUN_COMMAND = "run";
+    private static final String ENDURE_COMMAND = "endure";
+    private static final String LOAD_CHECKPOINT_COMMAND = "load-checkpoint";
+    private static final String PAUSE_COMMAND = "pause";
+    private static final String RESUME_COMMAND = "resume";
+    private static final String CANCEL_COMMAND = "cancel";
+    private static final String STATUS_COMMAND = "status";
+    private static final String METRICS_COMMAND = "metrics";
+    private static final String HEATMAP_COMMAND = "heatmap";
+    private static final String SHOW_HEATMAP_COMMAND = "show-heatmap";
+    private static final String SET_PUBLISH_INTERVAL_COMMAND = "set-publish-interval";
+    private static final String LATENCY_COMMAND = "latency";
+    private static final String EVOLVE_COMMAND = "evolve";
+    private static final String FORK_COMMAND = "fork";
+    private static final String SWITCH_COMMAND = "switch";
     private static final String ADD_AI_HELP_TEXT = "Adds a new AI into the game.";
     private static final String HELP_TEXT = "Shows the description of commands for the current phase of the game";
     private static final String QUIT_TEXT = "Quits the Program";
     private static final String REMOVE_AI_HELP_TEXT = "Removes a AI from the game.";
     private static final String SET_INIT_HELP_TEXT = "Initializes the memory with either default values or random.";
+    private static final String SET_PLACEMENT_HELP_TEXT = "Places the AIs evenly, at random or at given addresses.";
+    private static final String SET_ENGINE_HELP_TEXT = "Selects the engine that simulated games are played on.";
+    private static final String SIMULATE_HELP_TEXT = "Plays the AIs without display in a memory of the given size.";
+    private static final String VERIFY_ENGINE_HELP_TEXT = "Compares the selected engine with the standard engine.";
     private static final String START_GAME_HELP_TEXT = "The game progresses to the playing phase with the specific AI's.";
     private static final String NEXT_HELP_TEXT = "Executes the next number of steps to be executed.";
     private static final String SHOW_MEMORY_HELP_TEXT = "Shows either an overview of memory or in detail.";
     private static final String SHOW_AI_HELP_TEXT = "Shows the current state of the AI.";
+    private static final String SHOW_STATS_HELP_TEXT = "Shows how many cells and bombs each AI owns.";
+    private static final String FIND_HELP_TEXT = "Finds all cells holding an instruction or a bomb.";
+    private static final String RUN_HELP_TEXT = "Executes the number of steps in the background.";
+    private static final String ENDURE_HELP_TEXT = "Executes the steps in the background, saving checkpoints.";
+    private static final String LOAD_CHECKPOINT_HELP_TEXT = "Continues the game from a saved checkpoint.";
+    private static final String PAUSE_HELP_TEXT = "Pauses the background run.";
+    private static final String RESUME_HELP_TEXT = "Resumes the paused background run.";
+    private static final String CANCEL_HELP_TEXT = "Cancels the background run.";
+    private static final String STATUS_HELP_TEXT = "Shows the progress of the background run.";
+    private static final String METRICS_HELP_TEXT = "Shows the execution counters of the game.";
+    private static final String HEATMAP_HELP_TEXT = "Enables, disables or exports the execution heatmap.";
+    private static final String SHOW_HEATMAP_HELP_TEXT = "Shows which memory regions the AIs execute.";
+    private static final String SET_PUBLISH_INTERVAL_HELP_TEXT = "Sets how often show-memory is updated during a run.";
+    private static final String LATENCY_HELP_TEXT = "Shows percentiles of the sampled step latencies.";
+    private static final String EVOLVE_HELP_TEXT = "Breeds a new AI against the added AIs and adds the best one.";
+    private static final String FORK_HELP_TEXT = "Saves the state of the game as a fork with the given name.";
+    private static final String SWITCH_HELP_TEXT = "Continues the game with another fork or lists the forks.";
     private static final String END_GAME_HELP_TEXT = "Ends the game, switching back to the Initialization phase.";
     private static final String HELP_FORMAT = "%s: %s";
 
@@ -54,7 +96,14 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
             helpMap.put(QUIT_COMMAND, QUIT_TEXT);
             helpMap.put(REMOVE_AI_COMMAND, REMOVE_AI_HELP_TEXT);
             helpMap.put(SET_INIT_MODE_COMMAND, SET_INIT_HELP_TEXT);
+            helpMap.put(SET_PLACEMENT_COMMAND, SET_PLACEMENT_HELP_TEXT);
+            helpMap.put(SET_ENGINE_COMMAND, SET_ENGINE_HELP_TEXT);
+            helpMap.put(SIMULATE_COMMAND, SIMULATE_HELP_TEXT);
+            helpMap.put(VERIFY_ENGINE_COMMAND, VERIFY_ENGINE_HELP_TEXT);
             helpMap.put(START_GAME_COMMAND, START_GAME_HELP_TEXT);
+            helpMap.put(HEATMAP_COMMAND, HEATMAP_HELP_TEXT);
+            helpMap.put(SET_PUBLISH_INTERVAL_COMMAND, SET_PUBLISH_INTERVAL_HELP_TEXT);
+            helpMap.put(EVOLVE_COMMAND, EVOLVE_HELP_TEXT);
         } else {
             helpMap.put(END_GAME_COMMAND, END_GAME_HELP_TEXT);
             helpMap.put(HELP_COMMAND, HELP_TEXT);
@@ -62,6 +111,22 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
             helpMap.put(NEXT_COMMAND, NEXT_HELP_TEXT);
             helpMap.put(SHOW_AI_COMMAND, SHOW_AI_HELP_TEXT);
             helpMap.put(SHOW_MEMORY_COMMAND, SHOW_MEMORY_HELP_TEXT);
+            helpMap.put(SHOW_STATS_COMMAND, SHOW_STATS_HELP_TEXT);
+            helpMap.put(FIND_COMMAND, FIND_HELP_TEXT);
+            helpMap.put(RUN_COMMAND, RUN_HELP_TEXT);
+            helpMap.put(ENDURE_COMMAND, ENDURE_HELP_TEXT);
+            helpMap.put(LOAD_CHECKPOINT_COMMAND, LOAD_CHECKPOINT_HELP_TEXT);
+            helpMap.put(PAUSE_COMMAND, PAUSE_HELP_TEXT);
+            helpMap.put(RESUME_COMMAND, RESUME_HELP_TEXT);
+            helpMap.put(CANCEL_COMMAND, CANCEL_HELP_TEXT);
+            helpMap.put(STATUS_COMMAND, STATUS_HELP_TEXT);
+            helpMap.put(METRICS_COMMAND, METRICS_HELP_TEXT);
+            helpMap.put(HEATMAP_COMMAND, HEATMAP_HELP_TEXT);
+            helpMap.put(SHOW_HEATMAP_COMMAND, SHOW_HEATMAP_HELP_TEXT);
+            helpMap.put(SET_PUBLISH_INTERVAL_COMMAND, SET_PUBLISH_INTERVAL_HELP_TEXT);
+            helpMap.put(LATENCY_COMMAND, LATENCY_HELP_TEXT);
+            helpMap.put(FORK_COMMAND, FORK_HELP_TEXT);
+            helpMap.put(SWITCH_COMMAND, SWITCH_HELP_TEXT);
         }
 
         StringBuilder helpText = new StringBuilder();
@@ -0,0 +1,71 @@
+package edu.kit.kastel.ui.command;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.SnapshotPublisher;
+
+/**
+ * This command changes how often the engine publishes the state of the game for show-memory during a background run.
+ * It may be used at any time, a running engine uses the new interval from its next batch on.
+ *
+ * @author uiiux
+ */
+public class SetPublishIntervalCommand implements Command {
+    private static final String INVALID_INTERVAL_ERROR = "The publish interval must be a positive number of steps.";
+    private static final String CHANGED_INTERVAL_MESSAGE = "Publishing every %d steps.";
+    private static final int INTERVAL_INDEX = 0;
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+
+    private final SnapshotPublisher publisher;
+
+    /**
+     * Provides access to the publisher of the game.
+     *
+     * @param publisher publisher of the state of the game
+     */
+    public SetPublishIntervalCommand(SnapshotPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        long interval;
+        try {
+            interval = Long.parseLong(commandArguments[INTERVAL_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_INTERVAL_ERROR);
+        }
+        if (interval < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_INTERVAL_ERROR);
+        }
+        publisher.setPublishInterval(interval);
+        return new CommandResult(CommandResultType.SUCCESS, CHANGED_INTERVAL_MESSAGE.formatted(interval));
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
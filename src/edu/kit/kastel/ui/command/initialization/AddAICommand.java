@@ -1,13 +1,15 @@
 package edu.kit.kastel.ui.command.initialization;
 
-import edu.kit.kastel.model.ai.AI;
 import edu.kit.kastel.model.CodeFight;
 import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.engine.Program;
 import edu.kit.kastel.model.memory.MemoryCell;
 import edu.kit.kastel.ui.command.Command;
 import edu.kit.kastel.ui.command.CommandResult;
 import edu.kit.kastel.ui.command.CommandResultType;
 
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +27,8 @@ public class AddAICommand implements Command {
     private static final String INVALID_AI_INSTRUCTIONS_ERROR = "Invalid AI instructions.";
     private static final String ADDING_WHILE_PLAYING_ERROR = "Cannot add when the game is running!";
     private static final String TOO_MANY_INSTRUCTIONS_ERROR = "Too many AI Commands";
+    private static final String CAPACITY_EXCEEDED_ERROR = "Not enough memory left for more AIs.";
+    private static final String CATALOG_ERROR = "Could not save the AI to the catalog: %s";
     private static final String EMPTY_SPACE = " ";
     private static final String INSTRUCTION_SEPARATOR = ",";
     private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 2;
@@ -34,6 +38,17 @@ public class AddAICommand implements Command {
     private static final int AI_INSTRUCTIONS_INDEX = 1;
     private static final int ELEMENTS_IN_AI_COMMAND = 3;
 
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the game engine.
+     *
+     * @param engine game engine
+     */
+    public AddAICommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
     /**
      * Executes the command.
      *
@@ -51,24 +66,25 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
             return new CommandResult(CommandResultType.FAILURE, INVALID_AI_NAME_ERROR);
         }
         String aiName = commandArguments[AI_NAME_INDEX];
-        for (AI ai : model.getListOfAI()) {
-            if (ai.getName().equals(aiName)) {
-                return new CommandResult(CommandResultType.FAILURE, DUPLICATE_AI_NAME_ERROR);
-            }
+        if (engine.hasProgram(aiName)) {
+            return new CommandResult(CommandResultType.FAILURE, DUPLICATE_AI_NAME_ERROR);
         }
         List<MemoryCell> instructionList = parseInstructions(commandArguments[AI_INSTRUCTIONS_INDEX]);
-        int offset = 0;
-        if (model.getMemory().size() % 2 == 1) {
-            offset = 1;
-        }
-        if (instructionList.size() > (model.getMemorySize() / 2) + offset) {
+        if (instructionList.size() > engine.getMaximumProgramSize()) {
             return new CommandResult(CommandResultType.FAILURE, TOO_MANY_INSTRUCTIONS_ERROR);
         }
 
         if (instructionList.isEmpty()) {
             return new CommandResult(CommandResultType.FAILURE, INVALID_AI_INSTRUCTIONS_ERROR);
         }
-        model.getListOfAI().add(new AI(aiName, instructionList));
+        if (!engine.hasCapacityFor(instructionList.size())) {
+            return new CommandResult(CommandResultType.FAILURE, CAPACITY_EXCEEDED_ERROR);
+        }
+        try {
+            engine.addProgram(new Program(aiName, instructionList));
+        } catch (UncheckedIOException e) {
+            return new CommandResult(CommandResultType.FAILURE, CATALOG_ERROR.formatted(e.getCause().getMessage()));
+        }
         return new CommandResult(CommandResultType.SUCCESS, aiName);
     }
 
@@ -0,0 +1,126 @@
+package edu.kit.kastel.ui.command.initialization;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.GameConfig;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.evolution.Candidate;
+import edu.kit.kastel.model.evolution.Evolution;
+import edu.kit.kastel.model.evolution.EvolutionConfig;
+import edu.kit.kastel.model.memory.Mode;
+import edu.kit.kastel.model.placement.EvenPlacement;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+import java.util.List;
+
+/**
+ * This command breeds a new AI against all added AIs and adds the best result under the given name.
+ *
+ * @author uiiux
+ */
+public class EvolveCommand implements Command {
+    private static final String EVOLVING_WHILE_PLAYING_ERROR = "Cannot evolve when the game is running!";
+    private static final String DUPLICATE_AI_NAME_ERROR = "AI with that name already exists.";
+    private static final String NO_BENCHMARK_ERROR = "Add at least one AI to evolve against.";
+    private static final String INVALID_GENERATIONS_ERROR = "Generations must be a positive number.";
+    private static final String INVALID_SEED_ERROR = "Seed must be a number.";
+    private static final String INTERRUPTED_ERROR = "Evolution interrupted.";
+    private static final String CAPACITY_EXCEEDED_ERROR = "Not enough memory left for more AIs.";
+    private static final String RESULT_FORMAT = "%s: %d of %d points, %d instructions";
+    private static final int POPULATION_SIZE = 32;
+    private static final int ARCHIVE_SIZE = 16;
+    private static final int MAX_STEPS = 1000;
+    private static final int AI_NAME_INDEX = 0;
+    private static final int GENERATIONS_INDEX = 1;
+    private static final int SEED_INDEX = 2;
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 3;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 3;
+
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the engine of the game.
+     *
+     * @param engine engine of the game
+     */
+    public EvolveCommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, EVOLVING_WHILE_PLAYING_ERROR);
+        }
+        String aiName = commandArguments[AI_NAME_INDEX];
+        if (engine.hasProgram(aiName)) {
+            return new CommandResult(CommandResultType.FAILURE, DUPLICATE_AI_NAME_ERROR);
+        }
+        if (engine.getPrograms().isEmpty()) {
+            return new CommandResult(CommandResultType.FAILURE, NO_BENCHMARK_ERROR);
+        }
+        int generations;
+        try {
+            generations = Integer.parseInt(commandArguments[GENERATIONS_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_GENERATIONS_ERROR);
+        }
+        if (generations < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_GENERATIONS_ERROR);
+        }
+        long seed;
+        try {
+            seed = Long.parseLong(commandArguments[SEED_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_SEED_ERROR);
+        }
+        GameConfig gameConfig = new GameConfig(model.getMemorySize(), model.getMemorySymbols(),
+                model.getAiSymbols(), Mode.STOP, 0, model.getMaximumNumberOfAIs(), new EvenPlacement());
+        int maxProgramSize = Math.min(engine.getMaximumProgramSize(), model.getMemorySize() / 2);
+        Evolution evolution = new Evolution(gameConfig, engine.getPrograms(),
+                new EvolutionConfig(generations, POPULATION_SIZE, ARCHIVE_SIZE, maxProgramSize, MAX_STEPS, seed));
+        List<Candidate> archive;
+        try {
+            archive = evolution.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new CommandResult(CommandResultType.FAILURE, INTERRUPTED_ERROR);
+        }
+        Candidate best = archive.get(0);
+        if (!engine.hasCapacityFor(best.genome().size())) {
+            return new CommandResult(CommandResultType.FAILURE, CAPACITY_EXCEEDED_ERROR);
+        }
+        engine.addProgram(best.genome().toProgram(aiName));
+        return new CommandResult(CommandResultType.SUCCESS,
+                RESULT_FORMAT.formatted(aiName, best.fitness().score(), evolution.getMaximumScore(),
+                        best.genome().size()) + System.lineSeparator() + best.genome());
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
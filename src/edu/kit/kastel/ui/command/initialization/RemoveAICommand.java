@@ -1,11 +1,13 @@
 package edu.kit.kastel.ui.command.initialization;
 
-import edu.kit.kastel.model.ai.AI;
 import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.GameEngine;
 import edu.kit.kastel.ui.command.Command;
 import edu.kit.kastel.ui.command.CommandResult;
 import edu.kit.kastel.ui.command.CommandResultType;
 
+import java.io.UncheckedIOException;
+
 /**
  * This command removes an AI.
  *
@@ -14,11 +16,23 @@
 public class RemoveAICommand implements Command {
 
     private static final String AI_NOT_FOUND_ERROR = "AI not found.";
+    private static final String CATALOG_ERROR = "Could not remove the AI from the catalog: %s";
     private static final String REMOVE_WHILE_PLAYING_ERROR = " Cannot remove when game is running!";
     private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
     private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
     private static final int AI_NAME_INDEX = 0;
 
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the game engine.
+     *
+     * @param engine game engine
+     */
+    public RemoveAICommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
     /**
      * Executes the command.
      *
@@ -32,11 +46,14 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
             return new CommandResult(CommandResultType.FAILURE, REMOVE_WHILE_PLAYING_ERROR);
         }
         String aiName = commandArguments[AI_NAME_INDEX];
-        for (AI ai : model.getListOfAI()) {
-            if (ai.getName().equals(aiName)) {
-                model.getListOfAI().remove(ai);
-                return new CommandResult(CommandResultType.SUCCESS, aiName);
-            }
+        boolean removed;
+        try {
+            removed = engine.removeProgram(aiName);
+        } catch (UncheckedIOException e) {
+            return new CommandResult(CommandResultType.FAILURE, CATALOG_ERROR.formatted(e.getCause().getMessage()));
+        }
+        if (removed) {
+            return new CommandResult(CommandResultType.SUCCESS, aiName);
         }
         return new CommandResult(CommandResultType.FAILURE, AI_NOT_FOUND_ERROR);
     }
@@ -0,0 +1,108 @@
+package edu.kit.kastel.ui.command.initialization;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.Simulation;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command selects the engine that simulated games are played on.
+ *
+ * @author uiiux
+ */
+public class SetEngineCommand implements Command {
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 4;
+    private static final int SPECULATIVE_NUMBER_OF_ARGUMENTS = 2;
+    private static final int ISLAND_NUMBER_OF_ARGUMENTS = 4;
+    private static final int MODE_INDEX = 0;
+    private static final int THREADS_INDEX = 1;
+    private static final int REGIONS_INDEX = 1;
+    private static final int EPOCH_LENGTH_INDEX = 2;
+    private static final int ISLAND_THREADS_INDEX = 3;
+    private static final String STANDARD_SYNTAX = "ENGINE_STANDARD";
+    private static final String SPECULATIVE_SYNTAX = "ENGINE_SPECULATIVE";
+    private static final String ISLAND_SYNTAX = "ENGINE_ISLAND";
+    private static final String INVALID_THREADS_ERROR = "The number of threads must be positive.";
+    private static final String INVALID_ISLAND_ERROR = "Regions, epoch length and threads must be positive.";
+    private static final String ENGINE_CANNOT_CHANGE_ERROR = "Engine cannot be changed.";
+    private static final String CHANGED_ENGINE_MESSAGE = "Changed engine to %s";
+
+    private final Simulation simulation;
+
+    /**
+     * Provides access to the simulation.
+     *
+     * @param simulation simulation playing the headless games
+     */
+    public SetEngineCommand(Simulation simulation) {
+        this.simulation = simulation;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        String mode = commandArguments[MODE_INDEX];
+        if (mode.equals(STANDARD_SYNTAX) && commandArguments.length == LOWER_LIMIT_NUMBER_OF_ARGUMENTS) {
+            simulation.selectStandard();
+        } else if (mode.equals(SPECULATIVE_SYNTAX) && commandArguments.length == SPECULATIVE_NUMBER_OF_ARGUMENTS) {
+            int threads = parsePositive(commandArguments[THREADS_INDEX]);
+            if (threads < 1) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_THREADS_ERROR);
+            }
+            simulation.selectSpeculative(threads);
+        } else if (mode.equals(ISLAND_SYNTAX) && commandArguments.length == ISLAND_NUMBER_OF_ARGUMENTS) {
+            int regions = parsePositive(commandArguments[REGIONS_INDEX]);
+            int epochLength = parsePositive(commandArguments[EPOCH_LENGTH_INDEX]);
+            int threads = parsePositive(commandArguments[ISLAND_THREADS_INDEX]);
+            if (regions < 1 || epochLength < 1 || threads < 1) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_ISLAND_ERROR);
+            }
+            simulation.selectIsland(regions, epochLength, threads);
+        } else {
+            return new CommandResult(CommandResultType.FAILURE, ENGINE_CANNOT_CHANGE_ERROR);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, CHANGED_ENGINE_MESSAGE.formatted(mode));
+    }
+
+    /**
+     * Parses a positive number.
+     *
+     * @param argument the argument
+     * @return the number or 0 if it is not a positive number
+     */
+    private static int parsePositive(String argument) {
+        try {
+            return Math.max(0, Integer.parseInt(argument));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
@@ -1,6 +1,7 @@
 package edu.kit.kastel.ui.command.initialization;
 
 import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.GameEngine;
 import edu.kit.kastel.model.memory.Mode;
 import edu.kit.kastel.ui.command.Command;
 import edu.kit.kastel.ui.command.CommandResult;
@@ -30,6 +31,16 @@ public class SetInitModeCommand implements Command {
 
     private static final String MODE_CANNOT_CHANGE_ERROR = "Mode cannot be changed.";
 
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the game engine.
+     *
+     * @param engine game engine
+     */
+    public SetInitModeCommand(GameEngine engine) {
+        this.engine = engine;
+    }
 
 
     /**
@@ -59,22 +70,20 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
 
         String message = null;
         if (mode.equals(STOP_MODE_SYNTAX) && commandArguments.length == LOWER_LIMIT_NUMBER_OF_ARGUMENTS) {
-            model.getMemoryInitializer().initializeWithDefault();
             if (model.getMemoryMode().equals(Mode.RANDOM)) {
                 message = CHANGED_MODE_TO_STOP_MESSAGE.formatted(model.getMemoryInitializer().getSeed());
             }
-            model.setMemoryMode(Mode.STOP);
+            engine.setInitMode(Mode.STOP, seed);
             return new CommandResult(CommandResultType.SUCCESS, message);
         } else if (mode.equals(RANDOM_MODE_SYNTAX) && commandArguments.length == UPPER_LIMIT_NUMBER_OF_ARGUMENTS) {
 
             if (model.getMemoryInitializer().getSeed() != seed) {
                 message = CHANGED_MODE_FROM_RANDOM_TO_RANDOM.formatted(model.getMemoryInitializer().getSeed(), seed);
             }
-            model.getMemoryInitializer().initializeWithRandoms(seed);
             if (model.getMemoryMode().equals(Mode.STOP)) {
-                message = CHANGED_MODE_TO_RANDOM_MESSAGE.formatted(model.getMemoryInitializer().getSeed());
+                message = CHANGED_MODE_TO_RANDOM_MESSAGE.formatted(seed);
             }
-            model.setMemoryMode(Mode.RANDOM);
+            engine.setInitMode(Mode.RANDOM, seed);
 
             return new CommandResult(CommandResultType.SUCCESS, message);
         }
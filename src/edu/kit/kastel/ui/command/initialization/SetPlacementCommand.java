@@ -0,0 +1,127 @@
+package edu.kit.kastel.ui.command.initialization;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.placement.EvenPlacement;
+import edu.kit.kastel.model.placement.ExplicitPlacement;
+import edu.kit.kastel.model.placement.PlacementStrategy;
+import edu.kit.kastel.model.placement.RandomPlacement;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command sets how the AIs are placed into the memory when the game starts.
+ *
+ * @author uiiux
+ */
+public class SetPlacementCommand implements Command {
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int RANDOM_NUMBER_OF_ARGUMENTS = 3;
+    private static final int MODE_INDEX = 0;
+    private static final int SEED_INDEX = 1;
+    private static final int SEPARATION_INDEX = 2;
+    private static final int FIRST_ADDRESS_INDEX = 1;
+    private static final String EVEN_SYNTAX = "PLACEMENT_EVEN";
+    private static final String RANDOM_SYNTAX = "PLACEMENT_RANDOM";
+    private static final String EXPLICIT_SYNTAX = "PLACEMENT_EXPLICIT";
+    private static final String CHANGE_WHILE_PLAYING_ERROR = "Cannot change the placement when game is running";
+    private static final String INVALID_SEED_ERROR = "Invalid seed.";
+    private static final String INVALID_SEPARATION_ERROR = "The separation must be a number between 0 and %d.";
+    private static final String INVALID_ADDRESS_ERROR = "Addresses must be numbers between 0 and %d.";
+    private static final String PLACEMENT_CANNOT_CHANGE_ERROR = "Placement cannot be changed.";
+    private static final String CHANGED_PLACEMENT_MESSAGE = "Changed placement to %s";
+
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the game engine.
+     *
+     * @param engine game engine
+     */
+    public SetPlacementCommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, CHANGE_WHILE_PLAYING_ERROR);
+        }
+        String mode = commandArguments[MODE_INDEX];
+        PlacementStrategy strategy;
+        if (mode.equals(EVEN_SYNTAX) && commandArguments.length == LOWER_LIMIT_NUMBER_OF_ARGUMENTS) {
+            strategy = new EvenPlacement();
+        } else if (mode.equals(RANDOM_SYNTAX) && commandArguments.length == RANDOM_NUMBER_OF_ARGUMENTS) {
+            long seed;
+            try {
+                seed = Long.parseLong(commandArguments[SEED_INDEX]);
+            } catch (NumberFormatException e) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_SEED_ERROR);
+            }
+            int separation = parseMemoryIndex(commandArguments[SEPARATION_INDEX], model.getMemorySize());
+            if (separation < 0) {
+                return new CommandResult(CommandResultType.FAILURE,
+                        INVALID_SEPARATION_ERROR.formatted(model.getMemorySize() - 1));
+            }
+            strategy = new RandomPlacement(seed, separation);
+        } else if (mode.equals(EXPLICIT_SYNTAX) && commandArguments.length > FIRST_ADDRESS_INDEX) {
+            int[] addresses = new int[commandArguments.length - FIRST_ADDRESS_INDEX];
+            for (int i = 0; i < addresses.length; i++) {
+                addresses[i] = parseMemoryIndex(commandArguments[FIRST_ADDRESS_INDEX + i], model.getMemorySize());
+                if (addresses[i] < 0) {
+                    return new CommandResult(CommandResultType.FAILURE,
+                            INVALID_ADDRESS_ERROR.formatted(model.getMemorySize() - 1));
+                }
+            }
+            strategy = new ExplicitPlacement(addresses);
+        } else {
+            return new CommandResult(CommandResultType.FAILURE, PLACEMENT_CANNOT_CHANGE_ERROR);
+        }
+        engine.setPlacement(strategy);
+        return new CommandResult(CommandResultType.SUCCESS, CHANGED_PLACEMENT_MESSAGE.formatted(mode));
+    }
+
+    /**
+     * Parses a number that must be an index of the memory.
+     *
+     * @param argument   the argument
+     * @param memorySize size of the memory
+     * @return the number or -1 if it is not an index of the memory
+     */
+    private static int parseMemoryIndex(String argument, int memorySize) {
+        try {
+            int number = Integer.parseInt(argument);
+            return number < memorySize ? number : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return Math.max(RANDOM_NUMBER_OF_ARGUMENTS, FIRST_ADDRESS_INDEX + engine.getMaximumNumberOfAIs());
+    }
+}
@@ -0,0 +1,158 @@
+package edu.kit.kastel.ui.command.initialization;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.AIState;
+import edu.kit.kastel.model.engine.EngineMode;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.engine.Program;
+import edu.kit.kastel.model.engine.Simulation;
+import edu.kit.kastel.model.engine.SimulationResult;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This command plays a headless game of the added AIs on the selected engine, with the init mode and placement of the
+ * next game. The simulated memory has its own size, so the engines for very large memories can be used from here.
+ * The game model finds the position of a cell by walking the memory, so the standard engine is limited to the
+ * memory sizes of interactive games.
+ *
+ * @author uiiux
+ */
+public class SimulateCommand implements Command {
+    private static final String GAME_RUNNING_ERROR = "Cannot simulate when game is running";
+    private static final String INVALID_STEPS_ERROR = "Invalid Steps!";
+    private static final String INVALID_MEMORY_SIZE_ERROR = "Memory size must be between %d and %d.";
+    private static final String STANDARD_MEMORY_SIZE_ERROR = "The standard engine simulates at most %d cells.";
+    private static final String AI_DOES_NOT_EXIST = "AI %s does not exist.";
+    private static final String INTERRUPTED_ERROR = "Simulation interrupted.";
+    private static final String SIMULATED_FORMAT = "Simulated %d steps on %s in %d ms.";
+    private static final String RUNNING_AI_FORMAT = "Running AIs: %s";
+    private static final String STOPPED_AI_FORMAT = "Stopped AIs: %s";
+    private static final String AI_NAME_SEPARATOR = ", ";
+    private static final long NANOS_PER_MILLISECOND = 1_000_000L;
+    private static final int MEMORY_SIZE_MIN = 7;
+    private static final int MEMORY_SIZE_LIMIT = 1 << 24;
+    private static final int STANDARD_MEMORY_SIZE_LIMIT = 1337;
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 3;
+    private static final int STEPS_INDEX = 0;
+    private static final int MEMORY_SIZE_INDEX = 1;
+    private static final int FIRST_AI_INDEX = 2;
+
+    private final GameEngine engine;
+    private final Simulation simulation;
+
+    /**
+     * Provides access to the game engine and the simulation.
+     *
+     * @param engine     game engine holding the added AIs
+     * @param simulation simulation playing the headless games
+     */
+    public SimulateCommand(GameEngine engine, Simulation simulation) {
+        this.engine = engine;
+        this.simulation = simulation;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_RUNNING_ERROR);
+        }
+        long steps;
+        try {
+            steps = Long.parseLong(commandArguments[STEPS_INDEX]);
+        } catch (NumberFormatException e) {
+            steps = 0;
+        }
+        if (steps < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_STEPS_ERROR);
+        }
+        int memorySize;
+        try {
+            memorySize = Integer.parseInt(commandArguments[MEMORY_SIZE_INDEX]);
+        } catch (NumberFormatException e) {
+            memorySize = 0;
+        }
+        if (memorySize < MEMORY_SIZE_MIN || memorySize > MEMORY_SIZE_LIMIT) {
+            return new CommandResult(CommandResultType.FAILURE,
+                    INVALID_MEMORY_SIZE_ERROR.formatted(MEMORY_SIZE_MIN, MEMORY_SIZE_LIMIT));
+        }
+        if (simulation.getMode() == EngineMode.STANDARD && memorySize > STANDARD_MEMORY_SIZE_LIMIT) {
+            return new CommandResult(CommandResultType.FAILURE,
+                    STANDARD_MEMORY_SIZE_ERROR.formatted(STANDARD_MEMORY_SIZE_LIMIT));
+        }
+        Map<String, Program> programsByName = new HashMap<>();
+        for (Program program : engine.getPrograms()) {
+            programsByName.put(program.name(), program);
+        }
+        List<Program> programs = new ArrayList<>();
+        for (int i = FIRST_AI_INDEX; i < commandArguments.length; i++) {
+            Program program = programsByName.get(commandArguments[i]);
+            if (program == null) {
+                return new CommandResult(CommandResultType.FAILURE, AI_DOES_NOT_EXIST.formatted(commandArguments[i]));
+            }
+            programs.add(program);
+        }
+        SimulationResult result;
+        try {
+            result = simulation.run(programs, engine.getConfig().withMemorySize(memorySize), steps);
+        } catch (IllegalArgumentException e) {
+            return new CommandResult(CommandResultType.FAILURE, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new CommandResult(CommandResultType.FAILURE, INTERRUPTED_ERROR);
+        }
+        List<String> runningAIs = new ArrayList<>();
+        List<String> stoppedAIs = new ArrayList<>();
+        for (AIState ai : result.snapshot().ais()) {
+            if (ai.stopped()) {
+                stoppedAIs.add(ai.name());
+            } else {
+                runningAIs.add(ai.name());
+            }
+        }
+        StringBuilder sb = new StringBuilder(SIMULATED_FORMAT.formatted(result.stepsExecuted(), result.mode(),
+                result.nanos() / NANOS_PER_MILLISECOND));
+        if (!runningAIs.isEmpty()) {
+            sb.append(System.lineSeparator()).append(RUNNING_AI_FORMAT.formatted(
+                    String.join(AI_NAME_SEPARATOR, runningAIs)));
+        }
+        if (!stoppedAIs.isEmpty()) {
+            sb.append(System.lineSeparator()).append(STOPPED_AI_FORMAT.formatted(
+                    String.join(AI_NAME_SEPARATOR, stoppedAIs)));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, sb.toString());
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return FIRST_AI_INDEX + engine.getMaximumNumberOfAIs();
+    }
+}
@@ -1,14 +1,11 @@
 package edu.kit.kastel.ui.command.initialization;
 
-import edu.kit.kastel.model.ai.AI;
 import edu.kit.kastel.model.CodeFight;
-import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.engine.GameEngine;
 import edu.kit.kastel.ui.command.Command;
 import edu.kit.kastel.ui.command.CommandResult;
 import edu.kit.kastel.ui.command.CommandResultType;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 
@@ -23,18 +20,16 @@ public class StartGameCommand implements Command {
     private static final String GAME_STARTED_MESSAGE = "Game started.";
     private static final String GAME_HAS_ALREADY_STARTED_ERROR = "Game is already running.";
     private static final String AI_TOO_BIG_ERROR = "AI has too many commands";
-    private static final String NAME_INDEX_SEPARATOR = "#";
-    private static final int NUMBER_OF_SYMBOLS_PER_AI = 2;
     private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 2;
-    private final CodeFight codeFight;
+    private final GameEngine engine;
 
     /**
-     * provides access to the game model.
+     * provides access to the game engine.
      *
-     * @param codeFight game model
+     * @param engine game engine
      */
-    public StartGameCommand(CodeFight codeFight) {
-        this.codeFight = codeFight;
+    public StartGameCommand(GameEngine engine) {
+        this.engine = engine;
     }
 
 
@@ -51,85 +46,16 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
             return new CommandResult(CommandResultType.FAILURE, GAME_HAS_ALREADY_STARTED_ERROR);
         }
         for (String argument : commandArguments) {
-            boolean aiFound = false;
-            for (AI ai : model.getListOfAI()) {
-                if (argument.equals(ai.getName())) {
-                    model.getPlayingList().add(copyAI(ai, ai.getName()));
-                    aiFound = true;
-                    break;
-                }
-            }
-            if (!aiFound) {
-                model.getPlayingList().clear();
+            if (!engine.canPlay(argument)) {
                 return new CommandResult(CommandResultType.FAILURE, String.format(AI_DOES_NOT_EXIST, argument));
             }
         }
-        renameDuplicates(model);
-        model.assignSymbols();
-        if (!model.loadMemory()) {
-            model.getPlayingList().clear();
+        if (!engine.startGame(List.of(commandArguments))) {
             return new CommandResult(CommandResultType.FAILURE, AI_TOO_BIG_ERROR);
         }
-        for (AI ai : model.getPlayingList()) {
-            model.getRunningAI().add(ai);
-        }
-        model.gameHandler();
-        model.setAllAIsStopped(false);
-        model.setPlayingPhase(true);
-
         return new CommandResult(CommandResultType.SUCCESS, GAME_STARTED_MESSAGE);
     }
 
-    /**
-     * Renames all the duplicate AI's that are going to play
-     *
-     * @param model the game model
-     */
-    private void renameDuplicates(CodeFight model) {
-        List<AI> updatedList = new ArrayList<>();
-        HashMap<String, Integer> nameCount = new HashMap<>();
-        for (AI ai : model.getPlayingList()) {
-            String aiName = ai.getName();
-            nameCount.put(aiName, nameCount.getOrDefault(aiName, 0) + 1);
-        }
-
-        HashMap<String, Integer> currentIndex = new HashMap<>();
-        for (AI ai : model.getPlayingList()) {
-            String aiName = ai.getName();
-            if (nameCount.get(aiName) > 1) {
-                int index = currentIndex.getOrDefault(aiName, 0);
-                AI newAI = copyAI(ai, aiName + NAME_INDEX_SEPARATOR + index);
-                updatedList.add(newAI);
-                currentIndex.put(aiName, index + 1);
-            } else {
-                updatedList.add(ai);
-            }
-        }
-
-        model.getPlayingList().clear();
-        model.getPlayingList().addAll(updatedList);
-    }
-
-    /**
-     * Deep copies a AI
-     * @param ai      AI to be copies
-     * @param newName new name of the new AI
-     * @return        new deep copy of the AI
-     */
-    private AI copyAI(AI ai, String newName) {
-        List<MemoryCell> instructions = new ArrayList<>();
-        for (MemoryCell memoryCell: ai.getAiCommands()) {
-            MemoryCell copyOfMemoryCell = memoryCell.duplicate();
-            if (copyOfMemoryCell != null) {
-                instructions.add(copyOfMemoryCell);
-            }
-        }
-        AI newAI = new AI(newName, instructions);
-        newAI.setDefaultSymbol(ai.getDefaultSymbol());
-        newAI.setBombSymbol(ai.getBombSymbol());
-        return newAI;
-    }
-
     /**
      * Returns the number of arguments that the command expects.
      *
@@ -147,6 +73,6 @@ public int lowerLimitedNumberOfArguments() {
      */
     @Override
     public int upperLimitGetNumberGfArguments() {
-        return codeFight.getAiSymbols().size() / NUMBER_OF_SYMBOLS_PER_AI;
+        return engine.getMaximumNumberOfAIs();
     }
 }
@@ -0,0 +1,98 @@
+package edu.kit.kastel.ui.command.initialization;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.EngineMode;
+import edu.kit.kastel.model.engine.Simulation;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command checks the selected engine against the standard engine on random games.
+ *
+ * @author uiiux
+ */
+public class VerifyEngineCommand implements Command {
+    private static final String STANDARD_ENGINE_ERROR = "Select an experimental engine first.";
+    private static final String INVALID_GAMES_ERROR = "Invalid number of games.";
+    private static final String INVALID_SEED_ERROR = "Invalid seed.";
+    private static final String INTERRUPTED_ERROR = "Verification interrupted.";
+    private static final String IDENTICAL_FORMAT = "%s played all %d games like the standard engine.";
+    private static final String DIFFERENT_FORMAT = "%s differed from the standard engine in %d of %d games.";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 2;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 2;
+    private static final int GAMES_INDEX = 0;
+    private static final int SEED_INDEX = 1;
+
+    private final Simulation simulation;
+
+    /**
+     * Provides access to the simulation.
+     *
+     * @param simulation simulation playing the headless games
+     */
+    public VerifyEngineCommand(Simulation simulation) {
+        this.simulation = simulation;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (simulation.getMode() == EngineMode.STANDARD) {
+            return new CommandResult(CommandResultType.FAILURE, STANDARD_ENGINE_ERROR);
+        }
+        int games;
+        try {
+            games = Integer.parseInt(commandArguments[GAMES_INDEX]);
+        } catch (NumberFormatException e) {
+            games = 0;
+        }
+        if (games < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_GAMES_ERROR);
+        }
+        long seed;
+        try {
+            seed = Long.parseLong(commandArguments[SEED_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_SEED_ERROR);
+        }
+        int mismatches;
+        try {
+            mismatches = simulation.verify(games, seed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new CommandResult(CommandResultType.FAILURE, INTERRUPTED_ERROR);
+        }
+        if (mismatches > 0) {
+            return new CommandResult(CommandResultType.FAILURE,
+                    DIFFERENT_FORMAT.formatted(simulation.getMode(), mismatches, games));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, IDENTICAL_FORMAT.formatted(simulation.getMode(), games));
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
@@ -0,0 +1,73 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.BackgroundRun;
+import edu.kit.kastel.model.engine.StoppedAI;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command cancels the background run at a step boundary.
+ *
+ * @author uiiux
+ */
+public class CancelCommand implements Command {
+    private static final String NO_RUN_ERROR = "No run in progress.";
+    private static final String RUN_CANCELLED_MESSAGE = "Run cancelled after %d steps.";
+    private static final String STOPPED_AI_OUTPUT_FORMAT = "%s executed %d steps until stopping.";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+
+    private final BackgroundRun backgroundRun;
+
+    /**
+     * Provides access to the background run of the game.
+     *
+     * @param backgroundRun background run of the game
+     */
+    public CancelCommand(BackgroundRun backgroundRun) {
+        this.backgroundRun = backgroundRun;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!backgroundRun.cancel()) {
+            return new CommandResult(CommandResultType.FAILURE, NO_RUN_ERROR);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (StoppedAI ai : backgroundRun.takeStoppedAIs()) {
+            sb.append(STOPPED_AI_OUTPUT_FORMAT.formatted(ai.name(), ai.stepsExecuted()));
+            sb.append(System.lineSeparator());
+        }
+        sb.append(RUN_CANCELLED_MESSAGE.formatted(backgroundRun.status().stepsDone()));
+        return new CommandResult(CommandResultType.SUCCESS, sb.toString());
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
@@ -1,16 +1,12 @@
 package edu.kit.kastel.ui.command.playing;
 
 import edu.kit.kastel.model.CodeFight;
-import edu.kit.kastel.model.CyclicLinkedList;
-import edu.kit.kastel.model.ai.AI;
-import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.engine.GameSummary;
 import edu.kit.kastel.ui.command.Command;
 import edu.kit.kastel.ui.command.CommandResult;
 import edu.kit.kastel.ui.command.CommandResultType;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * This commands ends the game.
  *
@@ -22,9 +18,19 @@ public class EndGameCommand implements Command {
     private static final String STOPPED_AI_FORMAT = "Stopped AIs: %s";
     private static final String AI_NAME_SEPARATOR = ", ";
     private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
-    private static final int LAST_SEPARATOR_INDEX = 2;
     private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
 
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the game engine.
+     *
+     * @param engine game engine
+     */
+    public EndGameCommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
     /**
      * Executes the command.
      *
@@ -37,78 +43,22 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
         if (!model.isPlayingPhase()) {
             return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
         }
-        model.getRunningAI().clear();
+        GameSummary summary = engine.endGame();
+        String runningAIs = String.join(AI_NAME_SEPARATOR, summary.runningAIs());
+        String stoppedAIs = String.join(AI_NAME_SEPARATOR, summary.stoppedAIs());
         StringBuilder message = new StringBuilder();
-        if (model.getPlayingList().size() == model.getStoppedAIList().size()) {
-            message.append(STOPPED_AI_FORMAT.formatted(
-                    getStoppedAIList(model.getPlayingList(), model.getStoppedAIList()))
-            );
-        } else if (model.getStoppedAIList().isEmpty()) {
-            message.append(RUNNING_AI_FORMAT.formatted(
-                    getRunningAIList(model.getPlayingList(), model.getStoppedAIList()))
-            );
+        if (runningAIs.isEmpty()) {
+            message.append(STOPPED_AI_FORMAT.formatted(stoppedAIs));
+        } else if (stoppedAIs.isEmpty()) {
+            message.append(RUNNING_AI_FORMAT.formatted(runningAIs));
         } else {
-            message.append(RUNNING_AI_FORMAT.formatted(
-                    getRunningAIList(model.getPlayingList(), model.getStoppedAIList()))
-            );
+            message.append(RUNNING_AI_FORMAT.formatted(runningAIs));
             message.append(System.lineSeparator());
-            message.append(STOPPED_AI_FORMAT.formatted(
-                    getStoppedAIList(model.getPlayingList(), model.getStoppedAIList()))
-            );
-
+            message.append(STOPPED_AI_FORMAT.formatted(stoppedAIs));
         }
-        clearAIsInMemory(
-                model.getMemory(),
-                model.getMemoryDefaultSymbol()
-        );
-        model.getMemoryInitializer().initializeWithDefault();
-        model.setPlayingPhase(false);
-        model.getPlayingList().clear();
-        model.getStoppedAIList().clear();
         return new CommandResult(CommandResultType.SUCCESS, message.toString());
     }
 
-
-    private String getRunningAIList(List<AI> playingAIlist, List<AI> stoppedAIList) {
-        StringBuilder sb = new StringBuilder();
-        List<AI> tempList = new ArrayList<>(playingAIlist);
-        for (AI ai : stoppedAIList) {
-            tempList.remove(ai);
-        }
-        for (AI ai : tempList) {
-            sb.append(ai.getName()).append(AI_NAME_SEPARATOR);
-        }
-        sb.deleteCharAt(sb.length() - LAST_SEPARATOR_INDEX);
-        return sb.toString().trim();
-    }
-
-    private String getStoppedAIList(List<AI> playingList, List<AI> stoppedAIList) {
-        List<AI> temp = new ArrayList<>(playingList);
-        StringBuilder sb = new StringBuilder();
-        for (AI ai : playingList) {
-            if (!stoppedAIList.contains(ai)) {
-                temp.remove(ai);
-            }
-        }
-        for (AI ai : temp) {
-            sb.append(ai.getName()).append(AI_NAME_SEPARATOR);
-        }
-        sb.deleteCharAt(sb.length() - LAST_SEPARATOR_INDEX);
-        return sb.toString().trim();
-    }
-
-
-    private void clearAIsInMemory(
-            CyclicLinkedList<MemoryCell> memory,
-            String defaultDisplaySymbol
-    ) {
-        for (int i = 0; i < memory.size(); i++) {
-            memory.get(i).setCurrentSymbol(defaultDisplaySymbol);
-            memory.get(i).setDefaultSymbol(defaultDisplaySymbol);
-        }
-
-    }
-
     /**
      * Returns the number of arguments that the command expects.
      *
@@ -0,0 +1,133 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.BackgroundRun;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.engine.RunStatus;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This command starts an endurance run in the background, which saves checkpoints of the game to a file and
+ * reports its progress after every checkpoint.
+ *
+ * @author uiiux
+ */
+public class EndureCommand implements Command {
+    private static final String INVALID_STEPS_ERROR = "Invalid Steps!";
+    private static final String INVALID_INTERVAL_ERROR = "Invalid checkpoint interval!";
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String RUN_ACTIVE_ERROR = "A run is already in progress.";
+    private static final String CHECKPOINT_ERROR = "Checkpoint cannot be saved: %s";
+    private static final String RUN_STARTED_MESSAGE = "Endurance run started.";
+    private static final String PROGRESS_FORMAT = "Checkpoint after %d/%d steps, %.0f steps/s, ETA %s";
+    private static final String ETA_FORMAT = "%d s";
+    private static final String UNKNOWN_ETA = "unknown";
+    private static final String FINISHED_FORMAT = "Endurance run finished after %d steps, %.0f steps/s.";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 3;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 3;
+    private static final int STEPS_INDEX = 0;
+    private static final int PATH_INDEX = 1;
+    private static final int INTERVAL_INDEX = 2;
+
+    private final GameEngine engine;
+    private final BackgroundRun backgroundRun;
+    private final Supplier<Consumer<CommandResult>> reporterFactory;
+
+    /**
+     * Provides access to the game engine and its background run.
+     *
+     * @param engine          game engine
+     * @param backgroundRun   background run of the game
+     * @param reporterFactory creates the receiver of the progress reports when a run is started
+     */
+    public EndureCommand(GameEngine engine, BackgroundRun backgroundRun,
+                         Supplier<Consumer<CommandResult>> reporterFactory) {
+        this.engine = engine;
+        this.backgroundRun = backgroundRun;
+        this.reporterFactory = reporterFactory;
+    }
+
+    /**
+     * Executes the command.
+     * The first checkpoint is saved before the run starts, so a checkpoint that cannot be saved is reported at once.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        long steps = parseCount(commandArguments[STEPS_INDEX]);
+        if (steps < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_STEPS_ERROR);
+        }
+        long interval = parseCount(commandArguments[INTERVAL_INDEX]);
+        if (interval < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_INTERVAL_ERROR);
+        }
+        if (backgroundRun.isActive()) {
+            return new CommandResult(CommandResultType.FAILURE, RUN_ACTIVE_ERROR);
+        }
+        Path path;
+        try {
+            path = Path.of(commandArguments[PATH_INDEX]);
+            engine.saveCheckpoint(path);
+        } catch (InvalidPathException | IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, CHECKPOINT_ERROR.formatted(e.getMessage()));
+        }
+        Consumer<CommandResult> reporter = reporterFactory.get();
+        backgroundRun.startEndurance(steps, path, interval, status -> report(status, reporter));
+        return new CommandResult(CommandResultType.SUCCESS, RUN_STARTED_MESSAGE);
+    }
+
+    private static void report(RunStatus status, Consumer<CommandResult> reporter) {
+        if (status.checkpointError() != null) {
+            reporter.accept(new CommandResult(CommandResultType.FAILURE,
+                    CHECKPOINT_ERROR.formatted(status.checkpointError())));
+        }
+        String progress = status.active()
+                ? PROGRESS_FORMAT.formatted(status.stepsDone(), status.totalSteps(), status.stepsPerSecond(),
+                        status.etaSeconds() < 0 ? UNKNOWN_ETA : ETA_FORMAT.formatted(status.etaSeconds()))
+                : FINISHED_FORMAT.formatted(status.stepsDone(), status.stepsPerSecond());
+        reporter.accept(new CommandResult(CommandResultType.SUCCESS, progress));
+    }
+
+    private static long parseCount(String argument) {
+        try {
+            return Long.parseLong(argument);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
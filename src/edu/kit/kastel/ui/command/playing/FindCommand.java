@@ -0,0 +1,113 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+import java.util.List;
+
+/**
+ * This command finds all cells holding an instruction or a bomb.
+ *
+ * @author uiiux
+ */
+public class FindCommand implements Command {
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String INVALID_INSTRUCTION_ERROR = "Invalid instruction.";
+    private static final String INVALID_ARGUMENT_ERROR = "Invalid argument filter.";
+    private static final String NO_CELLS_FOUND_MESSAGE = "No cells found.";
+    private static final String BOMB_SYNTAX = "BOMB";
+    private static final String ANY_ARGUMENT_SYNTAX = "*";
+    private static final String POSITION_SEPARATOR = ", ";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 3;
+    private static final int INSTRUCTION_INDEX = 0;
+    private static final int FIRST_ARGUMENT_INDEX = 1;
+    private static final int SECOND_ARGUMENT_INDEX = 2;
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        Integer firstArgument;
+        Integer secondArgument;
+        try {
+            firstArgument = parseFilter(commandArguments, FIRST_ARGUMENT_INDEX);
+            secondArgument = parseFilter(commandArguments, SECOND_ARGUMENT_INDEX);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_ARGUMENT_ERROR);
+        }
+
+        String instructionName = commandArguments[INSTRUCTION_INDEX];
+        List<Integer> positions = null;
+        if (instructionName.equals(BOMB_SYNTAX)) {
+            positions = model.getInstructionIndex().findBombs(firstArgument, secondArgument);
+        } else {
+            for (InstructionName instruction : InstructionName.values()) {
+                if (instruction.name().equals(instructionName)) {
+                    positions = model.getInstructionIndex().find(instruction, firstArgument, secondArgument);
+                    break;
+                }
+            }
+        }
+        if (positions == null) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_INSTRUCTION_ERROR);
+        }
+        if (positions.isEmpty()) {
+            return new CommandResult(CommandResultType.SUCCESS, NO_CELLS_FOUND_MESSAGE);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int position : positions) {
+            if (!sb.isEmpty()) {
+                sb.append(POSITION_SEPARATOR);
+            }
+            sb.append(position);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, sb.toString());
+    }
+
+    /**
+     * Parses an optional argument filter.
+     *
+     * @param commandArguments the arguments of the command
+     * @param index            index of the filter in the arguments
+     * @return the value of the filter, or null if any value matches
+     * @throws NumberFormatException if the filter is not a number
+     */
+    private Integer parseFilter(String[] commandArguments, int index) {
+        if (commandArguments.length <= index || commandArguments[index].equals(ANY_ARGUMENT_SYNTAX)) {
+            return null;
+        }
+        return Integer.parseInt(commandArguments[index]);
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
@@ -0,0 +1,72 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command saves the state of the running game as a named fork.
+ *
+ * @author uiiux
+ */
+public class ForkCommand implements Command {
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String FORK_EXISTS_ERROR = "Fork %s already exists.";
+    private static final String FORKED_MESSAGE = "Forked %s from %s.";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int NAME_INDEX = 0;
+
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the game engine.
+     *
+     * @param engine game engine
+     */
+    public ForkCommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        String name = commandArguments[NAME_INDEX];
+        if (engine.getForkNames().contains(name)) {
+            return new CommandResult(CommandResultType.FAILURE, FORK_EXISTS_ERROR.formatted(name));
+        }
+        engine.fork(name);
+        return new CommandResult(CommandResultType.SUCCESS, FORKED_MESSAGE.formatted(name, engine.getCurrentFork()));
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
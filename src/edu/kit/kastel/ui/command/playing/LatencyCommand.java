@@ -0,0 +1,97 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.engine.LatencyHistogram;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command shows percentiles of the sampled step latencies of the current game.
+ *
+ * @author uiiux
+ */
+public class LatencyCommand implements Command {
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String INVALID_PERCENTILE_ERROR = "Percentile must be a number between 0 and 100.";
+    private static final String SAMPLES_FORMAT = "samples: %d (1 of %d steps), mean %.0f ns";
+    private static final String PERCENTILE_FORMAT = "p%s: %d ns";
+    private static final String MINIMUM_FORMAT = "min: %d ns";
+    private static final String MAXIMUM_FORMAT = "max: %d ns";
+    private static final String[] DEFAULT_PERCENTILES = {"50", "90", "99", "99.9"};
+    private static final double MAX_PERCENTILE = 100;
+    private static final int PERCENTILE_INDEX = 0;
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the engine of the game.
+     *
+     * @param engine engine of the game
+     */
+    public LatencyCommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        LatencyHistogram histogram = engine.getStepLatency();
+        if (commandArguments.length > 0) {
+            String percentile = commandArguments[PERCENTILE_INDEX];
+            double value;
+            try {
+                value = Double.parseDouble(percentile);
+            } catch (NumberFormatException e) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_PERCENTILE_ERROR);
+            }
+            if (!(value >= 0 && value <= MAX_PERCENTILE)) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_PERCENTILE_ERROR);
+            }
+            return new CommandResult(CommandResultType.SUCCESS,
+                    PERCENTILE_FORMAT.formatted(percentile, histogram.getValueAtPercentile(value)));
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(SAMPLES_FORMAT.formatted(histogram.getTotalCount(), engine.getLatencySampleInterval(),
+                histogram.getMean())).append(System.lineSeparator());
+        sb.append(MINIMUM_FORMAT.formatted(histogram.getMinimum())).append(System.lineSeparator());
+        for (String percentile : DEFAULT_PERCENTILES) {
+            sb.append(PERCENTILE_FORMAT.formatted(percentile,
+                    histogram.getValueAtPercentile(Double.parseDouble(percentile)))).append(System.lineSeparator());
+        }
+        sb.append(MAXIMUM_FORMAT.formatted(histogram.getMaximum()));
+        return new CommandResult(CommandResultType.SUCCESS, sb.toString());
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
@@ -0,0 +1,78 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * This command continues the running game from a checkpoint saved by an endurance run.
+ *
+ * @author uiiux
+ */
+public class LoadCheckpointCommand implements Command {
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String CHECKPOINT_ERROR = "Checkpoint cannot be read: %s";
+    private static final String LOADED_MESSAGE = "Continued from checkpoint %s.";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int PATH_INDEX = 0;
+
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the game engine.
+     *
+     * @param engine game engine
+     */
+    public LoadCheckpointCommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        try {
+            engine.loadCheckpoint(Path.of(commandArguments[PATH_INDEX]));
+        } catch (InvalidPathException | IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, CHECKPOINT_ERROR.formatted(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return new CommandResult(CommandResultType.FAILURE, e.getMessage());
+        }
+        return new CommandResult(CommandResultType.SUCCESS, LOADED_MESSAGE.formatted(commandArguments[PATH_INDEX]));
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
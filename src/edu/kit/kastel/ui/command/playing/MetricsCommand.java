@@ -0,0 +1,78 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.ai.ExecutionMetrics;
+import edu.kit.kastel.model.ai.InstructionName;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command shows the execution counters of the current game.
+ *
+ * @author uiiux
+ */
+public class MetricsCommand implements Command {
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String STEPS_FORMAT = "steps: %d, %.0f steps/s";
+    private static final String CELLS_WRITTEN_FORMAT = "cells written: %d";
+    private static final String CMP_FORMAT = "CMP skips: %d of %d";
+    private static final String JMZ_FORMAT = "JMZ taken: %d, not taken: %d";
+    private static final String INSTRUCTION_FORMAT = "%s: %d";
+    private static final String AI_FORMAT = "%s: %d steps, %.0f steps/s";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        ExecutionMetrics metrics = model.getExecutionMetrics();
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, STEPS_FORMAT.formatted(metrics.getTotalSteps(), metrics.getStepRate()));
+        appendLine(sb, CELLS_WRITTEN_FORMAT.formatted(metrics.getCellsWritten()));
+        appendLine(sb, CMP_FORMAT.formatted(metrics.getCmpSkips(), metrics.getInstructionCount(InstructionName.CMP)));
+        appendLine(sb, JMZ_FORMAT.formatted(metrics.getJmzTaken(), metrics.getJmzNotTaken()));
+        for (InstructionName instruction : InstructionName.values()) {
+            appendLine(sb, INSTRUCTION_FORMAT.formatted(instruction.name(), metrics.getInstructionCount(instruction)));
+        }
+        for (AI ai : model.getPlayingList()) {
+            appendLine(sb, AI_FORMAT.formatted(ai.getName(), metrics.getAISteps(ai.getOwnerId()),
+                    metrics.getAIStepRate(ai.getOwnerId())));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, sb.toString().trim());
+    }
+
+    private static void appendLine(StringBuilder sb, String line) {
+        sb.append(line).append(System.lineSeparator());
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
@@ -1,18 +1,13 @@
-
 package edu.kit.kastel.ui.command.playing;
 
 import edu.kit.kastel.model.CodeFight;
-import edu.kit.kastel.model.ai.AI;
-import edu.kit.kastel.model.memory.MemoryCell;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.model.engine.StepResult;
+import edu.kit.kastel.model.engine.StoppedAI;
 import edu.kit.kastel.ui.command.Command;
 import edu.kit.kastel.ui.command.CommandResult;
 import edu.kit.kastel.ui.command.CommandResultType;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 /**
  * This commands executes the next steps.
  *
@@ -26,15 +21,15 @@ public class NextCommand implements Command {
     private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
     private static final int STEPS_INDEX = 0;
 
-    private final List<AI> alreadyStopped;
-
+    private final GameEngine engine;
 
     /**
-     * Initializes a new list for AIs that are already stopped.
+     * Provides access to the game engine.
+     *
+     * @param engine game engine
      */
-
-    public NextCommand() {
-        alreadyStopped = new ArrayList<>();
+    public NextCommand(GameEngine engine) {
+        this.engine = engine;
     }
 
     /**
@@ -49,78 +44,23 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
         if (!model.isPlayingPhase()) {
             return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
         }
-        int cellsToExecute = 1;
+        long cellsToExecute = 1;
         if (commandArguments.length == 1) {
             try {
-                cellsToExecute = Integer.parseInt(commandArguments[STEPS_INDEX]);
+                cellsToExecute = Long.parseLong(commandArguments[STEPS_INDEX]);
             } catch (NumberFormatException e) {
                 return new CommandResult(CommandResultType.FAILURE, INVALID_STEPS_ERROR);
             }
         }
-        for (int i = 0; i < cellsToExecute; i++) {
-            model.getCurrentAI().execute(model.getAiCommandExecutor());
-            if (model.getStoppedAIList().size() == model.getRunningAI().size()) {
-                break;
-            }
-            for (int j = 0; j < model.getRunningAI().size(); j++) {
-                model.updateAI();
-                if (!model.getCurrentAI().isStopped()) {
-                    break;
-                }
-            }
-
-            updateNextSymbols(model);
-
-        }
-        if (model.getStoppedAIList().isEmpty()) {
-            return new CommandResult(CommandResultType.SUCCESS, null);
-        }
-        if (!model.isAllAIsStopped()) {
-            if (model.getPlayingList().size() == model.getStoppedAIList().size()) {
-                model.setAllAIsStopped(true);
-            }
-            return new CommandResult(CommandResultType.SUCCESS, parseOutput(model.getStoppedAIList()));
-        }
-        return new CommandResult(CommandResultType.SUCCESS, null);
+        StepResult result = engine.step(cellsToExecute);
+        return new CommandResult(CommandResultType.SUCCESS, parseOutput(result));
     }
 
-    private void updateNextSymbols(CodeFight model) {
-        Map<Integer, String> tempSymbols = new HashMap<>();
-        for (int i = 0; i < model.getRunningAI().size(); i++) {
-            AI ai = model.getRunningAI().get(i);
-            if (model.getStoppedAIList().contains(ai)) {
-                continue;
-            }
-            int nextCellIndex = ai.getNextCellIndex();
-            tempSymbols.put(nextCellIndex, model.getOtherSymbol());
-        }
-
-        for (int i = 0; i < model.getRunningAI().size(); i++) {
-            AI ai = model.getRunningAI().get(i);
-            MemoryCell nextCell = model.getMemory().get(ai.getNextCellIndex());
-            if (model.getStoppedAIList().contains(ai)) {
-                continue;
-            }
-            if (ai.equals(model.getCurrentAI())) {
-                nextCell.setCurrentSymbol(model.getCurrentSymbol());
-                tempSymbols.remove(ai.getNextCellIndex());
-            } else if (tempSymbols.containsKey(ai.getNextCellIndex())) {
-                nextCell.setCurrentSymbol(tempSymbols.get(ai.getNextCellIndex()));
-            }
-        }
-    }
-
-
-    private String parseOutput(List<AI> stoppedAIList) {
+    private String parseOutput(StepResult result) {
         StringBuilder sb = new StringBuilder();
-        for (AI ai : stoppedAIList) {
-            if (alreadyStopped.contains(ai)) {
-                continue;
-            }
-            alreadyStopped.add(ai);
-            sb.append(STOPPED_AI_OUTPUT_FORMAT.formatted(ai.getName(), ai.getStepsExecuted()));
+        for (StoppedAI ai : result.stoppedAIs()) {
+            sb.append(STOPPED_AI_OUTPUT_FORMAT.formatted(ai.name(), ai.stepsExecuted()));
             sb.append(System.lineSeparator());
-            ai.incrementStepsExecuted();
         }
         if (!sb.isEmpty()) {
             return sb.toString().trim();
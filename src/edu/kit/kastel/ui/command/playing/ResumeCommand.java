@@ -0,0 +1,65 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.BackgroundRun;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command resumes a paused background run.
+ *
+ * @author uiiux
+ */
+public class ResumeCommand implements Command {
+    private static final String NO_PAUSED_RUN_ERROR = "No paused run.";
+    private static final String RUN_RESUMED_MESSAGE = "Run resumed.";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+
+    private final BackgroundRun backgroundRun;
+
+    /**
+     * Provides access to the background run of the game.
+     *
+     * @param backgroundRun background run of the game
+     */
+    public ResumeCommand(BackgroundRun backgroundRun) {
+        this.backgroundRun = backgroundRun;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!backgroundRun.resume()) {
+            return new CommandResult(CommandResultType.FAILURE, NO_PAUSED_RUN_ERROR);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, RUN_RESUMED_MESSAGE);
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
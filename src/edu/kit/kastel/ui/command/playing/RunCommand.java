@@ -0,0 +1,81 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.BackgroundRun;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command starts a run of steps in the background.
+ *
+ * @author uiiux
+ */
+public class RunCommand implements Command {
+    private static final String INVALID_STEPS_ERROR = "Invalid Steps!";
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String RUN_ACTIVE_ERROR = "A run is already in progress.";
+    private static final String RUN_STARTED_MESSAGE = "Run started.";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int STEPS_INDEX = 0;
+
+    private final BackgroundRun backgroundRun;
+
+    /**
+     * Provides access to the background run of the game.
+     *
+     * @param backgroundRun background run of the game
+     */
+    public RunCommand(BackgroundRun backgroundRun) {
+        this.backgroundRun = backgroundRun;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        long steps;
+        try {
+            steps = Long.parseLong(commandArguments[STEPS_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_STEPS_ERROR);
+        }
+        if (steps < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_STEPS_ERROR);
+        }
+        if (backgroundRun.isActive()) {
+            return new CommandResult(CommandResultType.FAILURE, RUN_ACTIVE_ERROR);
+        }
+        backgroundRun.start(steps);
+        return new CommandResult(CommandResultType.SUCCESS, RUN_STARTED_MESSAGE);
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
@@ -41,7 +41,7 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
         for (AI ai : model.getPlayingList()) {
             if (ai.getName().equals(aiName)) {
                 aiFound = true;
-                if (model.getStoppedAIList().contains(ai)) {
+                if (ai.isStopped()) {
                     sb.append(AI_DISPLAY_FORMAT.formatted(ai.getName(), STOPPED, ai.getStepsExecuted()));
                 } else {
                     MemoryCell nextCell = model.getMemory().get(ai.getNextCellIndex());
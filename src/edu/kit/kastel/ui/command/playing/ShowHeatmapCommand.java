@@ -0,0 +1,135 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.engine.ExecutionHeatmap;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+import java.util.StringJoiner;
+
+/**
+ * This command shows which regions of the memory the AIs execute and how often.
+ * The memory is split into buckets of consecutive addresses, each shown as one character
+ * whose density grows with the number of executions in the bucket.
+ *
+ * @author uiiux
+ */
+public class ShowHeatmapCommand implements Command {
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String NOT_ENABLED_ERROR = "Heatmap not enabled.";
+    private static final String AI_DOES_NOT_EXIST_ERROR = "AI does not exist!";
+    private static final String HEADER_FORMAT = "%s: %d steps, %d of %d cells covered";
+    private static final String HOT_REGION_FORMAT = "%d-%d (%d)";
+    private static final String HOT_REGIONS_PREFIX = "hot: ";
+    private static final String HOT_REGION_SEPARATOR = ", ";
+    private static final String BOUNDS = "|";
+    private static final String DENSITY_SYMBOLS = " .:-=+*#%@";
+    private static final int WIDTH = 64;
+    private static final int NUMBER_OF_HOT_REGIONS = 3;
+    private static final int AI_NAME_INDEX = 0;
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the engine of the game.
+     *
+     * @param engine engine of the game
+     */
+    public ShowHeatmapCommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        ExecutionHeatmap heatmap = engine.getHeatmap();
+        if (heatmap == null) {
+            return new CommandResult(CommandResultType.FAILURE, NOT_ENABLED_ERROR);
+        }
+        StringBuilder sb = new StringBuilder();
+        boolean aiFound = false;
+        for (AI ai : model.getPlayingList()) {
+            if (commandArguments.length == 0 || ai.getName().equals(commandArguments[AI_NAME_INDEX])) {
+                aiFound = true;
+                appendHeatmap(sb, heatmap, ai);
+            }
+        }
+        if (!aiFound) {
+            return new CommandResult(CommandResultType.FAILURE, AI_DOES_NOT_EXIST_ERROR);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, sb.toString().trim());
+    }
+
+    private static void appendHeatmap(StringBuilder sb, ExecutionHeatmap heatmap, AI ai) {
+        int ownerId = ai.getOwnerId();
+        int memorySize = heatmap.getMemorySize();
+        int bucketSize = (memorySize + WIDTH - 1) / WIDTH;
+        long[] buckets = heatmap.getBuckets(ownerId, bucketSize);
+        long max = 0;
+        for (long bucket : buckets) {
+            max = Math.max(max, bucket);
+        }
+        sb.append(HEADER_FORMAT.formatted(ai.getName(), heatmap.getTotalCount(ownerId),
+                heatmap.getCoveredCells(ownerId), memorySize)).append(System.lineSeparator());
+        sb.append(BOUNDS);
+        for (long bucket : buckets) {
+            int density = bucket == 0 ? 0
+                    : 1 + (int) ((DENSITY_SYMBOLS.length() - 2) * bucket / max);
+            sb.append(DENSITY_SYMBOLS.charAt(density));
+        }
+        sb.append(BOUNDS).append(System.lineSeparator());
+        StringJoiner hotRegions = new StringJoiner(HOT_REGION_SEPARATOR, HOT_REGIONS_PREFIX, System.lineSeparator());
+        hotRegions.setEmptyValue("");
+        boolean[] shown = new boolean[buckets.length];
+        for (int i = 0; i < NUMBER_OF_HOT_REGIONS; i++) {
+            int hottest = -1;
+            for (int j = 0; j < buckets.length; j++) {
+                if (!shown[j] && buckets[j] > 0 && (hottest < 0 || buckets[j] > buckets[hottest])) {
+                    hottest = j;
+                }
+            }
+            if (hottest < 0) {
+                break;
+            }
+            shown[hottest] = true;
+            int first = hottest * bucketSize;
+            int last = Math.min(memorySize, first + bucketSize) - 1;
+            hotRegions.add(HOT_REGION_FORMAT.formatted(first, last, buckets[hottest]));
+        }
+        sb.append(hotRegions);
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
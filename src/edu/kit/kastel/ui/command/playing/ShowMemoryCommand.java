@@ -1,12 +1,18 @@
 package edu.kit.kastel.ui.command.playing;
 
 import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.BackgroundRun;
+import edu.kit.kastel.model.engine.SnapshotPublisher;
+import edu.kit.kastel.model.engine.SpectatorFrame;
+import edu.kit.kastel.ui.MemoryPrinter;
 import edu.kit.kastel.ui.command.Command;
 import edu.kit.kastel.ui.command.CommandResult;
 import edu.kit.kastel.ui.command.CommandResultType;
 
 /**
  * This class represents a command that shows the memory.
+ * While a background run executes the game, the memory is shown as last published by the engine, so the command
+ * never reads the game while it changes.
  *
  * @author uiiux
  */
@@ -16,6 +22,20 @@ public class ShowMemoryCommand implements Command {
     private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
     private static final String INVALID_CELL_NUMBER = "Invalid cell number.";
 
+    private final BackgroundRun backgroundRun;
+    private final SnapshotPublisher publisher;
+    private SpectatorFrame frame;
+
+    /**
+     * Provides access to the background run and the published state of the game.
+     *
+     * @param backgroundRun background run of the game
+     * @param publisher     publisher of the state of the game
+     */
+    public ShowMemoryCommand(BackgroundRun backgroundRun, SnapshotPublisher publisher) {
+        this.backgroundRun = backgroundRun;
+        this.publisher = publisher;
+    }
 
     /**
      * Executes the command.
@@ -26,11 +46,20 @@ public class ShowMemoryCommand implements Command {
      */
     @Override
     public CommandResult execute(CodeFight model, String[] commandArguments) {
-        if (!model.isPlayingPhase()) {
+        MemoryPrinter memoryPrinter;
+        if (backgroundRun.isActive() && !backgroundRun.isPaused()) {
+            if (frame == null) {
+                frame = publisher.newFrame();
+            }
+            publisher.read(frame);
+            memoryPrinter = new MemoryPrinter(frame.toMemory(), frame.getMemorySize(), model.getBoundsSymbol());
+        } else if (model.isPlayingPhase()) {
+            memoryPrinter = model.getMemoryPrinter();
+        } else {
             return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
         }
         if (commandArguments.length == 0) {
-            return new CommandResult(CommandResultType.SUCCESS, model.getMemoryPrinter().printOverview().toString());
+            return new CommandResult(CommandResultType.SUCCESS, memoryPrinter.printOverview().toString());
         }
         int startingCell;
         try {
@@ -41,7 +70,7 @@ public CommandResult execute(CodeFight model, String[] commandArguments) {
         if (startingCell >= model.getMemorySize() || startingCell < 0) {
             return new CommandResult(CommandResultType.FAILURE, INVALID_CELL_NUMBER);
         }
-        return new CommandResult(CommandResultType.SUCCESS, model.getMemoryPrinter().printDetail(startingCell));
+        return new CommandResult(CommandResultType.SUCCESS, memoryPrinter.printDetail(startingCell));
     }
 
     /**
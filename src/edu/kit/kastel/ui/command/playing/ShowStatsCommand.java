@@ -0,0 +1,65 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.ai.AI;
+import edu.kit.kastel.model.memory.OwnershipIndex;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command shows how much of the memory each AI owns.
+ *
+ * @author uiiux
+ */
+public class ShowStatsCommand implements Command {
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String STATS_FORMAT = "%s: %d cells, %d bombs in memory, %d bombs planted";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        OwnershipIndex ownershipIndex = model.getOwnershipIndex();
+        StringBuilder sb = new StringBuilder();
+        for (AI ai : model.getPlayingList()) {
+            int ownerId = ai.getOwnerId();
+            sb.append(STATS_FORMAT.formatted(ai.getName(),
+                    ownershipIndex.getOwnedCells(ownerId),
+                    ownershipIndex.getBombCells(ownerId),
+                    ownershipIndex.getBombsPlanted(ownerId)));
+            sb.append(System.lineSeparator());
+        }
+        return new CommandResult(CommandResultType.SUCCESS, sb.toString().trim());
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
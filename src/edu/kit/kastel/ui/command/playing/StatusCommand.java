@@ -0,0 +1,103 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.BackgroundRun;
+import edu.kit.kastel.model.engine.RunStatus;
+import edu.kit.kastel.model.engine.StoppedAI;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+/**
+ * This command shows the progress of the background run.
+ *
+ * @author uiiux
+ */
+public class StatusCommand implements Command {
+    private static final String NO_RUN_ERROR = "No run started.";
+    private static final String RUNNING = "RUNNING";
+    private static final String PAUSED = "PAUSED";
+    private static final String STATUS_FORMAT = "%s: %d/%d steps, %.0f steps/s, ETA %s";
+    private static final String ETA_FORMAT = "%d s";
+    private static final String UNKNOWN_ETA = "unknown";
+    private static final String FINISHED_FORMAT = "Run finished after %d steps, %.0f steps/s.";
+    private static final String CHECKPOINT_FORMAT = "Last checkpoint after %d steps.";
+    private static final String CHECKPOINT_ERROR_FORMAT = "Checkpoint cannot be saved: %s";
+    private static final String STOPPED_AI_OUTPUT_FORMAT = "%s executed %d steps until stopping.";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+
+    private final BackgroundRun backgroundRun;
+
+    /**
+     * Provides access to the background run of the game.
+     *
+     * @param backgroundRun background run of the game
+     */
+    public StatusCommand(BackgroundRun backgroundRun) {
+        this.backgroundRun = backgroundRun;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        RunStatus status = backgroundRun.status();
+        if (status.totalSteps() == 0) {
+            return new CommandResult(CommandResultType.FAILURE, NO_RUN_ERROR);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (StoppedAI ai : backgroundRun.takeStoppedAIs()) {
+            sb.append(STOPPED_AI_OUTPUT_FORMAT.formatted(ai.name(), ai.stepsExecuted()));
+            sb.append(System.lineSeparator());
+        }
+        if (status.active()) {
+            sb.append(STATUS_FORMAT.formatted(status.paused() ? PAUSED : RUNNING, status.stepsDone(),
+                    status.totalSteps(), status.stepsPerSecond(), formatEta(status.etaSeconds())));
+        } else {
+            sb.append(FINISHED_FORMAT.formatted(status.stepsDone(), status.stepsPerSecond()));
+        }
+        if (status.checkpointSteps() >= 0) {
+            sb.append(System.lineSeparator()).append(CHECKPOINT_FORMAT.formatted(status.checkpointSteps()));
+        }
+        if (status.checkpointError() != null) {
+            sb.append(System.lineSeparator()).append(CHECKPOINT_ERROR_FORMAT.formatted(status.checkpointError()));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, sb.toString());
+    }
+
+    /**
+     * Formats the estimated remaining time, which is unknown until the run has executed steps.
+     *
+     * @param etaSeconds estimated remaining seconds, or a negative number if no estimate is possible
+     * @return the formatted time
+     */
+    private static String formatEta(long etaSeconds) {
+        return etaSeconds < 0 ? UNKNOWN_ETA : ETA_FORMAT.formatted(etaSeconds);
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}
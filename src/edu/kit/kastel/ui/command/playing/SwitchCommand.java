@@ -0,0 +1,84 @@
+package edu.kit.kastel.ui.command.playing;
+
+import edu.kit.kastel.model.CodeFight;
+import edu.kit.kastel.model.engine.GameEngine;
+import edu.kit.kastel.ui.command.Command;
+import edu.kit.kastel.ui.command.CommandResult;
+import edu.kit.kastel.ui.command.CommandResultType;
+
+import java.util.StringJoiner;
+
+/**
+ * This command continues the game with another fork or lists the forks if no name is given.
+ *
+ * @author uiiux
+ */
+public class SwitchCommand implements Command {
+    private static final String GAME_NOT_STARTED_ERROR = "Game not yet started.";
+    private static final String UNKNOWN_FORK_ERROR = "Fork %s does not exist.";
+    private static final String SWITCHED_MESSAGE = "Switched to %s.";
+    private static final String CURRENT_FORK_FORMAT = "* %s";
+    private static final String OTHER_FORK_FORMAT = "  %s";
+    private static final int LOWER_LIMIT_NUMBER_OF_ARGUMENTS = 0;
+    private static final int UPPER_LIMIT_NUMBER_OF_ARGUMENTS = 1;
+    private static final int NAME_INDEX = 0;
+
+    private final GameEngine engine;
+
+    /**
+     * Provides access to the game engine.
+     *
+     * @param engine game engine
+     */
+    public SwitchCommand(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param model            the model to execute the command on
+     * @param commandArguments the arguments of the command
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isPlayingPhase()) {
+            return new CommandResult(CommandResultType.FAILURE, GAME_NOT_STARTED_ERROR);
+        }
+        if (commandArguments.length == 0) {
+            StringJoiner forks = new StringJoiner(System.lineSeparator());
+            for (String name : engine.getForkNames()) {
+                boolean current = name.equals(engine.getCurrentFork());
+                forks.add((current ? CURRENT_FORK_FORMAT : OTHER_FORK_FORMAT).formatted(name));
+            }
+            return new CommandResult(CommandResultType.SUCCESS, forks.toString());
+        }
+        String name = commandArguments[NAME_INDEX];
+        if (!engine.getForkNames().contains(name)) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_FORK_ERROR.formatted(name));
+        }
+        engine.switchTo(name);
+        return new CommandResult(CommandResultType.SUCCESS, SWITCHED_MESSAGE.formatted(name));
+    }
+
+    /**
+     * Returns the number of arguments that the command expects.
+     *
+     * @return the number array of arguments that the command expects
+     */
+    @Override
+    public int lowerLimitedNumberOfArguments() {
+        return LOWER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Returns the most number of arguments that the command expects.
+     *
+     * @return the upper limit number of arguments that the command expects
+     */
+    @Override
+    public int upperLimitGetNumberGfArguments() {
+        return UPPER_LIMIT_NUMBER_OF_ARGUMENTS;
+    }
+}